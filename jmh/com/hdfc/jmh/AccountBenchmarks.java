@@ -0,0 +1,106 @@
+package com.hdfc.jmh;
+
+import com.hdfc.Entities.Account;
+import com.hdfc.Entities.CurrentAccount;
+import com.hdfc.Entities.Money;
+import com.hdfc.Entities.SavingAccount;
+import com.hdfc.enums.BalanceMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account balance paths in both balance modes. The uncontended variants give
+ * every thread its own account; the contended ones share one account.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountBenchmarks {
+
+    private static final BigDecimal OPENING = new BigDecimal("1000000.00");
+    private static final Money AMOUNT = Money.parse("125.50");
+
+    @Param({"STANDARD", "HOT"})
+    public BalanceMode mode;
+
+    private Account shared;
+    private Account savings;
+
+    @Setup
+    public void setUp() {
+        shared = open(mode);
+        savings = new SavingAccount("2000000001", "C1", OPENING);
+    }
+
+    @State(Scope.Thread)
+    public static class Own {
+        Account account;
+
+        @Setup
+        public void setUp(AccountBenchmarks benchmark) {
+            account = open(benchmark.mode);
+        }
+    }
+
+    private static Account open(BalanceMode mode) {
+        Account account = new CurrentAccount("1000000001", "C1", OPENING);
+        account.setBalanceMode(mode);
+        return account;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void deposit(Own own) {
+        own.account.deposit(AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void depositWithdraw(Own own) {
+        own.account.deposit(AMOUNT);
+        own.account.withdraw(AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void depositWithdrawUncontended(Own own) {
+        own.account.deposit(AMOUNT);
+        own.account.withdraw(AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void depositWithdrawContended() {
+        shared.deposit(AMOUNT);
+        shared.withdraw(AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long depositReadContended() {
+        shared.deposit(AMOUNT);
+        return shared.getBalanceMinor();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Money calculateInterest() {
+        return savings.calculateInterest();
+    }
+}
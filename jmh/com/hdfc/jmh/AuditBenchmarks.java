@@ -0,0 +1,98 @@
+package com.hdfc.jmh;
+
+import com.hdfc.Entities.Money;
+import com.hdfc.Entities.Transaction;
+import com.hdfc.audit.AuditLog;
+import com.hdfc.enums.AdmissionPolicy;
+import com.hdfc.enums.TransactionType;
+import com.hdfc.persistence.JournalEntry;
+import com.hdfc.util.IdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What auditing costs the operation's thread: handing an event to
+ * {@link AuditLog} under each overload policy, against formatting the line
+ * and writing and flushing it on the spot. The log writes to a real file, so
+ * under REJECT a producer that outruns the writer drops events and the
+ * figure is the cost of dropping.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class AuditBenchmarks {
+
+    @Param({"BLOCK", "REJECT"})
+    public String policy;
+
+    private Path directory;
+    private AuditLog audit;
+    private Writer inline;
+    private JournalEntry entry;
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("hdfc-audit-bench");
+        audit = new AuditLog(directory.resolve("audit.log"), 1 << 16, AdmissionPolicy.valueOf(policy), Duration.ofMillis(10));
+        inline = Files.newBufferedWriter(directory.resolve("inline.log"), StandardCharsets.UTF_8);
+        transaction = new Transaction(new IdGenerator().nextId(), Money.parse("125.50"), "1000000001", LocalDateTime.now(), TransactionType.DEPOSIT);
+        entry = JournalEntry.deposit(transaction);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        audit.close();
+        inline.close();
+        System.out.println("written " + audit.getWritten() + ", dropped " + audit.getDropped());
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void enqueue() {
+        audit.committed(entry);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void enqueueContended() {
+        audit.committed(entry);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void inlineWrite() throws IOException {
+        inline.write(LocalDateTime.now() + " DEPOSIT txn=" + transaction.getTransactionId()
+                + " account=" + transaction.getAccountNo() + " amount=" + transaction.getAmount() + '\n');
+        inline.flush();
+    }
+}
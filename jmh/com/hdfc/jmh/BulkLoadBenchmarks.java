@@ -0,0 +1,121 @@
+package com.hdfc.jmh;
+
+import com.hdfc.onboarding.BulkLoader;
+import com.hdfc.onboarding.OnboardingReport;
+import com.hdfc.service.BankService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Bulk onboarding of generated customers, each with one account numbered by
+ * the loader, into a fresh bank every iteration, journalled when
+ * {@code durable} is set. About one line in a thousand of each file is
+ * invalid. Customers and accounts are timed separately. The heap is sized up
+ * front: growing it as the registries fill costs more than the load itself.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class BulkLoadBenchmarks {
+
+    @Param({"1000000"})
+    public int customers;
+
+    @Param({"false", "true"})
+    public boolean durable;
+
+    private Path files;
+    private Path customersFile;
+    private Path accountsFile;
+    private Path dataDirectory;
+    private BankService bank;
+    private BulkLoader loader;
+
+    @Setup(Level.Trial)
+    public void writeFiles() throws IOException {
+        files = Files.createTempDirectory("hdfc-onboarding-bench");
+        customersFile = files.resolve("customers.csv");
+        accountsFile = files.resolve("accounts.csv");
+        try (BufferedWriter c = Files.newBufferedWriter(customersFile);
+             BufferedWriter a = Files.newBufferedWriter(accountsFile)) {
+            for (int i = 0; i < customers; i++) {
+                String id = "CUST" + i;
+                boolean bad = i % 1000 == 999;
+                c.write(id + ",Customer " + i + "," + (9_000_000_000L + i) + ",customer" + i
+                        + (bad ? "@example" : "@example.com") + ",Pass@" + (1000 + i % 9000) + "Word,1990-01-"
+                        + (10 + i % 19) + "\n");
+                a.write(id + (i % 2 == 0 ? ",SAVINGS," : ",CURRENT,") + (bad ? "-1" : (1000 + i % 100_000) + ".50") + "\n");
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void openBank() throws IOException {
+        dataDirectory = durable ? Files.createTempDirectory("hdfc-onboarding-data") : null;
+        bank = dataDirectory == null ? new BankService() : new BankService(dataDirectory);
+        loader = new BulkLoader(bank);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeBank() throws IOException {
+        loader.close();
+        bank.close();
+        delete(dataDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        delete(files);
+    }
+
+    private static void delete(Path directory) throws IOException {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Registered {
+        @Setup(Level.Iteration)
+        public void setUp(BulkLoadBenchmarks benchmark) throws IOException {
+            benchmark.loader.load(benchmark.customersFile, null);
+        }
+    }
+
+    @Benchmark
+    public OnboardingReport loadCustomers() throws IOException {
+        return loader.load(customersFile, null);
+    }
+
+    @Benchmark
+    public OnboardingReport openAccounts(Registered registered) throws IOException {
+        return loader.load(null, accountsFile);
+    }
+}
@@ -0,0 +1,92 @@
+package com.hdfc.jmh;
+
+import com.hdfc.Entities.Account;
+import com.hdfc.Entities.SavingAccount;
+import com.hdfc.Exception.InsufficientBalance;
+import com.hdfc.enums.BalanceMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention on a single merchant account: many threads crediting it with an
+ * occasional debit, in the synchronized STANDARD mode and the striped HOT
+ * mode. The trial fails if the balance does not match the postings or fell
+ * under the minimum.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotAccountBenchmarks {
+
+    private static final BigDecimal OPENING = new BigDecimal("1000.00");
+    private static final BigDecimal CREDIT = new BigDecimal("10.00");
+    private static final BigDecimal DEBIT = new BigDecimal("25.00");
+
+    @Param({"STANDARD", "HOT"})
+    public BalanceMode mode;
+
+    @Param({"10"})
+    public int debitPercent;
+
+    private Account merchant;
+    private final LongAdder credits = new LongAdder();
+    private final LongAdder debits = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        merchant = new SavingAccount("MERCHANT_1", "BENCH", OPENING);
+        merchant.setBalanceMode(mode);
+        credits.reset();
+        debits.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BigDecimal expected = OPENING
+                .add(CREDIT.multiply(BigDecimal.valueOf(credits.sum())))
+                .subtract(DEBIT.multiply(BigDecimal.valueOf(debits.sum())));
+        if (merchant.getBalance().compareTo(expected) != 0) {
+            throw new IllegalStateException("Balance " + merchant.getBalance() + " does not match the postings, expected " + expected);
+        }
+        if (merchant.getBalance().compareTo(merchant.getMinimumBalance()) < 0) {
+            throw new IllegalStateException("Balance " + merchant.getBalance() + " fell under the minimum");
+        }
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean post() {
+        if (ThreadLocalRandom.current().nextInt(100) >= debitPercent) {
+            merchant.deposit(CREDIT);
+            credits.increment();
+            return true;
+        }
+        try {
+            merchant.withdraw(DEBIT);
+            debits.increment();
+            return true;
+        } catch (InsufficientBalance e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.hdfc.jmh;
+
+import com.hdfc.util.IdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id allocation from one shared generator, alone and under contention, plus
+ * rendering. The contended run fails if any thread sees its ids go backwards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmarks {
+
+    private final IdGenerator generator = new IdGenerator(1);
+
+    @Benchmark
+    @Threads(1)
+    public long nextId() {
+        return generator.nextId();
+    }
+
+    @State(Scope.Thread)
+    public static class Last {
+        long id = Long.MIN_VALUE;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long nextIdContended(Last last) {
+        long id = generator.nextId();
+        if (id <= last.id) {
+            throw new IllegalStateException("Id " + id + " after " + last.id);
+        }
+        last.id = id;
+        return id;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String nextTransactionId() {
+        return IdGenerator.formatTransactionId(generator.nextId());
+    }
+}
@@ -0,0 +1,88 @@
+package com.hdfc.jmh;
+
+import com.hdfc.Entities.Customer;
+import com.hdfc.Entities.Money;
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.AccountType;
+import com.hdfc.service.BankService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * What an idempotency key costs an in-memory deposit: plain, with a new key
+ * each time (a first attempt) and with a key already seen (a retry, answered
+ * from the dedup cache without touching the account).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class IdempotencyBenchmarks {
+
+    private static final Money AMOUNT = Money.parse("125.50");
+
+    private final AtomicInteger threads = new AtomicInteger();
+    private BankService bank;
+    private String accountNo;
+
+    // A fresh bank every iteration keeps the ledger and the key cache from piling up.
+    @Setup(Level.Iteration)
+    public void setUp() {
+        bank = new BankService();
+        bank.registerCustomer(new Customer("C1", "Bench", "9999999999", "bench@hdfc.test", "Bench@123", LocalDate.of(1990, 1, 1)));
+        accountNo = bank.openAccount("C1", AccountType.CURRENT, BigDecimal.ZERO).getAccoutNo();
+        bank.deposit("retry", accountNo, AMOUNT);
+    }
+
+    @State(Scope.Thread)
+    public static class Keys {
+        String prefix;
+        int next;
+
+        @Setup
+        public void setUp(IdempotencyBenchmarks benchmark) {
+            prefix = "t" + benchmark.threads.incrementAndGet() + "-";
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Transaction plainDeposit() {
+        return bank.deposit(accountNo, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Transaction firstAttempt(Keys keys) {
+        return bank.deposit(keys.prefix + keys.next++, accountNo, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Transaction retry() {
+        return bank.deposit("retry", accountNo, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Transaction retryContended() {
+        return bank.deposit("retry", accountNo, AMOUNT);
+    }
+}
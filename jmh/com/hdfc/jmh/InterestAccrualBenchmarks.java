@@ -0,0 +1,103 @@
+package com.hdfc.jmh;
+
+import com.hdfc.Entities.Customer;
+import com.hdfc.enums.AccountType;
+import com.hdfc.enums.AccrualMethod;
+import com.hdfc.interest.AccrualReport;
+import com.hdfc.interest.InterestAccrual;
+import com.hdfc.service.BankService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Month-end accrual over an in-memory book, rebuilt for every iteration.
+ * Every account gets {@code operationsPerAccount} deposits after the month
+ * closed, which the accrual has to roll back; one in ten savings accounts
+ * sits under its minimum balance. {@code rerun} accrues a month that is
+ * already accrued, which is the resume path.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class InterestAccrualBenchmarks {
+
+    @Param({"100000", "1000000"})
+    public int accounts;
+
+    @Param({"2"})
+    public int operationsPerAccount;
+
+    private final YearMonth lastMonth = YearMonth.from(LocalDate.now()).minusMonths(1);
+    private BankService bank;
+    private InterestAccrual accrual;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        bank = new BankService();
+        int customers = Math.max(1, accounts / 4);
+        for (int c = 0; c < customers; c++) {
+            bank.registerCustomer(new Customer(String.format("BENCH%07d", c), "Bench Customer", Long.toString(9_000_000_000L + c),
+                    "bench" + c + "@example.com", "Bench@1234", LocalDate.of(1990, 1, 1)));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String[] accountNos = new String[accounts];
+        for (int a = 0; a < accounts; a++) {
+            boolean savings = a % 5 != 0;
+            BigDecimal opening = savings && a % 10 == 1
+                    ? BigDecimal.valueOf(random.nextInt(900_00), 2)
+                    : BigDecimal.valueOf(1_000_00 + random.nextInt(10_000_000), 2);
+            accountNos[a] = bank.openAccount(String.format("BENCH%07d", a % customers),
+                    savings ? AccountType.SAVINGS : AccountType.CURRENT, opening).getAccoutNo();
+        }
+        for (int op = 0; op < operationsPerAccount; op++) {
+            for (String accountNo : accountNos) {
+                bank.depositAsync(accountNo, BigDecimal.valueOf(1 + random.nextInt(10_000_00), 2));
+            }
+        }
+        accrual = new InterestAccrual(bank, AccrualMethod.DAILY_BALANCE);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        bank.close();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Accrued {
+        @Setup(Level.Iteration)
+        public void setUp(InterestAccrualBenchmarks book) {
+            book.accrual.accrue(book.lastMonth);
+        }
+    }
+
+    @Benchmark
+    public AccrualReport firstRun() {
+        return accrual.accrue(lastMonth);
+    }
+
+    @Benchmark
+    public AccrualReport rerun(Accrued accrued) {
+        return accrual.accrue(lastMonth);
+    }
+}
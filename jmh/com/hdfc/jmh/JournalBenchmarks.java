@@ -0,0 +1,95 @@
+package com.hdfc.jmh;
+
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.TransactionType;
+import com.hdfc.persistence.Journal;
+import com.hdfc.persistence.JournalEntry;
+import com.hdfc.util.IdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Durable journal throughput: every thread appends deposit entries and waits
+ * for each to be forced before sending the next, as BankService does, so
+ * concurrent appends share an fsync.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalBenchmarks {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("125.50");
+
+    private final IdGenerator ids = new IdGenerator(1);
+    private Path directory;
+    private Journal journal;
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private static final AtomicInteger WRITERS = new AtomicInteger();
+
+        String accountNo;
+
+        @Setup
+        public void setUp() {
+            accountNo = String.format("%010d", WRITERS.getAndIncrement());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("hdfc-journal-bench");
+        journal = Journal.open(directory, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long append(Writer writer) {
+        return appendOne(writer);
+    }
+
+    @Benchmark
+    @Threads(256)
+    public long appendContended(Writer writer) {
+        return appendOne(writer);
+    }
+
+    private long appendOne(Writer writer) {
+        Transaction transaction = new Transaction(ids.nextId(), AMOUNT, writer.accountNo, LocalDateTime.now(), TransactionType.DEPOSIT);
+        return journal.appendAndWait(JournalEntry.deposit(transaction));
+    }
+}
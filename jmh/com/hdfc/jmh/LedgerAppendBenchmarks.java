@@ -0,0 +1,69 @@
+package com.hdfc.jmh;
+
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.TransactionType;
+import com.hdfc.ledger.TransactionIndex;
+import com.hdfc.util.IdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Recording new rows in the heap index, over few or many accounts, alone and contended. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class LedgerAppendBenchmarks {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("125.50");
+
+    @Param({"8", "10000"})
+    public int accounts;
+
+    private final IdGenerator ids = new IdGenerator(1);
+    private String[] accountNos;
+    private TransactionIndex index;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        accountNos = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountNos[i] = String.format("%010d", i);
+        }
+        index = new TransactionIndex();
+    }
+
+    private Transaction next() {
+        String accountNo = accountNos[ThreadLocalRandom.current().nextInt(accounts)];
+        return new Transaction(ids.nextId(), AMOUNT, accountNo, LocalDateTime.now(), TransactionType.DEPOSIT);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void append() {
+        index.add(next());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void appendContended() {
+        index.add(next());
+    }
+}
@@ -0,0 +1,179 @@
+package com.hdfc.jmh;
+
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.TransactionType;
+import com.hdfc.ledger.HistoryPage;
+import com.hdfc.ledger.HistoryQuery;
+import com.hdfc.ledger.MappedTransactionStore;
+import com.hdfc.ledger.SummaryIndex;
+import com.hdfc.ledger.TransactionIndex;
+import com.hdfc.util.IdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * History reads against a ledger of {@code ledgerSize} rows spread over
+ * {@code accounts} accounts, held either in the heap index or the mapped
+ * store. {@code historySummary} is the stream pipeline behind the history
+ * screen; the flyweight variants read the mapped columns without building
+ * Transaction objects, and {@code cachedHistorySummary} reads the running
+ * totals kept by {@link SummaryIndex} instead of scanning at all. The
+ * {@code LatestPage} variants fetch the newest {@value #PAGE_SIZE} rows
+ * through a {@link HistoryQuery}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g"})
+@State(Scope.Benchmark)
+public class LedgerBenchmarks {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int ledgerSize;
+
+    @Param({"1000"})
+    public int accounts;
+
+    private String[] accountNos;
+    private TransactionIndex index;
+    private MappedTransactionStore store;
+    private SummaryIndex summaries;
+    private Path storeDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        accountNos = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountNos[i] = String.format("%010d", i);
+        }
+        index = new TransactionIndex();
+        storeDirectory = Files.createTempDirectory("hdfc-ledger-bench");
+        store = new MappedTransactionStore(storeDirectory);
+        summaries = new SummaryIndex();
+
+        IdGenerator ids = new IdGenerator(1);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BigDecimal amount = new BigDecimal("125.50");
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < ledgerSize; i++) {
+            TransactionType type = TYPES[random.nextInt(TYPES.length)];
+            String accountNo = accountNos[random.nextInt(accounts)];
+            String toAccountNo = type == TransactionType.TRANSFER ? accountNos[random.nextInt(accounts)] : null;
+            Transaction transaction = new Transaction(ids.nextId(), amount, accountNo, start.plusSeconds(i), type, toAccountNo);
+            index.add(transaction);
+            store.append(transaction, -1);
+            summaries.add(transaction);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(storeDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private String anyAccount() {
+        return accountNos[ThreadLocalRandom.current().nextInt(accounts)];
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<Transaction> heapHistory() {
+        return index.historyOf(anyAccount());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<Transaction> heapRecentHistory() {
+        return index.recentHistoryOf(anyAccount());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Map<TransactionType, Long> heapHistorySummary() {
+        return index.recentHistoryOf(anyAccount()).stream()
+                .collect(Collectors.groupingBy(Transaction::getType, Collectors.counting()));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<Transaction> heapRecentHistoryContended() {
+        return index.recentHistoryOf(anyAccount());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public HistoryPage heapLatestPage() {
+        return index.page(HistoryQuery.latest(anyAccount(), PAGE_SIZE), null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<Transaction> mappedRecentHistory() {
+        return store.recentHistoryOf(anyAccount());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Map<TransactionType, Long> mappedHistorySummary() {
+        return store.countByType(anyAccount());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public HistoryPage mappedLatestPage() {
+        return store.page(HistoryQuery.latest(anyAccount(), PAGE_SIZE), null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Map<TransactionType, Long> cachedHistorySummary() {
+        return summaries.summaryOf(anyAccount()).getCountsByType();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void mappedFlyweightScan(Blackhole blackhole) {
+        store.forEachRow(anyAccount(), true, row -> blackhole.consume(row.getAmountMinor()));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void mappedFlyweightScanContended(Blackhole blackhole) {
+        store.forEachRow(anyAccount(), true, row -> blackhole.consume(row.getAmountMinor()));
+    }
+}
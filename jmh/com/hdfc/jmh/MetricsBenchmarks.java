@@ -0,0 +1,84 @@
+package com.hdfc.jmh;
+
+import com.hdfc.Entities.Customer;
+import com.hdfc.Entities.Money;
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.AccountType;
+import com.hdfc.enums.OperationType;
+import com.hdfc.metrics.BankMetrics;
+import com.hdfc.service.BankService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What recording costs per operation: {@link BankMetrics} on its own, at the
+ * default one-in-64 sampling and with timing off (0), next to a whole
+ * in-memory deposit. At 1M operations a second an operation has 1,000 ns, so staying
+ * under 1% means recording in under 10 ns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class MetricsBenchmarks {
+
+    private static final Money AMOUNT = Money.parse("125.50");
+    private static final CompletableFuture<String> DONE = CompletableFuture.completedFuture("done");
+
+    @Param({"0", "64"})
+    public int sampleEvery;
+
+    private BankMetrics sampled;
+    private BankService bank;
+    private String accountNo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sampled = new BankMetrics(() -> 0L, sampleEvery);
+    }
+
+    // A fresh bank every iteration keeps the ledger from piling up.
+    @Setup(Level.Iteration)
+    public void openBank() {
+        System.setProperty("hdfc.metrics.sample", Integer.toString(sampleEvery));
+        bank = new BankService();
+        bank.registerCustomer(new Customer("C1", "Bench", "9999999999", "bench@hdfc.test", "Bench@123", LocalDate.of(1990, 1, 1)));
+        accountNo = bank.openAccount("C1", AccountType.CURRENT, BigDecimal.ZERO).getAccoutNo();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public CompletableFuture<String> record() {
+        return sampled.completed(OperationType.DEPOSIT, sampled.start(OperationType.DEPOSIT), DONE);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public CompletableFuture<String> recordContended() {
+        return sampled.completed(OperationType.DEPOSIT, sampled.start(OperationType.DEPOSIT), DONE);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Transaction deposit() {
+        return bank.deposit(accountNo, AMOUNT);
+    }
+}
@@ -0,0 +1,129 @@
+package com.hdfc.jmh;
+
+import com.hdfc.Entities.Account;
+import com.hdfc.Entities.CurrentAccount;
+import com.hdfc.Entities.Money;
+import com.hdfc.Entities.SavingAccount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The balance, interest and parsing paths on {@link Money} next to the
+ * BigDecimal code they replaced. Run with {@code -prof gc} to see the
+ * allocation per operation; the Money variants should show none.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmarks {
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+    private static final BigDecimal RATE = new BigDecimal("4.5");
+
+    private final BigDecimal decimalAmount = new BigDecimal("125.50");
+    private final Money amount = Money.parse("125.50");
+    private final String text = "125.50";
+
+    private BigDecimal decimalBalance;
+    private DecimalAccount decimalAccount;
+    private Account account;
+    private Account savings;
+
+    @Setup
+    public void setUp() {
+        decimalBalance = new BigDecimal("1000000.00");
+        decimalAccount = new DecimalAccount(decimalBalance);
+        account = new CurrentAccount("1000000001", "C1", decimalBalance);
+        savings = new SavingAccount("2000000001", "C1", decimalBalance);
+    }
+
+    /** The standard-mode balance path as Account had it before {@link Money}. */
+    static final class DecimalAccount {
+        private BigDecimal balance;
+        private volatile Object stripedBalance;
+
+        DecimalAccount(BigDecimal balance) {
+            this.balance = balance;
+        }
+
+        void deposit(BigDecimal amount) {
+            if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException();
+            }
+            if (stripedBalance != null) {
+                return;
+            }
+            synchronized (this) {
+                balance = balance.add(amount);
+            }
+        }
+
+        void withdraw(BigDecimal amount) {
+            if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException();
+            }
+            if (stripedBalance != null) {
+                return;
+            }
+            synchronized (this) {
+                if (balance.compareTo(amount) < 0) {
+                    throw new IllegalStateException();
+                }
+                balance = balance.subtract(amount);
+            }
+        }
+
+        BigDecimal getBalance() {
+            return balance;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal depositWithdrawBigDecimal() {
+        decimalAccount.deposit(decimalAmount);
+        decimalAccount.withdraw(decimalAmount);
+        return decimalAccount.getBalance();
+    }
+
+    @Benchmark
+    public long depositWithdrawMoney() {
+        account.deposit(amount);
+        account.withdraw(amount);
+        return account.getBalanceMinor();
+    }
+
+    @Benchmark
+    public BigDecimal interestBigDecimal() {
+        return decimalBalance.multiply(RATE.divide(HUNDRED, 10, RoundingMode.HALF_UP));
+    }
+
+    @Benchmark
+    public long interestMoney() {
+        return Money.percentOfMinor(savings.getBalanceMinor(), savings.getInterestBasisPoints(), RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public BigDecimal parseBigDecimal() {
+        return new BigDecimal(text);
+    }
+
+    @Benchmark
+    public Money parseMoney() {
+        return Money.parse(text);
+    }
+}
@@ -0,0 +1,154 @@
+package com.hdfc.jmh;
+
+import com.hdfc.Entities.Account;
+import com.hdfc.Entities.CurrentAccount;
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.TransactionType;
+import com.hdfc.ledger.TransactionLedger;
+import com.hdfc.repository.AccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account lookups and in-memory ledger appends through {@link AccountRepository}
+ * and {@link TransactionLedger}, next to the monitor-guarded HashMap and
+ * ArrayList BankService used before, and the ConcurrentHashMap the repository
+ * was first built on. The {@code Contended} variants run four
+ * threads; on a machine with fewer cores than that they measure lock
+ * hand-off rather than parallel scaling, so compare them with {@code -t}
+ * set to the core count as well.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class RegistryBenchmarks {
+
+    @Param({"10000"})
+    public int accounts;
+
+    private final Transaction transaction = new Transaction(1, new BigDecimal("125.50"), "0000000000",
+            LocalDateTime.now(), TransactionType.DEPOSIT);
+
+    private String[] accountNos;
+    private Map<String, Account> lockedAccounts;
+    private Map<String, Account> concurrentAccounts;
+    private AccountRepository repository;
+    private List<Transaction> lockedLedger;
+    private TransactionLedger ledger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        accountNos = new String[accounts];
+        lockedAccounts = new HashMap<>();
+        concurrentAccounts = new ConcurrentHashMap<>();
+        repository = new AccountRepository();
+        for (int i = 0; i < accounts; i++) {
+            accountNos[i] = String.format("%010d", i);
+            Account account = new CurrentAccount(accountNos[i], "C1", BigDecimal.ZERO);
+            lockedAccounts.put(accountNos[i], account);
+            concurrentAccounts.put(accountNos[i], account);
+            repository.add(account);
+        }
+    }
+
+    // Fresh ledgers every iteration keep the heap from filling up with appended rows.
+    @Setup(Level.Iteration)
+    public void resetLedgers() {
+        lockedLedger = new ArrayList<>();
+        ledger = new TransactionLedger();
+    }
+
+    private String anyAccount() {
+        return accountNos[ThreadLocalRandom.current().nextInt(accounts)];
+    }
+
+    private Account lockedLookup(String accountNo) {
+        synchronized (lockedAccounts) {
+            return lockedAccounts.get(accountNo);
+        }
+    }
+
+    private void lockedAppend() {
+        synchronized (lockedLedger) {
+            lockedLedger.add(transaction);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Account lockedLookup() {
+        return lockedLookup(anyAccount());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Account lockedLookupContended() {
+        return lockedLookup(anyAccount());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Account concurrentMapLookup() {
+        return concurrentAccounts.get(anyAccount());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Account repositoryLookup() {
+        return repository.find(anyAccount());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Account repositoryLookupContended() {
+        return repository.find(anyAccount());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void lockedListAppend() {
+        lockedAppend();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void lockedListAppendContended() {
+        lockedAppend();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long ledgerAppend() {
+        return ledger.append(transaction);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long ledgerAppendContended() {
+        return ledger.append(transaction);
+    }
+}
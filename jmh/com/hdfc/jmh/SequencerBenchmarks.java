@@ -0,0 +1,106 @@
+package com.hdfc.jmh;
+
+import com.hdfc.Entities.Customer;
+import com.hdfc.Exception.InsufficientBalance;
+import com.hdfc.enums.AccountType;
+import com.hdfc.enums.ExecutionMode;
+import com.hdfc.service.BankService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Transfers between a handful of hot accounts, with per-account locking
+ * against the single-writer sequencer. Each thread waits for every transfer,
+ * so the time includes the hand-offs between stages (and the fsync when
+ * {@code durable} is set). The trial fails if the total balance moved.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SequencerBenchmarks {
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000");
+    private static final BigDecimal AMOUNT = BigDecimal.ONE;
+
+    @Param({"LOCKING", "SEQUENCED"})
+    public ExecutionMode mode;
+
+    @Param({"8"})
+    public int accounts;
+
+    @Param({"false", "true"})
+    public boolean durable;
+
+    private Path dataDirectory;
+    private BankService bank;
+    private String[] accountNos;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDirectory = durable ? Files.createTempDirectory("hdfc-sequencer-bench") : null;
+        bank = dataDirectory == null ? new BankService(mode) : new BankService(dataDirectory, mode);
+        bank.registerCustomer(new Customer("BENCH", "Bench Customer", "9000000000", "bench@example.com", "Bench@1234", LocalDate.of(1990, 1, 1)));
+        accountNos = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountNos[i] = bank.openAccount("BENCH", AccountType.CURRENT, OPENING_BALANCE).getAccoutNo();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        boolean conserved = bank.totalBalance().compareTo(OPENING_BALANCE.multiply(BigDecimal.valueOf(accounts))) == 0;
+        bank.close();
+        if (dataDirectory != null) {
+            try (Stream<Path> files = Files.walk(dataDirectory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+        if (!conserved) {
+            throw new IllegalStateException("Transfers changed the total balance");
+        }
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accounts);
+        int to = random.nextInt(accounts - 1);
+        if (to >= from) {
+            to++;
+        }
+        try {
+            bank.transfer(accountNos[from], accountNos[to], AMOUNT);
+            return true;
+        } catch (InsufficientBalance e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.hdfc.jmh;
+
+import com.hdfc.Entities.Customer;
+import com.hdfc.Entities.Money;
+import com.hdfc.enums.AccountType;
+import com.hdfc.enums.ExportFormat;
+import com.hdfc.export.ExportReport;
+import com.hdfc.export.StatementExporter;
+import com.hdfc.service.BankService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Whole-bank statement export from an in-memory book, on the common pool's
+ * parallelism. Deposits, withdrawals and transfers are spread evenly over
+ * the accounts; each export overwrites the previous one's files.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class StatementExportBenchmarks {
+
+    @Param({"CSV", "JSON"})
+    public ExportFormat format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    @Param({"100000"})
+    public int accounts;
+
+    @Param({"20"})
+    public int rowsPerAccount;
+
+    private BankService bank;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("hdfc-export-bench");
+        bank = new BankService();
+        bank.registerCustomer(new Customer("BENCH", "Bench Customer", "9000000000", "bench@example.com", "Bench@1234", LocalDate.of(1990, 1, 1)));
+        String[] accountNos = new String[accounts];
+        for (int a = 0; a < accounts; a++) {
+            accountNos[a] = bank.openAccount("BENCH", AccountType.CURRENT, BigDecimal.valueOf(1_000_000_00L, 2)).getAccoutNo();
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long operations = (long) accounts * rowsPerAccount;
+        for (long op = 0; op < operations; op++) {
+            String accountNo = accountNos[(int) (op % accounts)];
+            Money amount = Money.ofMinor(1 + random.nextInt(10_000));
+            switch ((int) (op / accounts % 4)) {
+                case 0:
+                case 1:
+                    bank.depositAsync(accountNo, amount);
+                    break;
+                case 2:
+                    bank.withdrawAsync(accountNo, amount);
+                    break;
+                default:
+                    if (accounts > 1) {
+                        int to = (int) ((op + 1 + random.nextInt(accounts - 1)) % accounts);
+                        bank.transferAsync(accountNo, accountNos[to], amount);
+                    }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        bank.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public ExportReport exportAll() throws IOException {
+        return new StatementExporter(bank, format, gzip).exportAll(null, null, directory);
+    }
+}
@@ -0,0 +1,101 @@
+package com.hdfc.jmh;
+
+import com.hdfc.Entities.Account;
+import com.hdfc.Entities.CurrentAccount;
+import com.hdfc.Exception.InsufficientBalance;
+import com.hdfc.service.TransferService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The old withdraw-then-deposit pair against {@link TransferService}, with many
+ * threads moving money between a handful of hot accounts. The trial fails if
+ * the total balance moved.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferBenchmarks {
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000");
+    private static final BigDecimal AMOUNT = BigDecimal.ONE;
+
+    @Param({"8"})
+    public int accounts;
+
+    private final TransferService service = new TransferService();
+    private Account[] book;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        book = new Account[accounts];
+        for (int i = 0; i < accounts; i++) {
+            book[i] = new CurrentAccount(String.format("%010d", i), "BENCH", OPENING_BALANCE);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Account account : book) {
+            total = total.add(account.getBalance());
+        }
+        if (total.compareTo(OPENING_BALANCE.multiply(BigDecimal.valueOf(accounts))) != 0) {
+            throw new IllegalStateException("Transfers changed the total balance");
+        }
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean twoCall() {
+        int[] pair = pair();
+        try {
+            book[pair[0]].withdraw(AMOUNT);
+        } catch (InsufficientBalance e) {
+            return false;
+        }
+        book[pair[1]].deposit(AMOUNT);
+        return true;
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean transferService() {
+        int[] pair = pair();
+        try {
+            service.transfer(book[pair[0]], book[pair[1]], AMOUNT);
+            return true;
+        } catch (InsufficientBalance e) {
+            return false;
+        }
+    }
+
+    private int[] pair() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accounts);
+        int to = random.nextInt(accounts - 1);
+        if (to >= from) {
+            to++;
+        }
+        return new int[] {from, to};
+    }
+}
@@ -0,0 +1,51 @@
+package com.hdfc.jmh;
+
+import com.hdfc.util.Validators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+/**
+ * One valid customer's email, phone and password checked by the patterns,
+ * with a {@link Matcher} per thread reset for each input, and by the
+ * hand-written {@link Validators} checks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidatorBenchmarks {
+
+    private final String email = "priya.singh+alerts@mail.hdfc.co.in";
+    private final String phone = "+919988776655";
+    private final String password = "Priya#4567secure";
+
+    private final Matcher emailMatcher = Validators.EMAIL_PATTERN.matcher("");
+    private final Matcher phoneMatcher = Validators.PHONE_NUMBER_PATTERN.matcher("");
+    private final Matcher passwordMatcher = Validators.PASSWORD_PATTERN.matcher("");
+
+    @Benchmark
+    public boolean regex() {
+        return emailMatcher.reset(email).matches()
+                & phoneMatcher.reset(phone).matches()
+                & passwordMatcher.reset(password).matches();
+    }
+
+    @Benchmark
+    public boolean handWritten() {
+        return Validators.isValidEmail(email)
+                & Validators.isValidPhoneNumber(phone)
+                & Validators.isValidPassword(password);
+    }
+}
@@ -3,14 +3,33 @@ package com.hdfc.Entities;
 import com.hdfc.Exception.InsufficientBalance;
 import com.hdfc.Exception.InvalidDepositValue;
 import com.hdfc.enums.AccountType;
+import com.hdfc.enums.BalanceMode;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Objects;
 
 public abstract class Account {
+    private static final VarHandle BALANCE;
+
+    static {
+        try {
+            BALANCE = MethodHandles.lookup().findVarHandle(Account.class, "balance", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private String accoutNo;
     private String customerId;
     private AccountType type;
-    private BigDecimal balance;
+    // Paise. Written under this account's monitor with release stores, so
+    // lock-free readers see whole values without a full fence per update.
+    private long balance;
+    private volatile StripedBalance stripedBalance;
+    // getMinimumBalance() in paise, worked out on first use; -1 until then.
+    private volatile long minimumMinor = -1;
 
     public Account() {
     }
@@ -19,7 +38,7 @@ public abstract class Account {
         this.accoutNo = accoutNo;
         this.customerId = customerId;
         this.type = type;
-        this.balance = balance;
+        this.balance = Money.of(balance).getMinor();
     }
 
     public String getAccoutNo() {
@@ -47,11 +66,42 @@ public abstract class Account {
     }
 
     public BigDecimal getBalance() {
-        return balance;
+        return BigDecimal.valueOf(getBalanceMinor(), 2);
+    }
+
+    /** Balance in paise, without allocating. */
+    public long getBalanceMinor() {
+        StripedBalance striped = stripedBalance;
+        return striped != null ? striped.total() : (long) BALANCE.getAcquire(this);
+    }
+
+    public synchronized void setBalance(BigDecimal balance) {
+        long paise = Money.of(balance).getMinor();
+        StripedBalance striped = stripedBalance;
+        if (striped != null) {
+            striped.reset(paise);
+        }
+        BALANCE.setRelease(this, paise);
     }
 
-    public void setBalance(BigDecimal balance) {
-        this.balance = balance;
+    public BalanceMode getBalanceMode() {
+        return stripedBalance == null ? BalanceMode.STANDARD : BalanceMode.HOT;
+    }
+
+    /**
+     * Switches how the balance is held. Pick the mode before the account starts
+     * taking traffic; operations racing the switch itself are not covered.
+     */
+    public synchronized void setBalanceMode(BalanceMode mode) {
+        if (mode == getBalanceMode()) {
+            return;
+        }
+        if (mode == BalanceMode.HOT) {
+            stripedBalance = new StripedBalance(balance);
+        } else {
+            BALANCE.setRelease(this, stripedBalance.total());
+            stripedBalance = null;
+        }
     }
 
     @Override
@@ -60,7 +110,7 @@ public abstract class Account {
                 "accoutNo='" + accoutNo + '\'' +
                 ", customerId='" + customerId + '\'' +
                 ", type=" + type +
-                ", balance=" + balance +
+                ", balance=" + getBalance() +
                 '}';
     }
 
@@ -81,24 +131,92 @@ public abstract class Account {
         return Objects.hash(accoutNo);
     }
 
-    public synchronized void deposit(BigDecimal amount) throws InvalidDepositValue {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+    public void deposit(BigDecimal amount) throws InvalidDepositValue {
+        deposit(Money.of(amount));
+    }
+
+    public void deposit(Money amount) throws InvalidDepositValue {
+        if (!amount.isPositive()) {
             throw new InvalidDepositValue("Deposit Value Should be Greater than Zero");
         }
-        this.balance = this.balance.add(amount);
+        long paise = amount.getMinor();
+        StripedBalance striped = stripedBalance;
+        if (striped != null) {
+            striped.credit(paise);
+            return;
+        }
+        synchronized (this) {
+            BALANCE.setRelease(this, Math.addExact(balance, paise));
+        }
     }
 
-    public synchronized void withdraw(BigDecimal amount) throws InsufficientBalance {
-        if (this.balance.compareTo(amount) < 0) {
-            throw new InsufficientBalance("Insufficient Balance");
+    public void withdraw(BigDecimal amount) throws InsufficientBalance {
+        withdraw(Money.of(amount));
+    }
+
+    /** Refused if it would take the balance under {@link #getMinimumBalance()}. */
+    public void withdraw(Money amount) throws InsufficientBalance {
+        debit(amount, minimumMinor());
+    }
+
+    /**
+     * A debit the bank raises itself, such as a minimum-balance penalty. It may
+     * take the balance under the minimum, but never below zero.
+     */
+    public void charge(Money amount) throws InsufficientBalance {
+        debit(amount, 0);
+    }
+
+    private void debit(Money amount, long floor) {
+        if (!amount.isPositive()) {
+            throw new InvalidDepositValue("Withdrawal Value Should be Greater than Zero");
+        }
+        long paise = amount.getMinor();
+        StripedBalance striped = stripedBalance;
+        if (striped != null) {
+            striped.debit(paise, floor);
+            return;
+        }
+        synchronized (this) {
+            if (balance - paise < floor) {
+                throw new InsufficientBalance("Insufficient Balance");
+            }
+            BALANCE.setRelease(this, balance - paise);
         }
-        this.balance = this.balance.subtract(amount);
+    }
+
+    /**
+     * Moves the balance by {@code paise}, up or down, with no floor. Only for
+     * undoing a change the journal failed to make durable.
+     */
+    public void adjust(long paise) {
+        StripedBalance striped = stripedBalance;
+        if (striped != null) {
+            striped.credit(paise);
+            return;
+        }
+        synchronized (this) {
+            BALANCE.setRelease(this, Math.addExact(balance, paise));
+        }
+    }
+
+    private long minimumMinor() {
+        long minimum = minimumMinor;
+        if (minimum < 0) {
+            minimum = Money.of(getMinimumBalance()).getMinor();
+            minimumMinor = minimum;
+        }
+        return minimum;
     }
 
     public abstract BigDecimal getInterestRate();
     public abstract BigDecimal getMinimumBalance();
 
-    public BigDecimal calculateInterest() {
-        return balance.multiply(getInterestRate().divide(new BigDecimal("100"), 10, RoundingMode.HALF_UP));
+    /** {@link #getInterestRate()} in hundredths of a percent, e.g. 450 for 4.5%. */
+    public abstract long getInterestBasisPoints();
+
+    /** Interest on the current balance, rounded half-up to the paisa. */
+    public Money calculateInterest() {
+        return Money.ofMinor(Money.percentOfMinor(getBalanceMinor(), getInterestBasisPoints(), RoundingMode.HALF_UP));
     }
 }
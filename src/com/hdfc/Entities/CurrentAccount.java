@@ -8,6 +8,7 @@ public class CurrentAccount  extends Account{
 
     public static final BigDecimal Interest_rate = BigDecimal.ZERO;
     public static final BigDecimal minimum_bal = BigDecimal.ZERO;
+    public static final long INTEREST_BASIS_POINTS = 0;
 
     public CurrentAccount(){
         super();
@@ -30,6 +31,12 @@ public class CurrentAccount  extends Account{
         return minimum_bal;
     }
 
+    @Override
+    public long getInterestBasisPoints() {
+
+        return INTEREST_BASIS_POINTS;
+    }
+
     @Override
     public String toString() {
         return "Current_Account{" +
@@ -0,0 +1,207 @@
+package com.hdfc.Entities;
+
+import com.hdfc.Exception.InvalidDepositValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of rupees held as a {@code long} of paise. Arithmetic is exact and
+ * throws on overflow; the only operation that can lose precision is
+ * {@link #percent}, which rounds with the mode it is given.
+ *
+ * {@link BigDecimal} is for the edges only: {@link #of(BigDecimal)} on the way
+ * in and {@link #toBigDecimal()} on the way out. Amounts with more than two
+ * decimal places are rejected rather than rounded.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+    private static final long MINOR_PER_UNIT = 100;
+    private static final long BASIS_POINTS = 10_000;
+
+    private final long minor;
+
+    private Money(long minor) {
+        this.minor = minor;
+    }
+
+    public static Money ofMinor(long minor) {
+        return minor == 0 ? ZERO : new Money(minor);
+    }
+
+    /** Exact conversion; more than two decimal places is an {@link InvalidDepositValue}. */
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            throw new InvalidDepositValue("Amount is required");
+        }
+        try {
+            return ofMinor(amount.movePointRight(SCALE).longValueExact());
+        } catch (ArithmeticException e) {
+            if (amount.stripTrailingZeros().scale() > SCALE) {
+                throw new InvalidDepositValue("Amount cannot have more than two decimal places");
+            }
+            throw new InvalidDepositValue("Amount is too large");
+        }
+    }
+
+    /** Rounds {@code amount} to whole paise. */
+    public static Money of(BigDecimal amount, RoundingMode rounding) {
+        return of(amount.setScale(SCALE, rounding));
+    }
+
+    /**
+     * Reads amounts like {@code 1500}, {@code 1500.5} or {@code -20.75} without
+     * going through {@link BigDecimal}. Malformed text is a
+     * {@link NumberFormatException}, as with {@code new BigDecimal(String)}.
+     */
+    public static Money parse(String text) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+        long units = 0;
+        int digits = 0;
+        for (; i < length && text.charAt(i) != '.'; i++, digits++) {
+            units = units * 10 + digit(text, i);
+            if (units > Long.MAX_VALUE / MINOR_PER_UNIT) {
+                throw new InvalidDepositValue("Amount is too large");
+            }
+        }
+        long fraction = 0;
+        int places = 0;
+        if (i < length) {
+            for (i++; i < length; i++, places++) {
+                int d = digit(text, i);
+                if (places >= SCALE) {
+                    if (d != 0) {
+                        throw new InvalidDepositValue("Amount cannot have more than two decimal places");
+                    }
+                    continue;
+                }
+                fraction = fraction * 10 + d;
+            }
+        }
+        if (digits == 0 && places == 0) {
+            throw new NumberFormatException("Not an amount: \"" + text + "\"");
+        }
+        for (int p = Math.min(places, SCALE); p < SCALE; p++) {
+            fraction *= 10;
+        }
+        try {
+            long minor = Math.addExact(Math.multiplyExact(units, MINOR_PER_UNIT), fraction);
+            return ofMinor(negative ? -minor : minor);
+        } catch (ArithmeticException e) {
+            throw new InvalidDepositValue("Amount is too large");
+        }
+    }
+
+    /** Paise. */
+    public long getMinor() {
+        return minor;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minor, other.minor));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minor, other.minor));
+    }
+
+    /** {@code basisPoints / 100} percent of this amount, rounded to paise. */
+    public Money percent(long basisPoints, RoundingMode rounding) {
+        return ofMinor(percentOfMinor(minor, basisPoints, rounding));
+    }
+
+    /** Same as {@link #percent} on a raw paise amount, without allocating. */
+    public static long percentOfMinor(long minor, long basisPoints, RoundingMode rounding) {
+        return divide(Math.multiplyExact(minor, basisPoints), BASIS_POINTS, rounding);
+    }
+
+    public boolean isPositive() {
+        return minor > 0;
+    }
+
+    public int signum() {
+        return Long.signum(minor);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minor, other.minor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).minor == minor;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minor);
+    }
+
+    /** Always two decimal places, e.g. {@code 1500.00}. */
+    @Override
+    public String toString() {
+        long abs = Math.abs(minor);
+        long paise = abs % MINOR_PER_UNIT;
+        return (minor < 0 ? "-" : "") + abs / MINOR_PER_UNIT + (paise < 10 ? ".0" : ".") + paise;
+    }
+
+    /** {@code dividend / divisor} for a positive divisor, rounded as {@code rounding} says. */
+    public static long divide(long dividend, long divisor, RoundingMode rounding) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = dividend < 0 ? -1 : 1;
+        long twice = Math.abs(remainder) * 2;
+        boolean awayFromZero;
+        switch (rounding) {
+            case UP:
+                awayFromZero = true;
+                break;
+            case DOWN:
+                awayFromZero = false;
+                break;
+            case CEILING:
+                awayFromZero = sign > 0;
+                break;
+            case FLOOR:
+                awayFromZero = sign < 0;
+                break;
+            case HALF_UP:
+                awayFromZero = twice >= divisor;
+                break;
+            case HALF_DOWN:
+                awayFromZero = twice > divisor;
+                break;
+            case HALF_EVEN:
+                awayFromZero = twice > divisor || (twice == divisor && (quotient & 1) != 0);
+                break;
+            default:
+                throw new ArithmeticException("Rounding necessary");
+        }
+        return awayFromZero ? quotient + sign : quotient;
+    }
+
+    private static int digit(String text, int i) {
+        char c = text.charAt(i);
+        if (c < '0' || c > '9') {
+            throw new NumberFormatException("Not an amount: \"" + text + "\"");
+        }
+        return c - '0';
+    }
+}
@@ -10,6 +10,7 @@ public class SavingAccount  extends Account{
     
     public static final BigDecimal Interest_rate = new BigDecimal("4.5");
     public static final BigDecimal minimum_bal = new BigDecimal("1000");
+    public static final long INTEREST_BASIS_POINTS = 450;
 
     public SavingAccount() {
         super();
@@ -31,6 +32,12 @@ public class SavingAccount  extends Account{
 
         return minimum_bal;
     }
+
+    @Override
+    public long getInterestBasisPoints() {
+
+        return INTEREST_BASIS_POINTS;
+    }
     @Override
     public String toString() {
         return "Savings_Account{" +
@@ -0,0 +1,64 @@
+package com.hdfc.Entities;
+
+import com.hdfc.Exception.InsufficientBalance;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Balance of a hot account, in paise. Credits land in striped LongAdder cells
+ * and never contend; debits CAS against a settled amount and only pull the
+ * pending credits in when the settled amount alone cannot cover them. Each
+ * debit names the floor it may not take the balance under.
+ */
+final class StripedBalance {
+
+    private final AtomicLong settled;
+    private final LongAdder credits = new LongAdder();
+    private final Object drainLock = new Object();
+
+    StripedBalance(long openingPaise) {
+        this.settled = new AtomicLong(openingPaise);
+    }
+
+    void credit(long paise) {
+        credits.add(paise);
+    }
+
+    void debit(long paise, long floorPaise) {
+        while (true) {
+            long current = settled.get();
+            long next = current - paise;
+            if (next >= floorPaise) {
+                if (settled.compareAndSet(current, next)) {
+                    return;
+                }
+                continue;
+            }
+
+            synchronized (drainLock) {
+                long drained = credits.sumThenReset();
+                if (drained != 0) {
+                    settled.addAndGet(drained);
+                    continue;
+                }
+                // Nothing pending and nobody else moved the settled amount: the
+                // debit really would take the balance under the floor.
+                if (settled.get() == current) {
+                    throw new InsufficientBalance("Insufficient Balance");
+                }
+            }
+        }
+    }
+
+    long total() {
+        return settled.get() + credits.sum();
+    }
+
+    void reset(long paise) {
+        synchronized (drainLock) {
+            credits.reset();
+            settled.set(paise);
+        }
+    }
+}
@@ -1,15 +1,15 @@
 package com.hdfc.Entities;
 
 import com.hdfc.enums.TransactionType;
+import com.hdfc.util.IdGenerator;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Objects;
 
 public class Transaction {
 
-    private String transactionId;
-    private BigDecimal amount;
+    private long id;
+    private Money amount;
     private String accountNo;
     private LocalDateTime timestamp;
     private TransactionType type;
@@ -19,16 +19,20 @@ public class Transaction {
 
     public Transaction(String transactionId, String fromAccountNo, TransactionType transfer, LocalDateTime now, String toAccountNo){}
 
-    public Transaction(String transactionId, BigDecimal amount, String accountNo, LocalDateTime timestamp, TransactionType type) {
-        this.transactionId = transactionId;
-        this.amount = amount;
-        this.accountNo = accountNo;
-        this.timestamp = timestamp;
-        this.type = type;
+    public Transaction(long id, BigDecimal amount, String accountNo, LocalDateTime timestamp, TransactionType type) {
+        this(id, Money.of(amount), accountNo, timestamp, type, null);
     }
 
-    public Transaction(String transactionId, BigDecimal amount, String accountNo, LocalDateTime timestamp, TransactionType type,String toAccountNo) {
-        this.transactionId = transactionId;
+    public Transaction(long id, BigDecimal amount, String accountNo, LocalDateTime timestamp, TransactionType type,String toAccountNo) {
+        this(id, Money.of(amount), accountNo, timestamp, type, toAccountNo);
+    }
+
+    public Transaction(long id, Money amount, String accountNo, LocalDateTime timestamp, TransactionType type) {
+        this(id, amount, accountNo, timestamp, type, null);
+    }
+
+    public Transaction(long id, Money amount, String accountNo, LocalDateTime timestamp, TransactionType type, String toAccountNo) {
+        this.id = id;
         this.amount = amount;
         this.accountNo = accountNo;
         this.timestamp = timestamp;
@@ -52,20 +56,33 @@ public class Transaction {
         this.toAccountNo = toAccountNo;
     }
 
-    public String getTransactionId() {
-        return transactionId;
+    public long getId() {
+        return id;
     }
 
-    public void setTransactionId(String transactionId) {
-        this.transactionId = transactionId;
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getTransactionId() {
+        return IdGenerator.formatTransactionId(id);
     }
 
     public BigDecimal getAmount() {
+        return amount == null ? null : amount.toBigDecimal();
+    }
+
+    public Money getMoney() {
         return amount;
     }
 
+    /** Amount in paise. */
+    public long getAmountMinor() {
+        return amount.getMinor();
+    }
+
     public void setAmount(BigDecimal amount) {
-        this.amount = amount;
+        this.amount = Money.of(amount);
     }
 
     public String getAccountNo() {
@@ -95,7 +112,7 @@ public class Transaction {
     @Override
     public String toString() {
         return "Transaction{" +
-                "transactionId='" + transactionId + '\'' +
+                "transactionId='" + getTransactionId() + '\'' +
                 ", amount=" + amount +
                 ", accountNo='" + accountNo + '\'' +
                 ", timestamp=" + timestamp +
@@ -106,13 +123,13 @@ public class Transaction {
     @Override
     public int hashCode()
     {
-        return Objects.hash(transactionId);
+        return Long.hashCode(id);
     }
 
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         Transaction that = (Transaction) o;
-        return Objects.equals(transactionId, that.transactionId);
+        return id == that.id;
     }
 }
@@ -2,32 +2,57 @@ package com.hdfc;
 
 import com.hdfc.Entities.*;
 import com.hdfc.Exception.InsufficientBalance;
+import com.hdfc.Exception.InvalidAccountException;
+import com.hdfc.Exception.InvalidDepositValue;
+import com.hdfc.audit.AuditLog;
+import com.hdfc.batch.BatchProcessor;
+import com.hdfc.batch.BatchReport;
+import com.hdfc.enums.AccountType;
+import com.hdfc.enums.AccrualMethod;
+import com.hdfc.enums.ExecutionMode;
+import com.hdfc.enums.ExportFormat;
+import com.hdfc.enums.SortDirection;
 import com.hdfc.enums.TransactionType;
-
+import com.hdfc.export.ExportReport;
+import com.hdfc.export.StatementExporter;
+import com.hdfc.interest.AccrualReport;
+import com.hdfc.interest.InterestAccrual;
+import com.hdfc.ledger.AccountSummary;
+import com.hdfc.ledger.HistoryPage;
+import com.hdfc.ledger.HistoryQuery;
+import com.hdfc.load.LoadConfig;
+import com.hdfc.load.LoadGenerator;
+import com.hdfc.load.LoadReport;
+import com.hdfc.metrics.MetricsExporter;
+import com.hdfc.onboarding.BulkLoader;
+import com.hdfc.onboarding.OnboardingReport;
+import com.hdfc.service.BankService;
+import com.hdfc.service.OperationExecutor;
+import com.hdfc.util.Validators;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public class Main {
 
-    private static final Map<String, Customer> customers = new HashMap<>();
-    private static final Map<String, Account> accounts = new HashMap<>();
-    private static List<Transaction> transactions = new ArrayList<>();
+    // The one audit trail for the process; banks only write to it.
+    private static final AuditLog audit = AuditLog.fromSystemProperties();
+    private static final BankService bank = openBank();
     private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int HISTORY_PAGE_SIZE = 20;
 
     private static final Scanner sc = new Scanner(System.in);
-    private static final ExecutorService executorService = Executors.newFixedThreadPool(5);
-
-    // Regex Patterns
-    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Z0-9._%+-]+@[A-Z0-9.-]+\\.[A-Z]{2,6}$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern PHONE_NUMBER_PATTERN = Pattern.compile("^[+]?[0-9]{10,13}$");
-    private static final Pattern PASSWORD_PATTERN = Pattern.compile("^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\\S+$).{8,20}$");
+    private static final OperationExecutor executor = OperationExecutor.fromSystemProperties();
+    private static final MetricsExporter metrics = MetricsExporter.fromSystemProperties(bank.getMetrics());
 
     public static void main(String[] args) {
         System.out.println("\n\t\t\t\t✨ Welcome to HDFC Banking Application ✨");
@@ -41,11 +66,45 @@ public class Main {
             System.out.println("\n\t❌ An unexpected error occurred: " + e.getMessage());
         } finally {
             sc.close();
-            executorService.shutdown();
+            executor.close();
+            metrics.close();
+            closeBank();
             System.out.println("\n\t\t\t\t👋 Thank you for using HDFC Bank. Goodbye! 👋");
         }
     }
 
+    private static BankService openBank() {
+        String dataDirectory = System.getProperty("hdfc.data", "data");
+        ExecutionMode mode = ExecutionMode.valueOf(System.getProperty("hdfc.mode", "locking").toUpperCase(Locale.ROOT));
+        if (dataDirectory.isBlank()) {
+            return new BankService(mode, audit);
+        }
+        try {
+            BankService bank = new BankService(Path.of(dataDirectory), mode, audit);
+            System.out.println("Recovered " + bank.getCustomerCount() + " customer(s), " + bank.getAccounts().size()
+                    + " account(s) and " + bank.getTransactionCount() + " transaction(s) from " + dataDirectory);
+            return bank;
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("⚠️ Could not open data directory " + dataDirectory + " (" + e.getMessage() + "), running in memory only.");
+            return new BankService(mode, audit);
+        }
+    }
+
+    private static void closeBank() {
+        try {
+            bank.close();
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not close journal: " + e.getMessage());
+        }
+        if (audit != null) {
+            try {
+                audit.close();
+            } catch (IOException e) {
+                System.out.println("⚠️ Could not close audit log: " + e.getMessage());
+            }
+        }
+    }
+
     private static void showMainMenu() {
         System.out.println("Main Menu 📊");
         System.out.println("-------------------");
@@ -54,9 +113,11 @@ public class Main {
         System.out.println("3. Perform Transaction");
         System.out.println("4. View Account Details");
         System.out.println("5. View Transaction History");
-        System.out.println("6. Simulate Concurrent Transfers");
+        System.out.println("6. Run Load Simulation");
         System.out.println("7. Run Demo Mode");
-        System.out.println("8. Exit");
+        System.out.println("8. Export Statements");
+        System.out.println("9. Bulk Import Customers & Accounts");
+        System.out.println("10. Exit");
         System.out.print("Enter your choice: ");
 
         int choice = getInput();
@@ -78,13 +139,22 @@ public class Main {
                 viewHistory();
                 break;
             case 6:
-                simulateConcurrentTransfers();
+                runLoadSimulation();
                 break;
             case 7:
                 runDemoMode();
                 break;
             case 8:
+                exportStatements();
+                break;
+            case 9:
+                bulkImport();
+                break;
+            case 10:
                 System.out.println("Exiting application...");
+                executor.close();
+                metrics.close();
+                closeBank();
                 System.exit(0);
                 break;
             default:
@@ -109,7 +179,7 @@ public class Main {
         System.out.print("Enter Customer ID: ");
         String customerId = sc.nextLine().trim();
 
-        if (customers.containsKey(customerId)) {
+        if (bank.findCustomer(customerId) != null) {
             System.out.println(" ⚠️ Customer with this ID already exists!");
             return;
         }
@@ -121,10 +191,12 @@ public class Main {
         while (true) {
             System.out.print("Enter Email: ");
             email = sc.nextLine().trim();
-            if (isValidEmail(email)) {
-                break;
-            } else {
+            if (!isValidEmail(email)) {
                 System.out.println(" ❌ Invalid email format. Please try again.");
+            } else if (bank.findCustomerByEmail(email) != null) {
+                System.out.println(" ⚠️ This email is already registered. Please use another.");
+            } else {
+                break;
             }
         }
 
@@ -132,10 +204,12 @@ public class Main {
         while (true) {
             System.out.print("Enter Mobile Number: ");
             phone = sc.nextLine().trim();
-            if (isValidPhoneNumber(phone)) {
-                break;
-            } else {
+            if (!isValidPhoneNumber(phone)) {
                 System.out.println("❌ Invalid mobile number format. Please try again.");
+            } else if (bank.findCustomerByPhone(phone) != null) {
+                System.out.println(" ⚠️ This mobile number is already registered. Please use another.");
+            } else {
+                break;
             }
         }
 
@@ -161,25 +235,25 @@ public class Main {
             return;
         }
 
-        Customer customer = new Customer(customerId, name, email, phone, password, dateOfBirth);
-        customers.put(customerId, customer);
+        Customer customer = new Customer(customerId, name, phone, email, password, dateOfBirth);
+        if (!bank.registerCustomer(customer)) {
+            System.out.println(" ⚠️ Customer with this ID, email or mobile number already exists!");
+            return;
+        }
 
         System.out.println("✅ Customer Registered Successfully!");
     }
 
     private static boolean isValidEmail(String email) {
-        Matcher matcher = EMAIL_PATTERN.matcher(email);
-        return matcher.matches();
+        return Validators.isValidEmail(email);
     }
 
     private static boolean isValidPhoneNumber(String phoneNumber) {
-        Matcher matcher = PHONE_NUMBER_PATTERN.matcher(phoneNumber);
-        return matcher.matches();
+        return Validators.isValidPhoneNumber(phoneNumber);
     }
 
     private static boolean isValidPassword(String password) {
-        Matcher matcher = PASSWORD_PATTERN.matcher(password);
-        return matcher.matches();
+        return Validators.isValidPassword(password);
     }
 
     private static void createAccount() {
@@ -188,7 +262,7 @@ public class Main {
 
         System.out.print("Enter Customer ID: ");
         String customerId = sc.nextLine().trim();
-        Customer customer = customers.get(customerId);
+        Customer customer = bank.findCustomer(customerId);
 
         if (customer == null) {
             System.out.println("❌ Customer not found! Please register first.");
@@ -201,45 +275,44 @@ public class Main {
         System.out.print("Enter your choice: ");
 
         int typeChoice = getInput();
-        Account account;
+        AccountType accountType;
 
         System.out.print("Enter initial balance: ");
         String balanceStr = sc.nextLine().trim();
 
         try {
             BigDecimal initialBalance = new BigDecimal(balanceStr);
-            String accountNo = generateAccountNo();
 
             switch (typeChoice) {
                 case 1:
-                    account = new SavingAccount(accountNo, customerId, initialBalance);
+                    accountType = AccountType.SAVINGS;
                     break;
                 case 2:
-                    account = new CurrentAccount(accountNo, customerId, initialBalance);
+                    accountType = AccountType.CURRENT;
                     break;
                 default:
                     System.out.println("❌ Invalid account type!");
                     return;
             }
 
-            accounts.put(accountNo, account);
+            Account account = bank.openAccount(customerId, accountType, initialBalance);
             System.out.println("✅ Account created successfully!");
-            System.out.println("Your new account number is: \uD83D\uDD12 " + accountNo + " \uD83D\uDD12");
+            System.out.println("Your new account number is: \uD83D\uDD12 " + account.getAccoutNo() + " \uD83D\uDD12");
         } catch (NumberFormatException e) {
             System.out.println("❌ Invalid balance amount! Please enter a number.");
+        } catch (InvalidAccountException | UncheckedIOException | IllegalStateException e) {
+            System.out.println("❌ Error: " + e.getMessage());
         }
     }
 
-    private static String generateAccountNo() {
-        return String.format("%010d", System.currentTimeMillis() % 10000000000L);
-    }
-
     private static void performTransaction() {
         System.out.println("💰 Perform Transaction 💰");
         System.out.println(" ----------------------------------");
         System.out.println("1. Deposit");
         System.out.println("2. Withdraw");
         System.out.println("3. Transfer");
+        System.out.println("4. Run Batch File");
+        System.out.println("5. Run Month-End Interest");
         System.out.print("Please select transaction type: ");
 
         int transactionType = getInput();
@@ -255,6 +328,12 @@ public class Main {
             case 3:
                 performTransfer();
                 break;
+            case 4:
+                performBatch();
+                break;
+            case 5:
+                performInterestAccrual();
+                break;
             default:
                 System.out.println("❌ Invalid transaction type!");
         }
@@ -263,7 +342,7 @@ public class Main {
     private static void performDeposit() {
         System.out.print("Enter account number: ");
         String accountNo = sc.nextLine().trim();
-        Account account = accounts.get(accountNo);
+        Account account = bank.findAccount(accountNo);
 
         if (account == null) {
             System.out.println("❌ Account not found!");
@@ -273,26 +352,20 @@ public class Main {
         System.out.print("Enter deposit amount: ");
         String amountStr = sc.nextLine().trim();
         try {
-            BigDecimal amount = new BigDecimal(amountStr);
-            account.deposit(amount);
-
-            String transactionId = generateTransactionId();
-            Transaction transaction = new Transaction(transactionId, amount, accountNo, LocalDateTime.now(), TransactionType.DEPOSIT);
-            transactions.add(transaction);
+            Money amount = Money.parse(amountStr);
+            bank.deposit(accountNo, amount);
             System.out.println("✅ Deposit successful! Your new balance is: ₹" + account.getBalance());
         } catch (NumberFormatException e) {
             System.out.println("❌ Invalid amount! Please enter a number.");
+        } catch (InvalidDepositValue | UncheckedIOException | IllegalStateException e) {
+            System.out.println("❌ Error: " + e.getMessage());
         }
     }
 
-    private static String generateTransactionId() {
-        return "HDFC_TXN" + System.currentTimeMillis();
-    }
-
     private static void performWithdraw() {
         System.out.print("Enter account number: ");
         String accountNo = sc.nextLine().trim();
-        Account account = accounts.get(accountNo);
+        Account account = bank.findAccount(accountNo);
 
         if (account == null) {
             System.out.println("❌ Account not found!");
@@ -302,15 +375,12 @@ public class Main {
         System.out.print("Enter withdrawal amount: ");
         String amountStr = sc.nextLine().trim();
         try {
-            BigDecimal amount = new BigDecimal(amountStr);
-            account.withdraw(amount);
-            String transactionId = generateTransactionId();
-            Transaction transaction = new Transaction(transactionId, amount, accountNo, LocalDateTime.now(), TransactionType.WITHDRAW);
-            transactions.add(transaction);
+            Money amount = Money.parse(amountStr);
+            bank.withdraw(accountNo, amount);
             System.out.println(" ✅ Withdrawal successful! Your new balance is: ₹" + account.getBalance());
         } catch (NumberFormatException e) {
             System.out.println("❌ Invalid amount!");
-        } catch (InsufficientBalance b) {
+        } catch (InsufficientBalance | InvalidDepositValue | UncheckedIOException | IllegalStateException b) {
             System.out.println("❌ Error: " + b.getMessage());
         }
     }
@@ -318,7 +388,7 @@ public class Main {
     private static void performTransfer() {
         System.out.print("Enter your account number: ");
         String fromAccountNo = sc.nextLine().trim();
-        Account fromAccount = accounts.get(fromAccountNo);
+        Account fromAccount = bank.findAccount(fromAccountNo);
         if (fromAccount == null) {
             System.out.println("❌ Your account was not found!");
             return;
@@ -326,7 +396,7 @@ public class Main {
 
         System.out.print("Enter destination account number: ");
         String toAccountNo = sc.nextLine().trim();
-        Account toAccount = accounts.get(toAccountNo);
+        Account toAccount = bank.findAccount(toAccountNo);
         if (toAccount == null) {
             System.out.println("❌ Destination account was not found!");
             return;
@@ -336,22 +406,48 @@ public class Main {
         String amountStr = sc.nextLine().trim();
 
         try {
-            BigDecimal amount = new BigDecimal(amountStr);
-            fromAccount.withdraw(amount);
-            toAccount.deposit(amount);
-
-            String senderTxnId = generateTransactionId();
-            Transaction senderTxn = new Transaction(senderTxnId, amount, fromAccountNo, LocalDateTime.now(), TransactionType.WITHDRAW, toAccountNo);
-            transactions.add(senderTxn);
-
-            String receiverTxnId = generateTransactionId();
-            Transaction receiverTxn = new Transaction(receiverTxnId, amount, toAccountNo, LocalDateTime.now(), TransactionType.DEPOSIT, fromAccountNo);
-            transactions.add(receiverTxn);
+            Money amount = Money.parse(amountStr);
+            bank.transfer(fromAccountNo, toAccountNo, amount);
 
             System.out.println("✅ Transfer successful! Your new balance is: ₹" + fromAccount.getBalance());
         } catch (NumberFormatException e) {
             System.out.println("❌ Invalid amount!");
-        } catch (InsufficientBalance e) {
+        } catch (InsufficientBalance | InvalidDepositValue | InvalidAccountException | UncheckedIOException | IllegalStateException e) {
+            System.out.println("❌ Error: " + e.getMessage());
+        }
+    }
+
+    private static void performBatch() {
+        System.out.print("Enter batch file path: ");
+        Path file = Path.of(sc.nextLine().trim());
+        Path reportFile = file.resolveSibling(file.getFileName() + ".report.csv");
+
+        try (BatchProcessor processor = new BatchProcessor(bank)) {
+            BatchReport report = processor.process(file);
+            report.writeTo(reportFile);
+            System.out.println("✅ Batch complete: " + report);
+            System.out.println("📄 Per-instruction results written to " + reportFile);
+        } catch (IOException e) {
+            System.out.println("❌ Could not run batch: " + e.getMessage());
+        }
+    }
+
+    private static void performInterestAccrual() {
+        YearMonth lastMonth = YearMonth.now().minusMonths(1);
+        System.out.print("Enter month to accrue (yyyy-MM, blank for " + lastMonth + "): ");
+        String monthStr = sc.nextLine().trim();
+        System.out.println("1. Daily balance");
+        System.out.println("2. Average balance");
+        System.out.print("Please select accrual method: ");
+        AccrualMethod method = getInput() == 2 ? AccrualMethod.AVERAGE_BALANCE : AccrualMethod.DAILY_BALANCE;
+
+        try {
+            YearMonth month = monthStr.isEmpty() ? lastMonth : YearMonth.parse(monthStr);
+            AccrualReport report = new InterestAccrual(bank, method).accrue(month);
+            System.out.println("✅ Interest accrued: " + report);
+        } catch (DateTimeParseException e) {
+            System.out.println("❌ Invalid month! Please use yyyy-MM.");
+        } catch (IllegalArgumentException e) {
             System.out.println("❌ Error: " + e.getMessage());
         }
     }
@@ -361,7 +457,7 @@ public class Main {
         System.out.println("-----------------------------------");
         System.out.print("Enter account number: ");
         String accountNo = sc.nextLine().trim();
-        Account account = accounts.get(accountNo);
+        Account account = bank.findAccount(accountNo);
 
         if (account == null) {
             System.out.println("❌ Account not found!");
@@ -381,126 +477,183 @@ public class Main {
         System.out.println("-----------------------------------");
         System.out.print("Enter account number: ");
         String accountNo = sc.nextLine().trim();
-        Account account = accounts.get(accountNo);
+        Account account = bank.findAccount(accountNo);
 
         if (account == null) {
             System.out.println("❌ Account not found!");
             return;
         }
 
-        List<Transaction> accountTransactions = transactions.stream()
-                .filter(t -> t.getAccountNo().equals(accountNo) || (t.getToAccountNo() != null && t.getToAccountNo().equals(accountNo)))
-                .sorted(Comparator.comparing(Transaction::getTimestamp).reversed())
-                .toList();
+        HistoryQuery query = HistoryQuery.latest(accountNo, HISTORY_PAGE_SIZE);
+        HistoryPage page = bank.queryHistory(query, null);
 
-        if (accountTransactions.isEmpty()) {
+        if (page.getTransactions().isEmpty()) {
             System.out.println("ℹ️ No transactions found for this account.");
             return;
         }
 
         System.out.println("--- Transactions for Account " + accountNo + " ---");
-        for (Transaction transaction : accountTransactions) {
-            String typeIcon;
-            String amountText;
-            String fromToInfo = "";
-
-            if (transaction.getType() == TransactionType.TRANSFER) {
-                if (transaction.getAccountNo().equals(accountNo)) {
-                    typeIcon = "➡️";
-                    amountText = "Transfer Out: -₹" + transaction.getAmount();
-                    fromToInfo = "To Account: " + transaction.getToAccountNo();
+        while (true) {
+            for (Transaction transaction : page.getTransactions()) {
+                String typeIcon;
+                String amountText;
+                String fromToInfo = "";
+
+                if (transaction.getType() == TransactionType.TRANSFER) {
+                    if (transaction.getAccountNo().equals(accountNo)) {
+                        typeIcon = "➡️";
+                        amountText = "Transfer Out: -₹" + transaction.getAmount();
+                        fromToInfo = "To Account: " + transaction.getToAccountNo();
+                    } else {
+                        typeIcon = "⬅️";
+                        amountText = "Transfer In: +₹" + transaction.getAmount();
+                        fromToInfo = "From Account: " + transaction.getAccountNo();
+                    }
                 } else {
-                    typeIcon = "⬅️";
-                    amountText = "Transfer In: +₹" + transaction.getAmount();
-                    fromToInfo = "From Account: " + transaction.getAccountNo();
+                    switch (transaction.getType()) {
+                        case DEPOSIT:
+                            typeIcon = "✅";
+                            amountText = "Deposit: +₹" + transaction.getAmount();
+                            break;
+                        case WITHDRAW:
+                            typeIcon = "➖";
+                            amountText = "Withdrawal: -₹" + transaction.getAmount();
+                            break;
+                        case INTEREST:
+                            typeIcon = "💰";
+                            amountText = "Interest: +₹" + transaction.getAmount();
+                            break;
+                        case PENALTY:
+                            typeIcon = "⚠️";
+                            amountText = "Penalty: -₹" + transaction.getAmount();
+                            break;
+                        default:
+                            typeIcon = "❔";
+                            amountText = "Amount: ₹" + transaction.getAmount();
+                            break;
+                    }
                 }
-            } else {
-                switch (transaction.getType()) {
-                    case DEPOSIT:
-                        typeIcon = "✅";
-                        amountText = "Deposit: +₹" + transaction.getAmount();
-                        break;
-                    case WITHDRAW:
-                        typeIcon = "➖";
-                        amountText = "Withdrawal: -₹" + transaction.getAmount();
-                        break;
-                    default:
-                        typeIcon = "❔";
-                        amountText = "Amount: ₹" + transaction.getAmount();
-                        break;
+
+                System.out.println("" + typeIcon + " " + transaction.getType().getDisplayName().toUpperCase());
+                System.out.println(" ----------------------------------");
+                System.out.println("Date/Time: " + transaction.getTimestamp().format(dateTimeFormatter));
+                System.out.println("Transaction ID: " + transaction.getTransactionId());
+                System.out.println("\t\t\t\t\t\t  Amount: " + amountText);
+                if (!fromToInfo.isEmpty()) {
+                    System.out.println("/t" + fromToInfo);
                 }
+                System.out.println();
             }
-
-            System.out.println("" + typeIcon + " " + transaction.getType().getDisplayName().toUpperCase());
-            System.out.println(" ----------------------------------");
-            System.out.println("Date/Time: " + transaction.getTimestamp().format(dateTimeFormatter));
-            System.out.println("Transaction ID: " + transaction.getTransactionId());
-            System.out.println("\t\t\t\t\t\t  Amount: " + amountText);
-            if (!fromToInfo.isEmpty()) {
-                System.out.println("/t" + fromToInfo);
+            if (!page.hasMore()) {
+                break;
+            }
+            System.out.print("Press Enter for older transactions, or q to stop: ");
+            if (sc.nextLine().trim().equalsIgnoreCase("q")) {
+                break;
             }
-            System.out.println();
+            page = bank.queryHistory(query, page.getNextCursor());
         }
 
-        Map<TransactionType, Long> transactionSummary = accountTransactions.stream()
-                .collect(Collectors.groupingBy(Transaction::getType, Collectors.counting()));
+        AccountSummary summary = bank.summaryOf(accountNo);
 
         System.out.println("--- Transaction Summary ---");
-        transactionSummary.forEach((transactionType, count) ->
-                System.out.println("" + transactionType.getDisplayName() + ": " + count + " transaction(s)"));
+        summary.getCountsByType().forEach((transactionType, count) ->
+                System.out.println("" + transactionType.getDisplayName() + ": " + count + " transaction(s), ₹" + summary.getTotal(transactionType)));
+        System.out.println("Total In: ₹" + summary.getTotalIn() + " | Total Out: ₹" + summary.getTotalOut());
+        if (summary.getLastActivity() != null) {
+            System.out.println("Last Activity: " + summary.getLastActivity().format(dateTimeFormatter));
+        }
         System.out.println("-----------------------------");
     }
 
-    private static void simulateConcurrentTransfers() {
-        System.out.println("Simulating Concurrent Transfers");
-        System.out.println("------------------------------------");
+    private static void exportStatements() {
+        System.out.println("📤 Export Statements 📤");
+        System.out.println("-----------------------------------");
+        System.out.print("Enter account number (blank for all accounts): ");
+        String accountNo = sc.nextLine().trim();
+        System.out.print("Enter day (yyyy-MM-dd, blank for all time): ");
+        String dayStr = sc.nextLine().trim();
+        System.out.println("1. CSV");
+        System.out.println("2. JSON");
+        System.out.print("Please select format: ");
+        ExportFormat format = getInput() == 2 ? ExportFormat.JSON : ExportFormat.CSV;
+        System.out.print("Compress with gzip? (y/n): ");
+        boolean gzip = sc.nextLine().trim().equalsIgnoreCase("y");
+        System.out.print("Enter output " + (accountNo.isEmpty() ? "directory" : "file") + ": ");
+        Path target = Path.of(sc.nextLine().trim());
 
-        if (accounts.size() < 2) {
-            System.out.println("❌ Need at least two accounts to simulate transfers.");
-            return;
+        try {
+            LocalDate day = dayStr.isEmpty() ? null : LocalDate.parse(dayStr, dateFormatter);
+            LocalDateTime from = day == null ? null : day.atStartOfDay();
+            LocalDateTime until = day == null ? null : day.plusDays(1).atStartOfDay();
+            StatementExporter exporter = new StatementExporter(bank, format, gzip);
+            ExportReport report = accountNo.isEmpty()
+                    ? exporter.exportAll(from, until, target)
+                    : exporter.exportAccount(accountNo, from, until, target);
+            System.out.println("✅ Exported " + report);
+        } catch (DateTimeParseException e) {
+            System.out.println("❌ Invalid date! Please use yyyy-MM-dd.");
+        } catch (InvalidAccountException e) {
+            System.out.println("❌ " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("❌ Could not export: " + e.getMessage());
         }
+    }
 
-        // Get two random accounts to transfer between
-        List<Account> availableAccounts = new ArrayList<>(accounts.values());
-        Account acc1 = availableAccounts.get(0);
-        Account acc2 = availableAccounts.get(1);
-
-        System.out.println("Transferring between accounts " + acc1.getAccoutNo() + " and " + acc2.getAccoutNo());
-        System.out.println("Initial Balance 1: ₹" + acc1.getBalance());
-        System.out.println("Initial Balance 2: ₹" + acc2.getBalance());
-
-        List<Future<Boolean>> futures = new ArrayList<>();
-        int numberOfTransfers = 5;
-
-        for (int i = 0; i < numberOfTransfers; i++) {
-            final int transferAmount = 100 + i * 10;
-            // Transfer from acc1 to acc2
-            futures.add(executorService.submit(() -> {
-                try {
-                    acc1.withdraw(BigDecimal.valueOf(transferAmount));
-                    acc2.deposit(BigDecimal.valueOf(transferAmount));
-                    System.out.println("✓ Thread " + Thread.currentThread().getId() + ": Transfer of ₹" + transferAmount + " from " + acc1.getAccoutNo() + " to " + acc2.getAccoutNo() + " successful.");
-                    return true;
-                } catch (InsufficientBalance | InvalidAccountException e) {
-                    System.out.println("❌ Thread " + Thread.currentThread().getId() + ": Transfer failed - " + e.getMessage());
-                    return false;
-                }
-            }));
+    private static void bulkImport() {
+        System.out.println("📥 Bulk Import 📥");
+        System.out.println("-----------------------------------");
+        System.out.println("Customers: customerId,name,phone,email,password,dob(yyyy-MM-dd)");
+        System.out.println("Accounts:  customerId,type,openingBalance[,accountNo]");
+        System.out.print("Enter customers file (blank to skip): ");
+        String customers = sc.nextLine().trim();
+        System.out.print("Enter accounts file (blank to skip): ");
+        String accounts = sc.nextLine().trim();
+        if (customers.isEmpty() && accounts.isEmpty()) {
+            System.out.println("❌ Nothing to import.");
+            return;
         }
+        Path customersFile = customers.isEmpty() ? null : Path.of(customers);
+        Path accountsFile = accounts.isEmpty() ? null : Path.of(accounts);
+        Path reportFile = (customersFile != null ? customersFile : accountsFile).resolveSibling("import.errors.csv");
+
+        try (BulkLoader loader = new BulkLoader(bank)) {
+            OnboardingReport report = loader.load(customersFile, accountsFile);
+            System.out.println("✅ Import complete: " + report);
+            if (!report.getErrors().isEmpty()) {
+                report.writeTo(reportFile);
+                System.out.println("📄 Rejected records written to " + reportFile);
+            }
+        } catch (IOException e) {
+            System.out.println("❌ Could not import: " + e.getMessage());
+        }
+    }
 
-
-        System.out.println("Waiting for all transfers to complete...");
+    private static void runLoadSimulation() {
+        System.out.println("Load Simulation 🚦");
+        System.out.println("------------------------------------");
+        System.out.println("Settings: customers, accounts, balance, skew, hot, mix, rate, concurrency, duration");
+        System.out.print("Enter settings as key=value pairs (blank for defaults): ");
+        String line = sc.nextLine().trim();
         try {
-            for (Future<Boolean> future : futures) {
-                future.get();
-            }
-        } catch (Exception e) {
-            System.out.println("An error occurred during concurrent transfers: " + e.getMessage());
+            simulateLoad(LoadConfig.parse(line.isEmpty() ? new String[0] : line.split("\\s+")));
+        } catch (IllegalArgumentException e) {
+            System.out.println("❌ Error: " + e.getMessage());
         }
+    }
 
-        System.out.println("✓ All transfers completed.");
-        System.out.println("Final Balance 1: ₹" + acc1.getBalance());
-        System.out.println("Final Balance 2: ₹" + acc2.getBalance());
+    // Runs against a throwaway in-memory bank so the simulation never touches real accounts.
+    private static void simulateLoad(LoadConfig config) {
+        System.out.println("Running " + config);
+        try (BankService scratch = new BankService()) {
+            LoadReport report = new LoadGenerator(scratch, config, executor).run();
+            System.out.println(report);
+        } catch (IOException e) {
+            System.out.println("❌ Error: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("❌ Load simulation interrupted.");
+        }
     }
 
     private static void runDemoMode() {
@@ -531,53 +684,47 @@ public class Main {
         displayDemo();
         System.out.println("✓ Polymorphism demonstrated.");
 
-        System.out.println("7. Simulating concurrent transfers...");
-        simulateConcurrentTransfers();
-        System.out.println("✓ Concurrent transfers simulation completed.");
+        System.out.println("7. Simulating concurrent load...");
+        simulateLoad(LoadConfig.parse("customers=10", "accounts=20", "concurrency=16", "duration=2"));
+        System.out.println("✓ Concurrent load simulation completed.");
 
         System.out.println("=== Demo completed successfully! ===");
     }
 
     private static void registerDemoCustomers() {
-        customers.put("CUST001", new Customer("CUST001", "Alok Sharma", "alok@hdfc.com", "9876543210", "Alok@123", LocalDate.of(1990, 5, 15)));
-        customers.put("CUST002", new Customer("CUST002", "Priya Singh", "priya@hdfc.com", "9988776655", "Priya#456", LocalDate.of(1985, 8, 20)));
+        bank.registerCustomer(new Customer("CUST001", "Alok Sharma", "9876543210", "alok@hdfc.com", "Alok@123", LocalDate.of(1990, 5, 15)));
+        bank.registerCustomer(new Customer("CUST002", "Priya Singh", "9988776655", "priya@hdfc.com", "Priya#456", LocalDate.of(1985, 8, 20)));
     }
 
     private static void createDemoAccounts() {
         String accNo1 = "SAVINGS_1";
         String accNo2 = "CURRENT_2";
 
-        Account savingsAccount = new SavingAccount(accNo1, "CUST001", new BigDecimal("2500.00"));
-        Account currentAccount = new CurrentAccount(accNo2, "CUST002", new BigDecimal("5000.00"));
-
-        accounts.put(accNo1, savingsAccount);
-        accounts.put(accNo2, currentAccount);
+        if (bank.findAccount(accNo1) == null) {
+            bank.openAccount(accNo1, "CUST001", AccountType.SAVINGS, new BigDecimal("2500.00"));
+        }
+        if (bank.findAccount(accNo2) == null) {
+            bank.openAccount(accNo2, "CUST002", AccountType.CURRENT, new BigDecimal("5000.00"));
+        }
     }
 
     private static void performDemoTransactions() {
 
-        transactions.clear();
-
-        Account savingsAcc = accounts.get("SAVINGS_1");
-        Account currentAcc = accounts.get("CURRENT_2");
+        Account savingsAcc = bank.findAccount("SAVINGS_1");
+        Account currentAcc = bank.findAccount("CURRENT_2");
 
         try {
             // Deposit
-            savingsAcc.deposit(new BigDecimal("1000"));
-            transactions.add(new Transaction(generateTransactionId(), new BigDecimal("1000"), savingsAcc.getAccoutNo(), LocalDateTime.now(), TransactionType.DEPOSIT));
+            bank.deposit(savingsAcc.getAccoutNo(), new BigDecimal("1000"));
             System.out.println("✓ Deposit successful: +₹1000 to " + savingsAcc.getAccoutNo());
 
             // Withdraw
-            currentAcc.withdraw(new BigDecimal("500"));
-            transactions.add(new Transaction(generateTransactionId(), new BigDecimal("500"), currentAcc.getAccoutNo(), LocalDateTime.now(), TransactionType.WITHDRAW));
+            bank.withdraw(currentAcc.getAccoutNo(), new BigDecimal("500"));
             System.out.println("✓ Withdrawal successful: -₹500 from " + currentAcc.getAccoutNo());
 
             // Transfer
             BigDecimal transferAmount = new BigDecimal("800");
-            savingsAcc.withdraw(transferAmount);
-            currentAcc.deposit(transferAmount);
-            transactions.add(new Transaction(generateTransactionId(), transferAmount, savingsAcc.getAccoutNo(), LocalDateTime.now(), TransactionType.TRANSFER, currentAcc.getAccoutNo()));
-            transactions.add(new Transaction(generateTransactionId(), transferAmount, currentAcc.getAccoutNo(), LocalDateTime.now(), TransactionType.TRANSFER, savingsAcc.getAccoutNo()));
+            bank.transfer(savingsAcc.getAccoutNo(), currentAcc.getAccoutNo(), transferAmount);
             System.out.println("✓ Transfer successful: ₹" + transferAmount + " from " + savingsAcc.getAccoutNo() + " to " + currentAcc.getAccoutNo());
 
         } catch (InsufficientBalance | InvalidAccountException e) {
@@ -592,17 +739,15 @@ public class Main {
 
     private static void viewHistoryForAccount(String accountNo) {
         System.out.println("--- Transaction History for Account " + accountNo + " ---");
-        List<Transaction> accountTransactions = transactions.stream()
-                .filter(t -> t.getAccountNo().equals(accountNo) || (t.getToAccountNo() != null && t.getToAccountNo().equals(accountNo)))
-                .sorted(Comparator.comparing(Transaction::getTimestamp))
-                .toList();
+        HistoryQuery query = new HistoryQuery(accountNo, null, null, null, SortDirection.OLDEST_FIRST, HISTORY_PAGE_SIZE);
+        HistoryPage page = bank.queryHistory(query, null);
 
-        if (accountTransactions.isEmpty()) {
+        if (page.getTransactions().isEmpty()) {
             System.out.println("ℹ️ No transactions found.");
             return;
         }
 
-        for (Transaction transaction : accountTransactions) {
+        for (Transaction transaction : pages(query, page)) {
             String typeIcon = "";
             String amountText = "";
             String fromToInfo = "";
@@ -627,6 +772,14 @@ public class Main {
                         typeIcon = "➖";
                         amountText = "Withdrawal: -₹" + transaction.getAmount();
                         break;
+                    case INTEREST:
+                        typeIcon = "💰";
+                        amountText = "Interest: +₹" + transaction.getAmount();
+                        break;
+                    case PENALTY:
+                        typeIcon = "⚠️";
+                        amountText = "Penalty: -₹" + transaction.getAmount();
+                        break;
                     default:
                         typeIcon = "❔";
                         amountText = "Amount: ₹" + transaction.getAmount();
@@ -637,8 +790,33 @@ public class Main {
         }
     }
 
+    /** Walks every page of {@code query}, starting from its {@code first} page, fetching each only when reached. */
+    private static Iterable<Transaction> pages(HistoryQuery query, HistoryPage first) {
+        return () -> new Iterator<Transaction>() {
+            private HistoryPage page = first;
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == page.getTransactions().size() && page.hasMore()) {
+                    page = bank.queryHistory(query, page.getNextCursor());
+                    next = 0;
+                }
+                return next < page.getTransactions().size();
+            }
+
+            @Override
+            public Transaction next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.getTransactions().get(next++);
+            }
+        };
+    }
+
     private static void displayAccountDetails() {
-        accounts.values().forEach(account -> {
+        bank.getAccounts().forEach(account -> {
             System.out.println("--- " + (account instanceof SavingAccount ? "Savings Account" : "Current Account") + " ---");
             System.out.println("Account Number: " + account.getAccoutNo());
             System.out.println("Current Balance: ₹" + account.getBalance());
@@ -649,8 +827,8 @@ public class Main {
         Account savingsAccount = new SavingAccount("POLY_SAVINGS", "CUST_POLY", new BigDecimal("1000"));
         Account currentAccount = new CurrentAccount("POLY_CURRENT", "CUST_POLY", new BigDecimal("1000"));
 
-        BigDecimal interest1 = savingsAccount.calculateInterest();
-        BigDecimal interest2 = currentAccount.calculateInterest();
+        Money interest1 = savingsAccount.calculateInterest();
+        Money interest2 = currentAccount.calculateInterest();
 
         System.out.println("Savings Account Interest Rate: 4.5%, Min Balance: ₹1000");
         System.out.println("Current Account Interest Rate: 0%, Min Balance: ₹0");
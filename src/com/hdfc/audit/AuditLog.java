@@ -0,0 +1,398 @@
+package com.hdfc.audit;
+
+import com.hdfc.Entities.Money;
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.AccountType;
+import com.hdfc.enums.AdmissionPolicy;
+import com.hdfc.enums.AuditEventType;
+import com.hdfc.enums.OperationType;
+import com.hdfc.enums.RejectionReason;
+import com.hdfc.metrics.BankMetrics;
+import com.hdfc.persistence.JournalEntry;
+import com.hdfc.util.IdGenerator;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of committed state changes and rejected operations, one text
+ * line per event. Producers only copy an event's fields into a preallocated
+ * slot of a bounded ring (a CAS to claim it, a release store to publish it),
+ * so an operation pays for neither formatting nor I/O. A single daemon thread
+ * drains the ring in batches of up to {@value #BATCH}, formats them and
+ * writes and flushes each batch at once.
+ *
+ * When the ring is full the {@link AdmissionPolicy} decides: BLOCK waits for
+ * the writer, REJECT drops the event and TIMEOUT waits up to the timeout and
+ * then drops it. Dropped events are counted. If writing fails the log stops
+ * writing and counts everything after as dropped, so producers never hang on
+ * a dead writer.
+ */
+public class AuditLog implements AutoCloseable {
+
+    private static final int BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long NO_AMOUNT = Long.MIN_VALUE;
+    // Tail once the writer has stopped taking claims.
+    private static final long CLOSED = -1;
+    private static final AuditEventType[] TYPES = AuditEventType.values();
+    private static final OperationType[] OPERATIONS = OperationType.values();
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    private static final RejectionReason[] REASONS = RejectionReason.values();
+    private static final DateTimeFormatter SECONDS = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    // Slot i holds the event published with sequence number sequences[i] - 1;
+    // the writer hands it back by setting it to the sequence one lap ahead.
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final byte[] types;
+    private final byte[] codes;      // the operation of a REJECTED event, the account type of ACCOUNT_OPENED
+    private final byte[] reasons;
+    private final long[] times;
+    private final long[] ids;
+    private final long[] amounts;
+    private final String[] subjects; // account number, or customer id for CUSTOMER_REGISTERED
+    private final String[] others;   // receiving account, or owner for ACCOUNT_OPENED
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    private final Writer out;
+    private final boolean ownsOut;
+    private final AdmissionPolicy policy;
+    private final long timeoutNanos;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile long written;
+    private volatile boolean failed;
+    private volatile boolean closed;
+
+    // Writer thread only.
+    private final StringBuilder batch = new StringBuilder(BATCH * 96);
+    private long lastSecond = Long.MIN_VALUE;
+    private String secondText;
+
+    /** Appends to {@code file}, creating it if needed; closing the log closes the file. */
+    public AuditLog(Path file, int capacity, AdmissionPolicy policy, Duration timeout) throws IOException {
+        this(Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+                true, capacity, policy, timeout);
+    }
+
+    /** Writes to {@code out}, which the caller keeps and closes. {@code capacity} is rounded up to a power of two. */
+    public AuditLog(Writer out, int capacity, AdmissionPolicy policy, Duration timeout) {
+        this(out, false, capacity, policy, timeout);
+    }
+
+    private AuditLog(Writer out, boolean ownsOut, int capacity, AdmissionPolicy policy, Duration timeout) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.types = new byte[this.capacity];
+        this.codes = new byte[this.capacity];
+        this.reasons = new byte[this.capacity];
+        this.times = new long[this.capacity];
+        this.ids = new long[this.capacity];
+        this.amounts = new long[this.capacity];
+        this.subjects = new String[this.capacity];
+        this.others = new String[this.capacity];
+        this.out = out;
+        this.ownsOut = ownsOut;
+        this.policy = policy;
+        this.timeoutNanos = timeout.toNanos();
+        this.writer = new Thread(this::run, "hdfc-audit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Opens {@code hdfc.audit.file} ("-" for standard output), or returns null
+     * when it is unset. The ring holds {@code hdfc.audit.capacity} events
+     * (default 65536); {@code hdfc.audit.admission} (default BLOCK) and
+     * {@code hdfc.audit.admissionTimeoutMillis} (default 10) govern a full ring.
+     */
+    public static AuditLog fromSystemProperties() {
+        String file = System.getProperty("hdfc.audit.file", "");
+        if (file.isBlank()) {
+            return null;
+        }
+        int capacity = Integer.getInteger("hdfc.audit.capacity", 1 << 16);
+        AdmissionPolicy policy = AdmissionPolicy.valueOf(System.getProperty("hdfc.audit.admission", "BLOCK").toUpperCase(Locale.ROOT));
+        Duration timeout = Duration.ofMillis(Long.getLong("hdfc.audit.admissionTimeoutMillis", 10L));
+        if (file.equals("-")) {
+            return new AuditLog(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), capacity, policy, timeout);
+        }
+        try {
+            return new AuditLog(Path.of(file), capacity, policy, timeout);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open audit log " + file, e);
+        }
+    }
+
+    /** Logs a committed journal entry. Movements are stamped with their transaction id's time. */
+    public void committed(JournalEntry entry) {
+        switch (entry.getType()) {
+            case CUSTOMER_REGISTERED:
+                offer(AuditEventType.CUSTOMER_REGISTERED, 0, null, System.currentTimeMillis(), 0, NO_AMOUNT, entry.getCustomerId(), null);
+                break;
+            case ACCOUNT_OPENED:
+                offer(AuditEventType.ACCOUNT_OPENED, entry.getAccountType().ordinal(), null, System.currentTimeMillis(), 0,
+                        Money.of(entry.getAmount()).getMinor(), entry.getAccountNo(), entry.getCustomerId());
+                break;
+            default:
+                Transaction transaction = entry.getTransaction();
+                offer(typeOf(transaction), 0, null, IdGenerator.timestampOf(transaction.getId()), transaction.getId(),
+                        transaction.getAmountMinor(), transaction.getAccountNo(), transaction.getToAccountNo());
+        }
+    }
+
+    /** Logs an operation that was refused; {@code toAccountNo} and {@code amount} may be null. */
+    public void rejected(OperationType operation, String accountNo, String toAccountNo, Money amount, Throwable error) {
+        offer(AuditEventType.REJECTED, operation.ordinal(), BankMetrics.reasonOf(error), System.currentTimeMillis(), 0,
+                amount == null ? NO_AMOUNT : amount.getMinor(), accountNo, toAccountNo);
+    }
+
+    /** Events written so far. */
+    public long getWritten() {
+        return written;
+    }
+
+    /** Events dropped because the ring was full, the log was closed or writing failed. */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public AdmissionPolicy getPolicy() {
+        return policy;
+    }
+
+    /** Writes every event already offered, then stops the writer; later events are dropped. */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ownsOut) {
+            out.close();
+        } else if (!failed) {
+            out.flush();
+        }
+    }
+
+    private void offer(AuditEventType type, int code, RejectionReason reason, long time, long id, long amount, String subject, String other) {
+        long sequence = closed || failed ? -1 : claim();
+        if (sequence < 0) {
+            dropped.increment();
+            return;
+        }
+        int index = (int) (sequence & mask);
+        types[index] = (byte) type.ordinal();
+        codes[index] = (byte) code;
+        reasons[index] = (byte) (reason == null ? -1 : reason.ordinal());
+        times[index] = time;
+        ids[index] = id;
+        amounts[index] = amount;
+        subjects[index] = subject;
+        others[index] = other;
+        sequences.setRelease(index, sequence + 1);
+    }
+
+    /** The claimed sequence number, or -1 if the policy says to drop. */
+    private long claim() {
+        long sequence = tryClaim();
+        if (sequence >= 0 || policy == AdmissionPolicy.REJECT) {
+            return sequence;
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (sequence < 0) {
+            if (closed || failed || (policy == AdmissionPolicy.TIMEOUT && System.nanoTime() - deadline >= 0)) {
+                return -1;
+            }
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+            sequence = tryClaim();
+        }
+        return sequence;
+    }
+
+    private long tryClaim() {
+        long sequence = tail.get();
+        while (true) {
+            if (sequence == CLOSED) {
+                return -1;
+            }
+            long lag = sequences.getAcquire((int) (sequence & mask)) - sequence;
+            if (lag == 0) {
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    return sequence;
+                }
+                sequence = tail.get();
+            } else if (lag < 0) {
+                return -1;
+            } else {
+                sequence = tail.get();
+            }
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+        // Nothing can be claimed after this, and whatever already was is
+        // published as soon as its producer has copied the fields in.
+        long end = tail.getAndSet(CLOSED);
+        while (head < end) {
+            if (drain() == 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private int drain() {
+        int count = 0;
+        while (count < BATCH) {
+            int index = (int) (head & mask);
+            if (sequences.getAcquire(index) != head + 1) {
+                break;
+            }
+            if (!failed) {
+                format(index);
+            }
+            subjects[index] = null;
+            others[index] = null;
+            sequences.setRelease(index, head + capacity);
+            head++;
+            count++;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        if (failed) {
+            dropped.add(count);
+            return count;
+        }
+        try {
+            out.append(batch);
+            out.flush();
+            written += count;
+        } catch (IOException e) {
+            failed = true;
+            dropped.add(count);
+            System.err.println("Audit log stopped: " + e.getMessage());
+        }
+        batch.setLength(0);
+        return count;
+    }
+
+    private void format(int index) {
+        AuditEventType type = TYPES[types[index]];
+        appendTime(times[index]);
+        batch.append(' ').append(type.name());
+        switch (type) {
+            case CUSTOMER_REGISTERED:
+                batch.append(" customer=").append(subjects[index]);
+                break;
+            case ACCOUNT_OPENED:
+                batch.append(" account=").append(subjects[index])
+                        .append(" customer=").append(others[index])
+                        .append(" type=").append(ACCOUNT_TYPES[codes[index]].name());
+                appendAmount(" opening=", amounts[index]);
+                break;
+            case REJECTED:
+                batch.append(" operation=").append(OPERATIONS[codes[index]].name())
+                        .append(" reason=").append(REASONS[reasons[index]].name());
+                appendAccounts(index);
+                appendAmount(" amount=", amounts[index]);
+                break;
+            default:
+                batch.append(" txn=").append(IdGenerator.TRANSACTION_PREFIX).append(ids[index]);
+                appendAccounts(index);
+                appendAmount(" amount=", amounts[index]);
+        }
+        batch.append('\n');
+    }
+
+    private void appendAccounts(int index) {
+        if (subjects[index] != null) {
+            batch.append(" account=").append(subjects[index]);
+        }
+        if (others[index] != null) {
+            batch.append(" to=").append(others[index]);
+        }
+    }
+
+    // Lines within one second share the formatted seconds.
+    private void appendTime(long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        if (second != lastSecond) {
+            lastSecond = second;
+            secondText = SECONDS.format(Instant.ofEpochSecond(second));
+        }
+        int fraction = Math.floorMod(millis, 1000);
+        batch.append(secondText).append('.');
+        if (fraction < 100) {
+            batch.append(fraction < 10 ? "00" : "0");
+        }
+        batch.append(fraction).append('Z');
+    }
+
+    private void appendAmount(String label, long minor) {
+        if (minor == NO_AMOUNT) {
+            return;
+        }
+        batch.append(label);
+        if (minor < 0) {
+            batch.append('-');
+            minor = -minor;
+        }
+        long fraction = minor % 100;
+        batch.append(minor / 100).append('.').append(fraction < 10 ? "0" : "").append(fraction);
+    }
+
+    private static AuditEventType typeOf(Transaction transaction) {
+        switch (transaction.getType()) {
+            case DEPOSIT:
+                return AuditEventType.DEPOSIT;
+            case WITHDRAW:
+                return AuditEventType.WITHDRAW;
+            case INTEREST:
+                return AuditEventType.INTEREST;
+            case PENALTY:
+                return AuditEventType.PENALTY;
+            default:
+                return AuditEventType.TRANSFER;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.hdfc.batch;
+
+import com.hdfc.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * One money movement in a batch. In a batch file each instruction is a line
+ * of comma-separated fields:
+ * <pre>
+ * DEPOSIT,&lt;account&gt;,&lt;amount&gt;
+ * WITHDRAW,&lt;account&gt;,&lt;amount&gt;
+ * TRANSFER,&lt;from account&gt;,&lt;to account&gt;,&lt;amount&gt;
+ * </pre>
+ * Blank lines and lines starting with {@code #} are ignored.
+ */
+public final class BatchInstruction {
+
+    private final TransactionType type;
+    private final String accountNo;
+    private final String toAccountNo;
+    private final BigDecimal amount;
+
+    private BatchInstruction(TransactionType type, String accountNo, String toAccountNo, BigDecimal amount) {
+        this.type = type;
+        this.accountNo = accountNo;
+        this.toAccountNo = toAccountNo;
+        this.amount = amount;
+    }
+
+    public static BatchInstruction deposit(String accountNo, BigDecimal amount) {
+        return new BatchInstruction(TransactionType.DEPOSIT, accountNo, null, amount);
+    }
+
+    public static BatchInstruction withdraw(String accountNo, BigDecimal amount) {
+        return new BatchInstruction(TransactionType.WITHDRAW, accountNo, null, amount);
+    }
+
+    public static BatchInstruction transfer(String fromAccountNo, String toAccountNo, BigDecimal amount) {
+        return new BatchInstruction(TransactionType.TRANSFER, fromAccountNo, toAccountNo, amount);
+    }
+
+    /** Parses one batch file line; returns null for blank and comment lines. */
+    public static BatchInstruction parse(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        String[] fields = trimmed.split(",", -1);
+        TransactionType type;
+        try {
+            type = TransactionType.valueOf(fields[0].trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown instruction: " + fields[0].trim());
+        }
+        if (type == TransactionType.INTEREST || type == TransactionType.PENALTY) {
+            throw new IllegalArgumentException("Unknown instruction: " + fields[0].trim());
+        }
+        int expected = type == TransactionType.TRANSFER ? 4 : 3;
+        if (fields.length != expected) {
+            throw new IllegalArgumentException(type.name() + " needs " + (expected - 1) + " fields, got " + (fields.length - 1));
+        }
+        BigDecimal amount = parseAmount(fields[expected - 1].trim());
+        if (type == TransactionType.TRANSFER) {
+            return transfer(fields[1].trim(), fields[2].trim(), amount);
+        }
+        return new BatchInstruction(type, fields[1].trim(), null, amount);
+    }
+
+    private static BigDecimal parseAmount(String text) {
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount: " + text);
+        }
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public String getAccountNo() {
+        return accountNo;
+    }
+
+    /** Destination of a transfer, otherwise null. */
+    public String getToAccountNo() {
+        return toAccountNo;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return type.name() + "," + accountNo + (toAccountNo == null ? "" : "," + toAccountNo) + "," + amount.toPlainString();
+    }
+}
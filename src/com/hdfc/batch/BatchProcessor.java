@@ -0,0 +1,235 @@
+package com.hdfc.batch;
+
+import com.hdfc.Entities.Transaction;
+import com.hdfc.Exception.InsufficientBalance;
+import com.hdfc.Exception.InvalidAccountException;
+import com.hdfc.Exception.InvalidDepositValue;
+import com.hdfc.enums.TransactionType;
+import com.hdfc.service.BankService;
+import com.hdfc.util.ChunkPipeline;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Runs a stream of instructions against a {@link BankService} through a
+ * {@link ChunkPipeline}. Input is taken a chunk at a time, and three chunks
+ * are in flight at once: the next one is parsed and validated in parallel,
+ * the current one is applied, and the previous one waits for its journal
+ * commit.
+ *
+ * Within a chunk, instructions that share an account, directly or through a
+ * transfer, form a group that one worker applies in input order; separate
+ * groups run in parallel. Every account therefore sees its instructions in
+ * input order, and a whole chunk shares a few fsyncs instead of paying one
+ * per instruction.
+ */
+public class BatchProcessor implements AutoCloseable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private final BankService bank;
+    private final int chunkSize;
+    private final ChunkPipeline pipeline;
+
+    public BatchProcessor(BankService bank) {
+        this(bank, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public BatchProcessor(BankService bank, int parallelism, int chunkSize) {
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("parallelism and chunkSize must be positive");
+        }
+        this.bank = bank;
+        this.chunkSize = chunkSize;
+        this.pipeline = new ChunkPipeline("hdfc-batch", parallelism);
+    }
+
+    /** Runs every line of {@code file}; results are numbered by line. */
+    public BatchReport process(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            return run(reader.lines().iterator(), BatchInstruction::parse);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public BatchReport process(Iterator<BatchInstruction> instructions) {
+        return run(instructions, Function.identity());
+    }
+
+    @Override
+    public void close() {
+        pipeline.close();
+    }
+
+    private <T> BatchReport run(Iterator<T> source, Function<T, BatchInstruction> parser) {
+        long began = System.nanoTime();
+        List<BatchResult> results = new ArrayList<>();
+        try {
+            pipeline.run(new ChunkPipeline.Stages<Chunk<T>>() {
+                long nextSequence = 1;
+
+                @Override
+                public Chunk<T> read() {
+                    if (!source.hasNext()) {
+                        return null;
+                    }
+                    List<T> items = new ArrayList<>(chunkSize);
+                    while (items.size() < chunkSize && source.hasNext()) {
+                        items.add(source.next());
+                    }
+                    Chunk<T> chunk = new Chunk<>(nextSequence, items, parser);
+                    nextSequence += items.size();
+                    return chunk;
+                }
+
+                @Override
+                public int size(Chunk<T> chunk) {
+                    return chunk.size();
+                }
+
+                @Override
+                public void prepare(Chunk<T> chunk, int i) {
+                    chunk.prepare(i);
+                }
+
+                @Override
+                public void apply(Chunk<T> chunk) {
+                    BatchProcessor.this.apply(chunk);
+                }
+
+                @Override
+                public void collect(Chunk<T> chunk) {
+                    chunk.collect(results);
+                }
+            });
+        } catch (IOException e) {
+            // Nothing in the stages reads from a file.
+            throw new UncheckedIOException(e);
+        }
+        return new BatchReport(results, System.nanoTime() - began);
+    }
+
+    private void validate(BatchInstruction instruction) {
+        BigDecimal amount = instruction.getAmount();
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidDepositValue("Amount should be greater than zero");
+        }
+        if (amount.stripTrailingZeros().scale() > 2) {
+            throw new InvalidDepositValue("Amount cannot have more than two decimal places");
+        }
+        if (bank.findAccount(instruction.getAccountNo()) == null) {
+            throw new InvalidAccountException("Account not found: " + instruction.getAccountNo());
+        }
+        if (instruction.getType() == TransactionType.TRANSFER) {
+            if (bank.findAccount(instruction.getToAccountNo()) == null) {
+                throw new InvalidAccountException("Account not found: " + instruction.getToAccountNo());
+            }
+            if (instruction.getAccountNo().equals(instruction.getToAccountNo())) {
+                throw new InvalidAccountException("Cannot transfer to the same account");
+            }
+        }
+    }
+
+    /** Applies the chunk in account groups spread over the workers, and waits. */
+    private void apply(Chunk<?> chunk) {
+        pipeline.inGroups(chunk.size(), i -> {
+            BatchInstruction instruction = chunk.instructions[i];
+            return instruction == null ? null : new Object[] {instruction.getAccountNo(), instruction.getToAccountNo()};
+        }, chunk::apply).join();
+    }
+
+    private CompletableFuture<Transaction> submit(BatchInstruction instruction) {
+        switch (instruction.getType()) {
+            case DEPOSIT:
+                return bank.depositAsync(instruction.getAccountNo(), instruction.getAmount());
+            case WITHDRAW:
+                return bank.withdrawAsync(instruction.getAccountNo(), instruction.getAmount());
+            case TRANSFER:
+                return bank.transferAsync(instruction.getAccountNo(), instruction.getToAccountNo(), instruction.getAmount());
+            default:
+                throw new IllegalArgumentException("Unsupported instruction: " + instruction.getType());
+        }
+    }
+
+    /**
+     * One chunk's instructions and outcomes, indexed by position. Each slot is
+     * written by a single worker; the stage joins publish them to the next.
+     */
+    private final class Chunk<T> {
+        final long firstSequence;
+        final List<T> items;
+        final Function<T, BatchInstruction> parser;
+        final BatchInstruction[] instructions;
+        final BatchResult[] outcomes;
+        final CompletableFuture<Transaction>[] durable;
+
+        @SuppressWarnings("unchecked")
+        Chunk(long firstSequence, List<T> items, Function<T, BatchInstruction> parser) {
+            int size = items.size();
+            this.firstSequence = firstSequence;
+            this.items = items;
+            this.parser = parser;
+            this.instructions = new BatchInstruction[size];
+            this.outcomes = new BatchResult[size];
+            this.durable = (CompletableFuture<Transaction>[]) new CompletableFuture<?>[size];
+        }
+
+        int size() {
+            return instructions.length;
+        }
+
+        void prepare(int i) {
+            BatchInstruction instruction = null;
+            try {
+                instruction = parser.apply(items.get(i));
+                if (instruction != null) {
+                    validate(instruction);
+                    instructions[i] = instruction;
+                }
+            } catch (RuntimeException e) {
+                outcomes[i] = BatchResult.rejected(firstSequence + i, instruction, e.getMessage());
+            }
+        }
+
+        void apply(int i) {
+            try {
+                durable[i] = submit(instructions[i]);
+            } catch (RuntimeException e) {
+                outcomes[i] = BatchResult.rejected(firstSequence + i, instructions[i], e.getMessage());
+            }
+        }
+
+        /** Waits for the chunk's journal commits and adds its results in input order. */
+        void collect(List<BatchResult> results) {
+            for (int i = 0; i < size(); i++) {
+                if (outcomes[i] != null) {
+                    results.add(outcomes[i]);
+                } else if (durable[i] != null) {
+                    try {
+                        results.add(BatchResult.applied(firstSequence + i, instructions[i], durable[i].join()));
+                    } catch (CompletionException e) {
+                        // A sequenced bank reports rejections through the future rather than throwing.
+                        Throwable cause = e.getCause();
+                        if (cause instanceof InsufficientBalance || cause instanceof InvalidDepositValue || cause instanceof InvalidAccountException) {
+                            results.add(BatchResult.rejected(firstSequence + i, instructions[i], cause.getMessage()));
+                        } else {
+                            results.add(BatchResult.failed(firstSequence + i, instructions[i], cause.getMessage()));
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
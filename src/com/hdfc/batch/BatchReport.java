@@ -0,0 +1,73 @@
+package com.hdfc.batch;
+
+import com.hdfc.enums.BatchStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/** Per-instruction results of a batch run, in input order, and how long it took. */
+public final class BatchReport {
+
+    private final List<BatchResult> results;
+    private final Map<BatchStatus, Long> counts = new EnumMap<>(BatchStatus.class);
+    private final long elapsedNanos;
+
+    BatchReport(List<BatchResult> results, long elapsedNanos) {
+        this.results = Collections.unmodifiableList(results);
+        this.elapsedNanos = elapsedNanos;
+        for (BatchStatus status : BatchStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (BatchResult result : results) {
+            counts.merge(result.getStatus(), 1L, Long::sum);
+        }
+    }
+
+    public List<BatchResult> getResults() {
+        return results;
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    public long count(BatchStatus status) {
+        return counts.get(status);
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** Instructions processed per second, from first read to last commit. */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : results.size() / (elapsedNanos / 1e9);
+    }
+
+    /** Writes one CSV line per instruction: sequence, status, transaction id, message. */
+    public void writeTo(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("sequence,status,transaction_id,message");
+            out.newLine();
+            for (BatchResult result : results) {
+                out.write(result.getSequence() + "," + result.getStatus().name() + ","
+                        + (result.getTransaction() == null ? "" : result.getTransaction().getTransactionId()) + ","
+                        + (result.getMessage() == null ? "" : '"' + result.getMessage().replace("\"", "\"\"") + '"'));
+                out.newLine();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d instruction(s): %d applied, %d rejected, %d failed in %.2fs (%,.0f instructions/sec)",
+                results.size(), count(BatchStatus.APPLIED), count(BatchStatus.REJECTED), count(BatchStatus.FAILED),
+                elapsedNanos / 1e9, getThroughput());
+    }
+}
@@ -0,0 +1,70 @@
+package com.hdfc.batch;
+
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.BatchStatus;
+
+/**
+ * Outcome of one instruction. {@code sequence} is its 1-based position in the
+ * input (the line number, for a file). Rejected instructions never touched a
+ * balance; failed ones were applied but could not be journalled.
+ */
+public final class BatchResult {
+
+    private final long sequence;
+    private final BatchInstruction instruction;
+    private final BatchStatus status;
+    private final Transaction transaction;
+    private final String message;
+
+    private BatchResult(long sequence, BatchInstruction instruction, BatchStatus status, Transaction transaction, String message) {
+        this.sequence = sequence;
+        this.instruction = instruction;
+        this.status = status;
+        this.transaction = transaction;
+        this.message = message;
+    }
+
+    static BatchResult applied(long sequence, BatchInstruction instruction, Transaction transaction) {
+        return new BatchResult(sequence, instruction, BatchStatus.APPLIED, transaction, null);
+    }
+
+    static BatchResult rejected(long sequence, BatchInstruction instruction, String message) {
+        return new BatchResult(sequence, instruction, BatchStatus.REJECTED, null, message);
+    }
+
+    static BatchResult failed(long sequence, BatchInstruction instruction, String message) {
+        return new BatchResult(sequence, instruction, BatchStatus.FAILED, null, message);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /** Null when the input could not be parsed. */
+    public BatchInstruction getInstruction() {
+        return instruction;
+    }
+
+    public BatchStatus getStatus() {
+        return status;
+    }
+
+    /** The ledger row written, for applied instructions. */
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "sequence=" + sequence +
+                ", status=" + status +
+                (transaction != null ? ", transactionId='" + transaction.getTransactionId() + '\'' : "") +
+                (message != null ? ", message='" + message + '\'' : "") +
+                '}';
+    }
+}
@@ -0,0 +1,23 @@
+package com.hdfc.enums;
+
+public enum AccrualMethod {
+
+    DAILY_BALANCE("Daily balance"),
+    AVERAGE_BALANCE("Average balance");
+
+
+    private final String displayName;
+
+    AccrualMethod(String displayName) {
+        this.displayName = displayName;
+    }
+    public String getDisplayName()
+    {
+        return displayName;
+    }
+    @Override
+    public String toString()
+    {
+        return displayName;
+    }
+}
@@ -0,0 +1,24 @@
+package com.hdfc.enums;
+
+public enum AdmissionPolicy {
+
+    BLOCK("Block until a slot frees up"),
+    REJECT("Reject when full"),
+    TIMEOUT("Wait briefly, then reject");
+
+
+    private final String displayName;
+
+    AdmissionPolicy(String displayName) {
+        this.displayName = displayName;
+    }
+    public String getDisplayName()
+    {
+        return displayName;
+    }
+    @Override
+    public String toString()
+    {
+        return displayName;
+    }
+}
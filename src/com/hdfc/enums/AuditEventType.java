@@ -0,0 +1,28 @@
+package com.hdfc.enums;
+
+public enum AuditEventType {
+    CUSTOMER_REGISTERED("Customer Registered"),
+    ACCOUNT_OPENED("Account Opened"),
+    DEPOSIT("Deposit"),
+    WITHDRAW("Withdraw"),
+    TRANSFER("Transfer"),
+    INTEREST("Interest"),
+    PENALTY("Penalty"),
+    REJECTED("Rejected");
+    private final String displayName;
+
+    AuditEventType(String displayName)
+    {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName()
+    {
+        return displayName;
+    }
+    @Override
+    public String toString()
+    {
+        return  displayName;
+    }
+}
@@ -0,0 +1,23 @@
+package com.hdfc.enums;
+
+public enum BalanceMode {
+
+    STANDARD("Standard"),
+    HOT("Hot (striped)");
+
+
+    private final String displayName;
+
+    BalanceMode(String displayName) {
+        this.displayName = displayName;
+    }
+    public String getDisplayName()
+    {
+        return displayName;
+    }
+    @Override
+    public String toString()
+    {
+        return displayName;
+    }
+}
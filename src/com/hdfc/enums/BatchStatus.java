@@ -0,0 +1,24 @@
+package com.hdfc.enums;
+
+public enum BatchStatus {
+
+    APPLIED("Applied"),
+    REJECTED("Rejected"),
+    FAILED("Failed");
+
+
+    private final String displayName;
+
+    BatchStatus(String displayName) {
+        this.displayName = displayName;
+    }
+    public String getDisplayName()
+    {
+        return displayName;
+    }
+    @Override
+    public String toString()
+    {
+        return displayName;
+    }
+}
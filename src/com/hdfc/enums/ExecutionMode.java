@@ -0,0 +1,23 @@
+package com.hdfc.enums;
+
+public enum ExecutionMode {
+
+    LOCKING("Locking"),
+    SEQUENCED("Sequenced (single writer)");
+
+
+    private final String displayName;
+
+    ExecutionMode(String displayName) {
+        this.displayName = displayName;
+    }
+    public String getDisplayName()
+    {
+        return displayName;
+    }
+    @Override
+    public String toString()
+    {
+        return displayName;
+    }
+}
@@ -0,0 +1,29 @@
+package com.hdfc.enums;
+
+public enum ExportFormat {
+
+    CSV("CSV", "csv"),
+    JSON("JSON", "json");
+
+
+    private final String displayName;
+    private final String extension;
+
+    ExportFormat(String displayName, String extension) {
+        this.displayName = displayName;
+        this.extension = extension;
+    }
+    public String getDisplayName()
+    {
+        return displayName;
+    }
+    public String getExtension()
+    {
+        return extension;
+    }
+    @Override
+    public String toString()
+    {
+        return displayName;
+    }
+}
@@ -0,0 +1,25 @@
+package com.hdfc.enums;
+
+public enum JournalEntryType {
+    CUSTOMER_REGISTERED("Customer Registered"),
+    ACCOUNT_OPENED("Account Opened"),
+    DEPOSIT("Deposit"),
+    WITHDRAW("Withdraw"),
+    TRANSFER("Transfer");
+    private final String displayName;
+
+    JournalEntryType(String displayName)
+    {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName()
+    {
+        return displayName;
+    }
+    @Override
+    public String toString()
+    {
+        return  displayName;
+    }
+}
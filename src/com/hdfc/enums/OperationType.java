@@ -0,0 +1,27 @@
+package com.hdfc.enums;
+
+public enum OperationType {
+
+    DEPOSIT("Deposit"),
+    WITHDRAW("Withdraw"),
+    TRANSFER("Transfer"),
+    INTEREST("Interest"),
+    PENALTY("Penalty"),
+    HISTORY("History");
+
+
+    private final String displayName;
+
+    OperationType(String displayName) {
+        this.displayName = displayName;
+    }
+    public String getDisplayName()
+    {
+        return displayName;
+    }
+    @Override
+    public String toString()
+    {
+        return displayName;
+    }
+}
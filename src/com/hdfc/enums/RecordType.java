@@ -0,0 +1,23 @@
+package com.hdfc.enums;
+
+public enum RecordType {
+
+    CUSTOMER("Customer"),
+    ACCOUNT("Account");
+
+
+    private final String displayName;
+
+    RecordType(String displayName) {
+        this.displayName = displayName;
+    }
+    public String getDisplayName()
+    {
+        return displayName;
+    }
+    @Override
+    public String toString()
+    {
+        return displayName;
+    }
+}
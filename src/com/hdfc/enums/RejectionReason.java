@@ -0,0 +1,25 @@
+package com.hdfc.enums;
+
+public enum RejectionReason {
+
+    INSUFFICIENT_BALANCE("Insufficient balance"),
+    INVALID_AMOUNT("Invalid amount"),
+    INVALID_ACCOUNT("Invalid account"),
+    OTHER("Other");
+
+
+    private final String displayName;
+
+    RejectionReason(String displayName) {
+        this.displayName = displayName;
+    }
+    public String getDisplayName()
+    {
+        return displayName;
+    }
+    @Override
+    public String toString()
+    {
+        return displayName;
+    }
+}
@@ -0,0 +1,23 @@
+package com.hdfc.enums;
+
+public enum SortDirection {
+
+    OLDEST_FIRST("Oldest first"),
+    NEWEST_FIRST("Newest first");
+
+
+    private final String displayName;
+
+    SortDirection(String displayName) {
+        this.displayName = displayName;
+    }
+    public String getDisplayName()
+    {
+        return displayName;
+    }
+    @Override
+    public String toString()
+    {
+        return displayName;
+    }
+}
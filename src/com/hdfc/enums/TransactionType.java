@@ -3,7 +3,9 @@ package com.hdfc.enums;
 public enum TransactionType {
     DEPOSIT("DEPOSIT"),
     WITHDRAW("WITHDRAW"),
-    TRANSFER("Transfer");
+    TRANSFER("Transfer"),
+    INTEREST("Interest"),
+    PENALTY("Penalty");
     private final String displayName;
 
     TransactionType(String displayName)
@@ -0,0 +1,62 @@
+package com.hdfc.export;
+
+import com.hdfc.enums.ExportFormat;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/** What one statement export wrote. */
+public final class ExportReport {
+
+    private final ExportFormat format;
+    private final List<Path> files;
+    private final long accounts;
+    private final long rows;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    ExportReport(ExportFormat format, List<Path> files, long accounts, long rows, long bytes, long elapsedNanos) {
+        this.format = format;
+        this.files = List.copyOf(files);
+        this.accounts = accounts;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    /** In account order: each file holds the accounts after the previous one's. */
+    public List<Path> getFiles() {
+        return files;
+    }
+
+    public long getAccounts() {
+        return accounts;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /** Size on disk, after compression if any. */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %,d row(s) from %,d account(s) in %,d file(s), %,d bytes in %.2fs (%,.0f rows/sec)",
+                format, rows, accounts, files.size(), bytes, elapsedNanos / 1e9, getRowsPerSecond());
+    }
+}
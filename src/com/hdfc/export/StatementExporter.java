@@ -0,0 +1,212 @@
+package com.hdfc.export;
+
+import com.hdfc.Entities.Account;
+import com.hdfc.Exception.InvalidAccountException;
+import com.hdfc.enums.ExportFormat;
+import com.hdfc.enums.TransactionType;
+import com.hdfc.ledger.StatementRowVisitor;
+import com.hdfc.persistence.BankImage;
+import com.hdfc.service.BankService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Statements out of the ledger as CSV or JSON, optionally gzipped: one
+ * account's history, or every account's, optionally limited to a time range.
+ * Each line carries the account's balance after the row.
+ *
+ * Rows are streamed from the ledger through a fixed buffer, so memory does not
+ * grow with the export. A whole-bank export splits the accounts, sorted by
+ * number, into {@code partitions} contiguous ranges and writes each to its own
+ * file on {@code pool}; read in name order, the files list the accounts in
+ * order.
+ *
+ * Each account's rows are binary searched for the start of the range, so a
+ * day's dump reads only the rows from that day on. The balance the range
+ * opens at is worked back from a known balance over those rows. A durable
+ * bank is checkpointed first, and each account starts from its balance in
+ * that snapshot and reads only the rows the snapshot covers, so rows
+ * committed during the export do not throw its balances off; accounts opened
+ * after the checkpoint are left out. An in-memory bank has no journal to cut
+ * at, so it starts from the live balance and should be exported while quiet.
+ */
+public class StatementExporter {
+
+    private final BankService bank;
+    private final ExportFormat format;
+    private final boolean gzip;
+    private final ForkJoinPool pool;
+    private final int partitions;
+
+    public StatementExporter(BankService bank, ExportFormat format, boolean gzip) {
+        this(bank, format, gzip, ForkJoinPool.commonPool(), ForkJoinPool.commonPool().getParallelism());
+    }
+
+    public StatementExporter(BankService bank, ExportFormat format, boolean gzip, ForkJoinPool pool, int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("partitions must be positive");
+        }
+        this.bank = bank;
+        this.format = format;
+        this.gzip = gzip;
+        this.pool = pool;
+        this.partitions = partitions;
+    }
+
+    /** One account's rows stamped from {@code from} (inclusive) up to {@code until} (exclusive); null bounds are open. */
+    public ExportReport exportAccount(String accountNo, LocalDateTime from, LocalDateTime until, Path file) throws IOException {
+        Account account = bank.findAccount(accountNo);
+        if (account == null) {
+            throw new InvalidAccountException("Account not found");
+        }
+        long began = System.nanoTime();
+        long fromMillis = millisOf(from, Long.MIN_VALUE);
+        long untilMillis = millisOf(until, Long.MAX_VALUE);
+        checkRange(fromMillis, untilMillis);
+        BankImage cut = bank.isDurable() ? bank.checkpointImage() : null;
+        long rows;
+        try (StatementWriter writer = new StatementWriter(file, format, gzip)) {
+            export(account, cut, writer, fromMillis, untilMillis);
+            rows = writer.getRows();
+        }
+        return new ExportReport(format, List.of(file), 1, rows, Files.size(file), System.nanoTime() - began);
+    }
+
+    /** Every account's rows in the range into {@code directory}, one file per partition. */
+    public ExportReport exportAll(LocalDateTime from, LocalDateTime until, Path directory) throws IOException {
+        long began = System.nanoTime();
+        long fromMillis = millisOf(from, Long.MIN_VALUE);
+        long untilMillis = millisOf(until, Long.MAX_VALUE);
+        checkRange(fromMillis, untilMillis);
+        Files.createDirectories(directory);
+        BankImage cut = bank.isDurable() ? bank.checkpointImage() : null;
+        Account[] accounts = bank.getAccounts().toArray(new Account[0]);
+        Arrays.sort(accounts, Comparator.comparing(Account::getAccoutNo));
+
+        int parts = Math.max(1, Math.min(partitions, accounts.length));
+        List<Path> files = new ArrayList<>(parts);
+        List<ForkJoinTask<Long>> tasks = new ArrayList<>(parts);
+        for (int part = 0; part < parts; part++) {
+            Path file = directory.resolve(String.format("statement-%05d.%s%s", part, format.getExtension(), gzip ? ".gz" : ""));
+            int lo = (int) ((long) accounts.length * part / parts);
+            int hi = (int) ((long) accounts.length * (part + 1) / parts);
+            files.add(file);
+            tasks.add(pool.submit(() -> exportRange(accounts, cut, lo, hi, file, fromMillis, untilMillis)));
+        }
+
+        long rows = 0;
+        long bytes = 0;
+        for (int part = 0; part < parts; part++) {
+            rows += join(tasks.get(part));
+            bytes += Files.size(files.get(part));
+        }
+        return new ExportReport(format, files, accounts.length, rows, bytes, System.nanoTime() - began);
+    }
+
+    /** Every account's rows stamped on {@code day}. */
+    public ExportReport exportDay(LocalDate day, Path directory) throws IOException {
+        return exportAll(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), directory);
+    }
+
+    private long exportRange(Account[] accounts, BankImage cut, int lo, int hi, Path file, long fromMillis, long untilMillis) {
+        try (StatementWriter writer = new StatementWriter(file, format, gzip)) {
+            for (int i = lo; i < hi; i++) {
+                export(accounts[i], cut, writer, fromMillis, untilMillis);
+            }
+            return writer.getRows();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void export(Account account, BankImage cut, StatementWriter writer, long fromMillis, long untilMillis) throws IOException {
+        String accountNo = account.getAccoutNo();
+        long[] balance = new long[1];
+        if (cut == null) {
+            balance[0] = account.getBalanceMinor();
+        } else {
+            Account atCut = cut.getAccounts().get(accountNo);
+            if (atCut == null) {
+                // Opened after the checkpoint, so it has no rows the checkpoint covers.
+                return;
+            }
+            balance[0] = atCut.getBalanceMinor();
+        }
+        // Back over every row from the range on, to the balance the range opens at.
+        visitRows(accountNo, cut, fromMillis, Long.MAX_VALUE, (id, type, amountMinor, timestampMillis, incoming, counterparty) ->
+                balance[0] -= isCredit(type, incoming) ? amountMinor : -amountMinor);
+        try {
+            visitRows(accountNo, cut, fromMillis, untilMillis, (id, type, amountMinor, timestampMillis, incoming, counterparty) -> {
+                boolean credit = isCredit(type, incoming);
+                balance[0] += credit ? amountMinor : -amountMinor;
+                try {
+                    writer.row(accountNo, id, type, credit, amountMinor, timestampMillis, counterparty, balance[0]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void visitRows(String accountNo, BankImage cut, long fromMillis, long untilMillis, StatementRowVisitor visitor) {
+        if (cut == null) {
+            bank.visitStatementRows(accountNo, fromMillis, untilMillis, visitor);
+        } else {
+            bank.visitStatementRows(accountNo, fromMillis, untilMillis, cut.getTransactionCount(), visitor);
+        }
+    }
+
+    private static boolean isCredit(TransactionType type, boolean incoming) {
+        switch (type) {
+            case DEPOSIT:
+            case INTEREST:
+                return true;
+            case TRANSFER:
+                return incoming;
+            default:
+                return false;
+        }
+    }
+
+    private static long millisOf(LocalDateTime timestamp, long open) {
+        return timestamp == null ? open : timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static void checkRange(long fromMillis, long untilMillis) {
+        if (untilMillis <= fromMillis) {
+            throw new IllegalArgumentException("Time range is empty");
+        }
+    }
+
+    private static long join(ForkJoinTask<Long> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+}
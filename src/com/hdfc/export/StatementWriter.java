@@ -0,0 +1,300 @@
+package com.hdfc.export;
+
+import com.hdfc.enums.ExportFormat;
+import com.hdfc.enums.TransactionType;
+import com.hdfc.util.IdGenerator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes statement lines straight into one fixed buffer and writes it to a
+ * file channel whenever it fills, optionally through gzip at its fastest
+ * level, so memory stays the same however many rows go through. Text is
+ * produced byte by byte: no String per row, field or number. Not
+ * thread-safe; one per output file.
+ *
+ * CSV has a header line; JSON is a single array of objects, one per line.
+ * Amounts and balances are written as decimal strings in JSON so no reader
+ * turns them into floating point.
+ */
+final class StatementWriter implements Closeable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+    // Longest line without its strings: numbers, timestamp, labels and JSON keys.
+    private static final int FIXED_LINE_BYTES = 512;
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final byte[] CSV_HEADER = ascii("account_no,transaction_id,timestamp,type,direction,amount,counterparty,balance\n");
+    private static final byte[] TXN_PREFIX = ascii(IdGenerator.TRANSACTION_PREFIX);
+    private static final byte[] CREDIT = ascii("CREDIT");
+    private static final byte[] DEBIT = ascii("DEBIT");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[][] TYPE_NAMES = typeNames();
+
+    private final ExportFormat format;
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[20];
+    private long rows;
+    private long cachedDay = Long.MIN_VALUE;
+    private byte[] dayText;
+    private boolean closed;
+
+    StatementWriter(Path file, ExportFormat format, boolean gzip) throws IOException {
+        FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.format = format;
+        this.channel = gzip ? Channels.newChannel(new FastGzip(Channels.newOutputStream(out))) : out;
+        this.buffer = gzip ? ByteBuffer.allocate(BUFFER_BYTES) : ByteBuffer.allocateDirect(BUFFER_BYTES);
+        if (format == ExportFormat.CSV) {
+            buffer.put(CSV_HEADER);
+        } else {
+            buffer.put((byte) '[');
+        }
+    }
+
+    /** One statement line for {@code accountNo}; {@code counterparty} may be null. */
+    void row(String accountNo, long id, TransactionType type, boolean credit, long amountMinor, long timestampMillis,
+             String counterparty, long balanceMinor) throws IOException {
+        ensure(FIXED_LINE_BYTES + maxBytes(accountNo) + maxBytes(counterparty));
+        if (format == ExportFormat.CSV) {
+            text(accountNo);
+            buffer.put((byte) ',').put(TXN_PREFIX);
+            number(id);
+            buffer.put((byte) ',');
+            timestamp(timestampMillis);
+            buffer.put((byte) ',').put(TYPE_NAMES[type.ordinal()]).put((byte) ',').put(credit ? CREDIT : DEBIT).put((byte) ',');
+            minor(amountMinor);
+            buffer.put((byte) ',');
+            if (counterparty != null) {
+                text(counterparty);
+            }
+            buffer.put((byte) ',');
+            minor(balanceMinor);
+            buffer.put((byte) '\n');
+        } else {
+            buffer.put(rows == 0 ? (byte) '\n' : (byte) ',');
+            if (rows != 0) {
+                buffer.put((byte) '\n');
+            }
+            key("{\"accountNo\":");
+            text(accountNo);
+            key(",\"transactionId\":\"");
+            buffer.put(TXN_PREFIX);
+            number(id);
+            key("\",\"timestamp\":\"");
+            timestamp(timestampMillis);
+            key("\",\"type\":\"");
+            buffer.put(TYPE_NAMES[type.ordinal()]);
+            key("\",\"direction\":\"");
+            buffer.put(credit ? CREDIT : DEBIT);
+            key("\",\"amount\":\"");
+            minor(amountMinor);
+            key("\",\"counterparty\":");
+            if (counterparty == null) {
+                buffer.put(NULL);
+            } else {
+                text(counterparty);
+            }
+            key(",\"balance\":\"");
+            minor(balanceMinor);
+            key("\"}");
+        }
+        rows++;
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    /** Finishes the document, writes what is left and closes the file; closing again does nothing. */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (format == ExportFormat.JSON) {
+                ensure(2);
+                buffer.put(rows == 0 ? ascii("]\n") : ascii("\n]\n"));
+            }
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+            if (buffer.remaining() < bytes) {
+                throw new IOException("Statement line too long: " + bytes + " bytes");
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // JSON keys and separators, all ASCII.
+    private void key(String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            buffer.put((byte) literal.charAt(i));
+        }
+    }
+
+    /** A string field: quoted in CSV only when it has to be, always quoted and escaped in JSON. */
+    private void text(String value) {
+        boolean json = format == ExportFormat.JSON;
+        boolean quote = json || needsQuotes(value);
+        if (quote) {
+            buffer.put((byte) '"');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                utf8(value, i, json);
+                break;
+            }
+            escaped(c, json);
+        }
+        if (quote) {
+            buffer.put((byte) '"');
+        }
+    }
+
+    // Rare: the rest of a string that is not plain ASCII. Multi-byte sequences never need escaping.
+    private void utf8(String value, int from, boolean json) {
+        for (byte b : value.substring(from).getBytes(StandardCharsets.UTF_8)) {
+            if (b >= 0) {
+                escaped((char) b, json);
+            } else {
+                buffer.put(b);
+            }
+        }
+    }
+
+    private void escaped(char c, boolean json) {
+        if (!json) {
+            if (c == '"') {
+                buffer.put((byte) '"');
+            }
+            buffer.put((byte) c);
+        } else if (c == '"' || c == '\\') {
+            buffer.put((byte) '\\').put((byte) c);
+        } else if (c < 0x20) {
+            buffer.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+                    .put(hex(c >>> 4)).put(hex(c & 0xF));
+        } else {
+            buffer.put((byte) c);
+        }
+    }
+
+    private void number(long value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+            if (value == Long.MIN_VALUE) {
+                buffer.put(ascii("9223372036854775808"));
+                return;
+            }
+            value = -value;
+        }
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (length > 0) {
+            buffer.put(digits[--length]);
+        }
+    }
+
+    /** Paise as rupees with two decimals. */
+    private void minor(long minor) {
+        long whole = minor / 100;
+        int fraction = (int) Math.abs(minor % 100);
+        if (minor < 0 && whole == 0) {
+            buffer.put((byte) '-');
+        }
+        number(whole);
+        buffer.put((byte) '.').put((byte) ('0' + fraction / 10)).put((byte) ('0' + fraction % 10));
+    }
+
+    /** yyyy-MM-ddTHH:mm:ss.SSS; the date part is formatted once per day. */
+    private void timestamp(long millis) {
+        long day = Math.floorDiv(millis, DAY_MILLIS);
+        if (day != cachedDay) {
+            cachedDay = day;
+            dayText = ascii(LocalDate.ofEpochDay(day).toString());
+        }
+        int ofDay = (int) Math.floorMod(millis, DAY_MILLIS);
+        buffer.put(dayText).put((byte) 'T');
+        twoDigits(ofDay / 3_600_000);
+        buffer.put((byte) ':');
+        twoDigits(ofDay / 60_000 % 60);
+        buffer.put((byte) ':');
+        twoDigits(ofDay / 1000 % 60);
+        int fraction = ofDay % 1000;
+        buffer.put((byte) '.').put((byte) ('0' + fraction / 100)).put((byte) ('0' + fraction / 10 % 10)).put((byte) ('0' + fraction % 10));
+    }
+
+    private void twoDigits(int value) {
+        buffer.put((byte) ('0' + value / 10)).put((byte) ('0' + value % 10));
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Upper bound on what {@link #text} writes for {@code value}. */
+    private static int maxBytes(String value) {
+        return value == null ? 0 : 2 + 6 * value.length();
+    }
+
+    private static byte hex(int nibble) {
+        return (byte) (nibble < 10 ? '0' + nibble : 'a' + nibble - 10);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Statements repeat themselves enough that the fastest level still shrinks them about fivefold, at twice the default level's speed.
+    private static final class FastGzip extends GZIPOutputStream {
+        FastGzip(OutputStream out) throws IOException {
+            super(out, BUFFER_BYTES);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+
+    private static byte[][] typeNames() {
+        TransactionType[] types = TransactionType.values();
+        byte[][] names = new byte[types.length][];
+        for (TransactionType type : types) {
+            names[type.ordinal()] = ascii(type.name());
+        }
+        return names;
+    }
+}
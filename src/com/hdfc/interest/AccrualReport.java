@@ -0,0 +1,97 @@
+package com.hdfc.interest;
+
+import com.hdfc.Entities.Money;
+import com.hdfc.enums.AccrualMethod;
+
+import java.time.LocalDate;
+
+/** Totals of one accrual run over the book. */
+public final class AccrualReport {
+
+    private final AccrualMethod method;
+    private final LocalDate from;
+    private final LocalDate until;
+    private final long accounts;
+    private final long credited;
+    private final long interestMinor;
+    private final long penalised;
+    private final long penaltyMinor;
+    private final long alreadyAccrued;
+    private final long failed;
+    private final long elapsedNanos;
+
+    AccrualReport(AccrualMethod method, LocalDate from, LocalDate until, InterestAccrual.Tally tally, long elapsedNanos) {
+        this.method = method;
+        this.from = from;
+        this.until = until;
+        this.accounts = tally.accounts;
+        this.credited = tally.credited;
+        this.interestMinor = tally.interestMinor;
+        this.penalised = tally.penalised;
+        this.penaltyMinor = tally.penaltyMinor;
+        this.alreadyAccrued = tally.alreadyAccrued;
+        this.failed = tally.failed;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public AccrualMethod getMethod() {
+        return method;
+    }
+
+    /** First day of the period. */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /** Day after the last day of the period. */
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    public long getAccounts() {
+        return accounts;
+    }
+
+    /** Accounts that received an interest row. */
+    public long getCredited() {
+        return credited;
+    }
+
+    public Money getInterest() {
+        return Money.ofMinor(interestMinor);
+    }
+
+    /** Accounts charged for falling below their minimum average balance. */
+    public long getPenalised() {
+        return penalised;
+    }
+
+    public Money getPenalties() {
+        return Money.ofMinor(penaltyMinor);
+    }
+
+    /** Accounts skipped because an earlier run already posted this period. */
+    public long getAlreadyAccrued() {
+        return alreadyAccrued;
+    }
+
+    /** Postings that were rejected or could not be journalled. */
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : accounts / (elapsedNanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s to %s (%s): %,d account(s), %,d credited ₹%s, %,d penalised ₹%s, %,d already accrued, %,d failed in %.2fs (%,.0f accounts/sec)",
+                from, until.minusDays(1), method, accounts, credited, getInterest(), penalised, getPenalties(),
+                alreadyAccrued, failed, elapsedNanos / 1e9, getThroughput());
+    }
+}
@@ -0,0 +1,318 @@
+package com.hdfc.interest;
+
+import com.hdfc.Entities.Account;
+import com.hdfc.Entities.Money;
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.AccrualMethod;
+import com.hdfc.enums.TransactionType;
+import com.hdfc.ledger.RowVisitor;
+import com.hdfc.persistence.BankImage;
+import com.hdfc.service.BankService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Month-end interest over the whole book. Accounts are split into ranges that
+ * a fork/join pool works through in parallel. For each account the closing
+ * balance of every day in the period is rebuilt by walking its ledger rows
+ * newest first back from a known balance, so no account is ever locked.
+ *
+ * A durable bank is checkpointed first, and each account walks back from its
+ * balance in that snapshot over only the rows the snapshot covers. Live
+ * balances move before their rows reach the ledger, so they are not a
+ * starting point that matches the rows. An in-memory bank records its rows
+ * as it posts and has no journal to cut at, so it walks back from the live
+ * balance and should be accrued while quiet.
+ *
+ * Interest is {@link Account#getInterestBasisPoints()} a year on an ACT/365
+ * basis, either rounded to the paisa each day ({@link AccrualMethod#DAILY_BALANCE})
+ * or once on the average daily balance ({@link AccrualMethod#AVERAGE_BALANCE}).
+ * An account whose average daily balance is under its minimum balance is
+ * charged a penalty, capped at what it holds.
+ *
+ * Runs are resumable: an account that already has an INTEREST or PENALTY row
+ * stamped after the period is skipped, so a run that was interrupted can
+ * simply be started again. Periods must be accrued in order, each before the
+ * next one ends.
+ */
+public class InterestAccrual {
+
+    public static final Money DEFAULT_PENALTY = Money.ofMinor(250_00);
+
+    private static final int LEAF_SIZE = 2048;
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final long DAYS_PER_YEAR = 365;
+    private static final long BASIS_POINTS = 10_000;
+
+    private final BankService bank;
+    private final AccrualMethod method;
+    private final Money penalty;
+    private final ForkJoinPool pool;
+
+    public InterestAccrual(BankService bank, AccrualMethod method) {
+        this(bank, method, DEFAULT_PENALTY, ForkJoinPool.commonPool());
+    }
+
+    public InterestAccrual(BankService bank, AccrualMethod method, Money penalty, ForkJoinPool pool) {
+        this.bank = bank;
+        this.method = method;
+        this.penalty = penalty;
+        this.pool = pool;
+    }
+
+    public AccrualReport accrue(YearMonth month) {
+        return accrue(month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+
+    /** Accrues the days from {@code from} up to, but not including, {@code until}. */
+    public AccrualReport accrue(LocalDate from, LocalDate until) {
+        if (!until.isAfter(from)) {
+            throw new IllegalArgumentException("Accrual period is empty");
+        }
+        if (until.atStartOfDay().isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Cannot accrue a period that has not ended");
+        }
+        long began = System.nanoTime();
+        BankImage cut;
+        try {
+            cut = bank.isDurable() ? bank.checkpointImage() : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Account[] accounts = bank.getAccounts().toArray(new Account[0]);
+        int days = (int) ChronoUnit.DAYS.between(from, until);
+        long fromMillis = from.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        Tally tally = pool.invoke(new Partition(accounts, cut, 0, accounts.length, fromMillis, days));
+        return new AccrualReport(method, from, until, tally, System.nanoTime() - began);
+    }
+
+    /** Running totals; each leaf fills its own and the forks add them up. */
+    static final class Tally {
+        long accounts;
+        long credited;
+        long interestMinor;
+        long penalised;
+        long penaltyMinor;
+        long alreadyAccrued;
+        long failed;
+
+        Tally add(Tally other) {
+            accounts += other.accounts;
+            credited += other.credited;
+            interestMinor += other.interestMinor;
+            penalised += other.penalised;
+            penaltyMinor += other.penaltyMinor;
+            alreadyAccrued += other.alreadyAccrued;
+            failed += other.failed;
+            return this;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class Partition extends RecursiveTask<Tally> {
+        private final Account[] accounts;
+        private final BankImage cut;
+        private final int lo;
+        private final int hi;
+        private final long fromMillis;
+        private final int days;
+
+        Partition(Account[] accounts, BankImage cut, int lo, int hi, long fromMillis, int days) {
+            this.accounts = accounts;
+            this.cut = cut;
+            this.lo = lo;
+            this.hi = hi;
+            this.fromMillis = fromMillis;
+            this.days = days;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (hi - lo <= LEAF_SIZE) {
+                return accrueRange();
+            }
+            int mid = (lo + hi) >>> 1;
+            Partition left = new Partition(accounts, cut, lo, mid, fromMillis, days);
+            left.fork();
+            Tally right = new Partition(accounts, cut, mid, hi, fromMillis, days).compute();
+            return right.add(left.join());
+        }
+
+        private Tally accrueRange() {
+            Tally tally = new Tally();
+            DailyBalances balances = new DailyBalances(fromMillis, days);
+            List<CompletableFuture<Transaction>> credits = new ArrayList<>();
+            List<CompletableFuture<Transaction>> charges = new ArrayList<>();
+            Map<String, Account> balancesAtCut = cut == null ? null : cut.getAccounts();
+
+            for (int i = lo; i < hi; i++) {
+                Account account = accounts[i];
+                tally.accounts++;
+                long basisPoints = account.getInterestBasisPoints();
+                long minimum = account.getMinimumBalance().signum() == 0 ? 0 : Money.of(account.getMinimumBalance()).getMinor();
+                if (basisPoints == 0 && minimum == 0) {
+                    continue;
+                }
+
+                if (balancesAtCut == null) {
+                    balances.reset(account.getBalanceMinor(), basisPoints);
+                    bank.visitRecentRows(account.getAccoutNo(), balances);
+                } else {
+                    Account atCut = balancesAtCut.get(account.getAccoutNo());
+                    if (atCut == null) {
+                        // Opened after the checkpoint, so after the period too.
+                        continue;
+                    }
+                    balances.reset(atCut.getBalanceMinor(), basisPoints);
+                    bank.visitRecentRows(account.getAccoutNo(), cut.getTransactionCount(), balances);
+                }
+                if (balances.alreadyAccrued) {
+                    tally.alreadyAccrued++;
+                    continue;
+                }
+                balances.finish();
+
+                long average = Money.divide(balances.balanceDays, days, RoundingMode.HALF_UP);
+                long interest = method == AccrualMethod.DAILY_BALANCE
+                        ? balances.dailyInterest
+                        : Money.divide(Math.multiplyExact(average, basisPoints * days), BASIS_POINTS * DAYS_PER_YEAR, RoundingMode.HALF_UP);
+                if (interest > 0) {
+                    credits.add(post(() -> bank.creditInterestAsync(account.getAccoutNo(), Money.ofMinor(interest))));
+                }
+                if (average < minimum) {
+                    long charge = Math.min(penalty.getMinor(), account.getBalanceMinor());
+                    if (charge > 0) {
+                        charges.add(post(() -> bank.chargePenaltyAsync(account.getAccoutNo(), Money.ofMinor(charge))));
+                    }
+                }
+            }
+
+            for (CompletableFuture<Transaction> credit : credits) {
+                try {
+                    tally.interestMinor += credit.join().getAmountMinor();
+                    tally.credited++;
+                } catch (CompletionException e) {
+                    tally.failed++;
+                }
+            }
+            for (CompletableFuture<Transaction> charge : charges) {
+                try {
+                    tally.penaltyMinor += charge.join().getAmountMinor();
+                    tally.penalised++;
+                } catch (CompletionException e) {
+                    tally.failed++;
+                }
+            }
+            return tally;
+        }
+    }
+
+    /** Turns an immediate rejection into a failed future, so it is counted like the rest. */
+    private static CompletableFuture<Transaction> post(Supplier<CompletableFuture<Transaction>> posting) {
+        try {
+            return posting.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Rebuilds one account's daily closing balances from its rows, newest
+     * first. Reused for every account in a leaf.
+     */
+    private static final class DailyBalances implements RowVisitor {
+        private final long fromMillis;
+        private final long untilMillis;
+        private final int days;
+
+        private long balance;
+        private long basisPoints;
+        private int nextDay;
+        long balanceDays;
+        long dailyInterest;
+        boolean alreadyAccrued;
+
+        DailyBalances(long fromMillis, int days) {
+            this.fromMillis = fromMillis;
+            this.untilMillis = fromMillis + days * DAY_MILLIS;
+            this.days = days;
+        }
+
+        void reset(long currentBalance, long basisPoints) {
+            this.balance = currentBalance;
+            this.basisPoints = basisPoints;
+            this.nextDay = days - 1;
+            this.balanceDays = 0;
+            this.dailyInterest = 0;
+            this.alreadyAccrued = false;
+        }
+
+        @Override
+        public boolean visit(TransactionType type, long amountMinor, long timestampMillis, boolean incoming) {
+            if (timestampMillis >= untilMillis) {
+                if (type == TransactionType.INTEREST || type == TransactionType.PENALTY) {
+                    alreadyAccrued = true;
+                    return false;
+                }
+            } else if (timestampMillis < fromMillis) {
+                return false;
+            } else {
+                int day = (int) ((timestampMillis - fromMillis) / DAY_MILLIS);
+                if (day <= nextDay) {
+                    // Everything after this row on its day has been undone, so
+                    // the balance is the closing balance of this day and the
+                    // quiet days after it.
+                    close(day, nextDay);
+                    nextDay = day - 1;
+                }
+            }
+            balance -= effect(type, amountMinor, incoming);
+            return true;
+        }
+
+        /** Closes the days before the oldest row in the period. */
+        void finish() {
+            close(0, nextDay);
+            nextDay = -1;
+        }
+
+        private void close(int firstDay, int lastDay) {
+            if (lastDay < firstDay || balance <= 0) {
+                return;
+            }
+            long count = lastDay - firstDay + 1;
+            balanceDays += balance * count;
+            dailyInterest += count * Money.divide(balance * basisPoints, BASIS_POINTS * DAYS_PER_YEAR, RoundingMode.HALF_UP);
+        }
+
+        private static long effect(TransactionType type, long amountMinor, boolean incoming) {
+            switch (type) {
+                case DEPOSIT:
+                case INTEREST:
+                    return amountMinor;
+                case WITHDRAW:
+                case PENALTY:
+                    return -amountMinor;
+                case TRANSFER:
+                    return incoming ? amountMinor : -amountMinor;
+                default:
+                    return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.hdfc.ledger;
+
+import com.hdfc.repository.AccountDirectory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Gives every account number a dense int ordinal, so ledger columns store four
+ * bytes instead of a string. The mapping is append-only and kept in a file of
+ * {@code [short length][utf-8 bytes]} records, one per ordinal; in memory it
+ * is an {@link AccountDirectory}, which may be shared with the rest of the
+ * bank. Ordinals handed out by the directory directly are written out with
+ * the next intern or force.
+ */
+final class AccountOrdinals implements AutoCloseable {
+
+    private final FileChannel file;
+    private final AccountDirectory directory;
+    // Ordinals below this are in the file.
+    private volatile int persisted;
+
+    /** {@code directory} must be empty or hold exactly what the file does. */
+    AccountOrdinals(Path path, AccountDirectory directory) throws IOException {
+        this.directory = directory;
+        this.file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(file), 1 << 16));
+        long validEnd = 0;
+        while (true) {
+            byte[] bytes;
+            try {
+                bytes = new byte[in.readUnsignedShort()];
+                in.readFully(bytes);
+            } catch (EOFException e) {
+                break;
+            }
+            if (directory.intern(new String(bytes, StandardCharsets.UTF_8)) != persisted++) {
+                throw new IOException("Account dictionary does not match the account directory: " + path);
+            }
+            validEnd += 2 + bytes.length;
+        }
+        file.truncate(validEnd);
+        file.position(validEnd);
+    }
+
+    /** Ordinal of {@code accountNo}, or -1 if it has never been seen. */
+    int ordinalOf(String accountNo) {
+        return directory.ordinalOf(accountNo);
+    }
+
+    int intern(String accountNo) throws IOException {
+        int ordinal = directory.intern(accountNo);
+        if (ordinal >= persisted) {
+            persist();
+        }
+        return ordinal;
+    }
+
+    private synchronized void persist() throws IOException {
+        int size = directory.size();
+        for (int ordinal = persisted; ordinal < size; ordinal++) {
+            byte[] bytes = directory.nameOf(ordinal).getBytes(StandardCharsets.UTF_8);
+            ByteBuffer record = ByteBuffer.allocate(2 + bytes.length).putShort((short) bytes.length).put(bytes).flip();
+            while (record.hasRemaining()) {
+                file.write(record);
+            }
+        }
+        persisted = size;
+    }
+
+    String nameOf(int ordinal) {
+        return directory.nameOf(ordinal);
+    }
+
+    int size() {
+        return directory.size();
+    }
+
+    void force() throws IOException {
+        persist();
+        file.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
@@ -0,0 +1,87 @@
+package com.hdfc.ledger;
+
+import com.hdfc.Entities.Money;
+import com.hdfc.enums.TransactionType;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Running totals of one account's ledger rows, copied out of a
+ * {@link SummaryIndex}. TRANSFER counts and sums cover both directions;
+ * {@link #getTotalIn()} and {@link #getTotalOut()} tell them apart.
+ */
+public final class AccountSummary {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final String accountNo;
+    private final long[] counts;
+    private final long[] sums;
+    private final long inMinor;
+    private final long outMinor;
+    private final long lastActivityMillis;
+
+    AccountSummary(String accountNo, long[] counts, long[] sums, long inMinor, long outMinor, long lastActivityMillis) {
+        this.accountNo = accountNo;
+        this.counts = counts;
+        this.sums = sums;
+        this.inMinor = inMinor;
+        this.outMinor = outMinor;
+        this.lastActivityMillis = lastActivityMillis;
+    }
+
+    public String getAccountNo() {
+        return accountNo;
+    }
+
+    public long getCount(TransactionType type) {
+        return counts[type.ordinal()];
+    }
+
+    public Money getTotal(TransactionType type) {
+        return Money.ofMinor(sums[type.ordinal()]);
+    }
+
+    /** Types the account has rows of, with how many. */
+    public Map<TransactionType, Long> getCountsByType() {
+        Map<TransactionType, Long> byType = new EnumMap<>(TransactionType.class);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                byType.put(TYPES[i], counts[i]);
+            }
+        }
+        return byType;
+    }
+
+    public long getTransactionCount() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /** Deposits, interest and transfers received. */
+    public Money getTotalIn() {
+        return Money.ofMinor(inMinor);
+    }
+
+    /** Withdrawals, penalties and transfers sent. */
+    public Money getTotalOut() {
+        return Money.ofMinor(outMinor);
+    }
+
+    public Money getNetFlow() {
+        return Money.ofMinor(inMinor - outMinor);
+    }
+
+    /** Timestamp of the newest row, or null if there is none. */
+    public LocalDateTime getLastActivity() {
+        return lastActivityMillis == Long.MIN_VALUE ? null
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(lastActivityMillis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,40 @@
+package com.hdfc.ledger;
+
+import com.hdfc.Entities.Money;
+
+import java.time.LocalDate;
+
+/** Money into and out of one account on one day, as its ledger rows are stamped. */
+public final class DailyTotal {
+
+    private final LocalDate day;
+    private final long inMinor;
+    private final long outMinor;
+
+    DailyTotal(LocalDate day, long inMinor, long outMinor) {
+        this.day = day;
+        this.inMinor = inMinor;
+        this.outMinor = outMinor;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public Money getIn() {
+        return Money.ofMinor(inMinor);
+    }
+
+    public Money getOut() {
+        return Money.ofMinor(outMinor);
+    }
+
+    public Money getNet() {
+        return Money.ofMinor(inMinor - outMinor);
+    }
+
+    @Override
+    public String toString() {
+        return day + " +₹" + getIn() + " -₹" + getOut();
+    }
+}
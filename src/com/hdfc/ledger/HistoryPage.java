@@ -0,0 +1,30 @@
+package com.hdfc.ledger;
+
+import com.hdfc.Entities.Transaction;
+
+import java.util.List;
+
+/** One page of a {@link HistoryQuery}. */
+public final class HistoryPage {
+
+    private final List<Transaction> transactions;
+    private final String nextCursor;
+
+    HistoryPage(List<Transaction> transactions, String nextCursor) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    /** Pass this back for the next page; null on the last one. */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,98 @@
+package com.hdfc.ledger;
+
+import com.hdfc.enums.SortDirection;
+import com.hdfc.enums.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * One account's history, a page at a time: rows stamped from {@code from}
+ * (inclusive) up to {@code until} (exclusive), of the given types, in the
+ * given order. Null bounds and a null type set mean no restriction. Pages
+ * after the first are asked for with the cursor the previous page returned.
+ */
+public final class HistoryQuery {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final String accountNo;
+    private final LocalDateTime from;
+    private final LocalDateTime until;
+    private final Set<TransactionType> types;
+    private final SortDirection direction;
+    private final int pageSize;
+
+    public HistoryQuery(String accountNo, LocalDateTime from, LocalDateTime until, Set<TransactionType> types,
+                        SortDirection direction, int pageSize) {
+        if (accountNo == null) {
+            throw new IllegalArgumentException("Account number is required");
+        }
+        if (from != null && until != null && !until.isAfter(from)) {
+            throw new IllegalArgumentException("Time range is empty");
+        }
+        if (types != null && types.isEmpty()) {
+            throw new IllegalArgumentException("At least one transaction type is required");
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        this.accountNo = accountNo;
+        this.from = from;
+        this.until = until;
+        this.types = types == null ? null : EnumSet.copyOf(types);
+        this.direction = direction == null ? SortDirection.NEWEST_FIRST : direction;
+        this.pageSize = pageSize;
+    }
+
+    /** The account's newest {@code pageSize} rows, then the ones before them. */
+    public static HistoryQuery latest(String accountNo, int pageSize) {
+        return new HistoryQuery(accountNo, null, null, null, SortDirection.NEWEST_FIRST, pageSize);
+    }
+
+    public String getAccountNo() {
+        return accountNo;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    /** Null when every type is wanted. */
+    public Set<TransactionType> getTypes() {
+        return types == null ? null : EnumSet.copyOf(types);
+    }
+
+    public SortDirection getDirection() {
+        return direction;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    boolean accepts(TransactionType type) {
+        return types == null || types.contains(type);
+    }
+
+    /** Ties a cursor to the query that produced it; stable across restarts. */
+    int fingerprint() {
+        int typeMask = 0;
+        for (TransactionType type : TransactionType.values()) {
+            if (accepts(type)) {
+                typeMask |= 1 << type.ordinal();
+            }
+        }
+        int hash = accountNo.hashCode();
+        hash = 31 * hash + Objects.hashCode(from);
+        hash = 31 * hash + Objects.hashCode(until);
+        hash = 31 * hash + typeMask;
+        return 31 * hash + direction.ordinal();
+    }
+}
@@ -0,0 +1,179 @@
+package com.hdfc.ledger;
+
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.SortDirection;
+import com.hdfc.enums.TransactionType;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Where the next page of a {@link HistoryQuery} lies. Both ledgers keep an
+ * account's rows ordered by (timestamp, id); a page is the first rows past
+ * the exclusive lower bound, or the last rows before the exclusive upper
+ * bound when newest first. The query's time range sets the bounds and the
+ * cursor narrows one of them to the last row already returned.
+ *
+ * Cursors carry that row's key and a fingerprint of the query, base64 so
+ * they can travel as text.
+ */
+final class HistoryRange {
+
+    private static final byte CURSOR_VERSION = 1;
+    private static final int CURSOR_BYTES = 1 + Integer.BYTES + Long.BYTES + Long.BYTES;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    final boolean newestFirst;
+    /** One past the page size, to tell whether another page follows. */
+    final int limit;
+
+    private final HistoryQuery query;
+    private final long loNanos;
+    private final long loId;
+    private final long hiNanos;
+    private final long hiId;
+
+    private HistoryRange(HistoryQuery query, long loNanos, long loId, long hiNanos, long hiId) {
+        this.query = query;
+        this.newestFirst = query.getDirection() == SortDirection.NEWEST_FIRST;
+        this.limit = query.getPageSize() + 1;
+        this.loNanos = loNanos;
+        this.loId = loId;
+        this.hiNanos = hiNanos;
+        this.hiId = hiId;
+    }
+
+    static HistoryRange of(HistoryQuery query, String cursor) {
+        long loNanos = query.getFrom() == null ? Long.MIN_VALUE : nanosOf(query.getFrom());
+        long loId = Long.MIN_VALUE;
+        long hiNanos = query.getUntil() == null ? Long.MAX_VALUE : nanosOf(query.getUntil());
+        long hiId = query.getUntil() == null ? Long.MAX_VALUE : Long.MIN_VALUE;
+        if (cursor != null) {
+            ByteBuffer decoded = decode(query, cursor);
+            long nanos = decoded.getLong();
+            long id = decoded.getLong();
+            if (query.getDirection() == SortDirection.NEWEST_FIRST) {
+                if (compare(nanos, id, hiNanos, hiId) < 0) {
+                    hiNanos = nanos;
+                    hiId = id;
+                }
+            } else if (compare(nanos, id, loNanos, loId) > 0) {
+                loNanos = nanos;
+                loId = id;
+            }
+        }
+        return new HistoryRange(query, loNanos, loId, hiNanos, hiId);
+    }
+
+    boolean accepts(Transaction transaction) {
+        return query.accepts(transaction.getType());
+    }
+
+    boolean accepts(TransactionType type) {
+        return query.accepts(type);
+    }
+
+    /** Past the lower bound. */
+    boolean after(long nanos, long id) {
+        return compare(nanos, id, loNanos, loId) > 0;
+    }
+
+    /** Short of the upper bound. */
+    boolean before(long nanos, long id) {
+        return compare(nanos, id, hiNanos, hiId) < 0;
+    }
+
+    boolean after(Transaction transaction) {
+        return after(nanosOf(transaction.getTimestamp()), transaction.getId());
+    }
+
+    boolean before(Transaction transaction) {
+        return before(nanosOf(transaction.getTimestamp()), transaction.getId());
+    }
+
+    /** {@code rows} are in page order and at most {@link #limit} long. */
+    HistoryPage page(List<Transaction> rows) {
+        int pageSize = query.getPageSize();
+        if (rows.size() <= pageSize) {
+            return new HistoryPage(rows, null);
+        }
+        List<Transaction> page = new ArrayList<>(rows.subList(0, pageSize));
+        Transaction last = page.get(pageSize - 1);
+        ByteBuffer cursor = ByteBuffer.allocate(CURSOR_BYTES)
+                .put(CURSOR_VERSION)
+                .putInt(query.fingerprint())
+                .putLong(nanosOf(last.getTimestamp()))
+                .putLong(last.getId());
+        return new HistoryPage(page, Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.array()));
+    }
+
+    /** Merges two lists already in page order, keeping at most {@link #limit}. */
+    List<Transaction> merge(List<Transaction> own, List<Transaction> incoming) {
+        List<Transaction> merged = new ArrayList<>(Math.min(limit, own.size() + incoming.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < own.size() || j < incoming.size())) {
+            boolean takeOwn;
+            if (j == incoming.size()) {
+                takeOwn = true;
+            } else if (i == own.size()) {
+                takeOwn = false;
+            } else {
+                int order = compare(own.get(i), incoming.get(j));
+                takeOwn = newestFirst ? order > 0 : order < 0;
+            }
+            merged.add(takeOwn ? own.get(i++) : incoming.get(j++));
+        }
+        return merged;
+    }
+
+    /** The (timestamp, id) order of ledger rows. */
+    static int compare(Transaction a, Transaction b) {
+        int order = a.getTimestamp().compareTo(b.getTimestamp());
+        return order != 0 ? order : Long.compare(a.getId(), b.getId());
+    }
+
+    static int compare(long nanos, long id, long otherNanos, long otherId) {
+        int order = Long.compare(nanos, otherNanos);
+        return order != 0 ? order : Long.compare(id, otherId);
+    }
+
+    /** UTC epoch nanoseconds, pinned to the ends of the long range outside roughly 1678-2262. */
+    static long nanosOf(LocalDateTime timestamp) {
+        long seconds = timestamp.toEpochSecond(ZoneOffset.UTC);
+        if (seconds >= Long.MAX_VALUE / NANOS_PER_SECOND) {
+            return Long.MAX_VALUE;
+        }
+        if (seconds <= Long.MIN_VALUE / NANOS_PER_SECOND) {
+            return Long.MIN_VALUE;
+        }
+        return seconds * NANOS_PER_SECOND + timestamp.getNano();
+    }
+
+    static long nanosOfMillis(long millis) {
+        if (millis >= Long.MAX_VALUE / NANOS_PER_MILLI) {
+            return Long.MAX_VALUE;
+        }
+        if (millis <= Long.MIN_VALUE / NANOS_PER_MILLI) {
+            return Long.MIN_VALUE;
+        }
+        return millis * NANOS_PER_MILLI;
+    }
+
+    private static ByteBuffer decode(HistoryQuery query, String cursor) {
+        // The decoder rejects anything that is not base64 with an IllegalArgumentException of its own.
+        ByteBuffer decoded = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+        if (decoded.remaining() != CURSOR_BYTES || decoded.get() != CURSOR_VERSION) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (decoded.getInt() != query.fingerprint()) {
+            throw new IllegalArgumentException("Cursor belongs to a different query");
+        }
+        return decoded;
+    }
+}
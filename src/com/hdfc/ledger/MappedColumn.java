@@ -0,0 +1,86 @@
+package com.hdfc.ledger;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * One fixed-width column in a memory-mapped file, mapped a chunk of rows at a
+ * time so a column can outgrow the 2 GB limit of a single mapping. Growing is
+ * the writer's job; reads of rows below the published size need no locking.
+ */
+final class MappedColumn implements AutoCloseable {
+
+    static final int CHUNK_SHIFT = 20;
+    private static final int CHUNK_ROWS = 1 << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_ROWS - 1;
+
+    private final FileChannel channel;
+    private final int width;
+    private volatile MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+
+    MappedColumn(Path file, int width) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.width = width;
+    }
+
+    void ensureCapacity(long rows) throws IOException {
+        int needed = (int) ((rows + CHUNK_ROWS - 1) >>> CHUNK_SHIFT);
+        MappedByteBuffer[] current = chunks;
+        if (needed <= current.length) {
+            return;
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(current, needed);
+        for (int i = current.length; i < needed; i++) {
+            grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i * CHUNK_ROWS * width, (long) CHUNK_ROWS * width);
+        }
+        chunks = grown;
+    }
+
+    long getLong(long row) {
+        return chunk(row).getLong(offset(row));
+    }
+
+    void putLong(long row, long value) {
+        chunk(row).putLong(offset(row), value);
+    }
+
+    int getInt(long row) {
+        return chunk(row).getInt(offset(row));
+    }
+
+    void putInt(long row, int value) {
+        chunk(row).putInt(offset(row), value);
+    }
+
+    byte getByte(long row) {
+        return chunk(row).get(offset(row));
+    }
+
+    void putByte(long row, byte value) {
+        chunk(row).put(offset(row), value);
+    }
+
+    void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        chunks = new MappedByteBuffer[0];
+        channel.close();
+    }
+
+    private MappedByteBuffer chunk(long row) {
+        return chunks[(int) (row >>> CHUNK_SHIFT)];
+    }
+
+    private int offset(long row) {
+        return (int) (row & CHUNK_MASK) * width;
+    }
+}
@@ -0,0 +1,671 @@
+package com.hdfc.ledger;
+
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.TransactionType;
+import com.hdfc.repository.AccountDirectory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Off-heap ledger. Each row is spread over fixed-width, memory-mapped columns:
+ * id (long), amount in paise (long), account ordinal (int), epoch-millis
+ * timestamp (long), type (byte) and counterparty ordinal (int, -1 if none).
+ * Two more columns chain each account's rows together: the previous row of
+ * the owner and of the counterparty (-1 if none). The newest row of every
+ * account is saved at each flush, so opening the store reads one head per
+ * account and nothing per row; an account's row list, ordered by
+ * (timestamp, id), is built from its chain the first time it is read.
+ *
+ * Appends are serialized; readers never lock. {@link #flush()} forces the
+ * columns and records how many rows, and which journal position, they cover.
+ *
+ * Given a {@link SummaryIndex}, the store adds every appended row to it and
+ * saves it after each flush together with the row count it covers; opening
+ * loads it and folds in only the rows after that.
+ */
+public class MappedTransactionStore implements Flushable, AutoCloseable {
+
+    private static final int META_MAGIC = 0x48444C31;
+    // magic, size, applied lsn and, since ids were seeded from it, the highest id
+    private static final int META_SIZE = 28;
+    private static final int OLD_META_SIZE = 20;
+    private static final int SUMMARY_MAGIC = 0x48444131;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    // Rows a walk copies out of a row list at a time.
+    private static final int WINDOW = 256;
+
+    final MappedColumn id;
+    final MappedColumn amount;
+    final MappedColumn account;
+    final MappedColumn timestamp;
+    final MappedColumn type;
+    final MappedColumn counterparty;
+    final MappedColumn ownerPrevious;
+    final MappedColumn counterpartyPrevious;
+    final AccountOrdinals ordinals;
+
+    private final List<MappedColumn> columns;
+    // Newest row + 1 per ordinal as of the last flush, 0 if none.
+    private final MappedColumn heads;
+    private final FileChannel meta;
+    private final Path summaryFile;
+    private final SummaryIndex summaries;
+    private volatile long size;
+    private volatile long appliedLsn;
+    private volatile long maxId = -1;
+    // Newest row per ordinal, -1 if none; only touched under the lock.
+    private long[] newest = new long[0];
+    private volatile RowList[] lists = new RowList[64];
+
+    public MappedTransactionStore(Path directory) throws IOException {
+        this(directory, new AccountDirectory(), null);
+    }
+
+    /**
+     * A store whose account ordinals are {@code accountDirectory}'s. The directory
+     * must be empty, or already hold what the store's dictionary does; it is
+     * filled from the dictionary here and written back to it as it grows.
+     * {@code summaries}, which may be null, must be empty and use the same
+     * directory.
+     */
+    public MappedTransactionStore(Path directory, AccountDirectory accountDirectory, SummaryIndex summaries) throws IOException {
+        Files.createDirectories(directory);
+        boolean chained = Files.exists(directory.resolve("heads.col"));
+        this.id = new MappedColumn(directory.resolve("id.col"), Long.BYTES);
+        this.amount = new MappedColumn(directory.resolve("amount.col"), Long.BYTES);
+        this.account = new MappedColumn(directory.resolve("account.col"), Integer.BYTES);
+        this.timestamp = new MappedColumn(directory.resolve("timestamp.col"), Long.BYTES);
+        this.type = new MappedColumn(directory.resolve("type.col"), Byte.BYTES);
+        this.counterparty = new MappedColumn(directory.resolve("counterparty.col"), Integer.BYTES);
+        this.ownerPrevious = new MappedColumn(directory.resolve("owner-prev.col"), Long.BYTES);
+        this.counterpartyPrevious = new MappedColumn(directory.resolve("counterparty-prev.col"), Long.BYTES);
+        this.columns = List.of(id, amount, account, timestamp, type, counterparty, ownerPrevious, counterpartyPrevious);
+        this.heads = new MappedColumn(directory.resolve("heads.col"), Long.BYTES);
+        this.ordinals = new AccountOrdinals(directory.resolve("accounts.dict"), accountDirectory);
+        this.meta = FileChannel.open(directory.resolve("ledger.meta"), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.summaryFile = directory.resolve("summaries.dat");
+        this.summaries = summaries;
+
+        boolean hasMaxId = meta.size() >= META_SIZE;
+        if (meta.size() >= OLD_META_SIZE) {
+            ByteBuffer header = ByteBuffer.allocate(hasMaxId ? META_SIZE : OLD_META_SIZE);
+            while (header.hasRemaining()) {
+                if (meta.read(header, header.position()) < 0) {
+                    throw new IOException("Truncated ledger metadata: " + directory);
+                }
+            }
+            header.flip();
+            if (header.getInt() != META_MAGIC) {
+                throw new IOException("Not a ledger store: " + directory);
+            }
+            size = header.getLong();
+            appliedLsn = header.getLong();
+            maxId = hasMaxId ? header.getLong() : -1;
+        }
+
+        // Rows past the recorded size were never flushed; they get overwritten.
+        for (MappedColumn column : columns) {
+            column.ensureCapacity(size);
+        }
+        if (chained) {
+            int accounts = ordinals.size();
+            heads.ensureCapacity(accounts);
+            grow(accounts - 1);
+            for (int ordinal = 0; ordinal < accounts; ordinal++) {
+                long row = heads.getLong(ordinal) - 1;
+                // Heads are saved before the size, so they may run ahead of it.
+                while (row >= size) {
+                    for (MappedColumn column : columns) {
+                        column.ensureCapacity(row + 1);
+                    }
+                    row = previous(row, ordinal);
+                }
+                newest[ordinal] = row;
+            }
+        } else {
+            // Written before rows were chained: link them once.
+            for (long row = 0; row < size; row++) {
+                link(row, account.getInt(row), counterparty.getInt(row));
+            }
+        }
+        if (!hasMaxId) {
+            for (long row = 0; row < size; row++) {
+                maxId = Math.max(maxId, id.getLong(row));
+            }
+        }
+        if (summaries != null) {
+            TransactionRow view = newRow();
+            for (long row = loadSummaries(); row < size; row++) {
+                summaries.add(view.moveTo(row));
+            }
+        }
+        if (!chained || !hasMaxId) {
+            flush();
+        }
+    }
+
+    /**
+     * Appends a row and returns its row number. {@code lsn} is the journal
+     * position of the entry that produced it, or -1 when there is no journal.
+     */
+    public synchronized long append(Transaction transaction, long lsn) throws IOException {
+        long row = size;
+        for (MappedColumn column : columns) {
+            column.ensureCapacity(row + 1);
+        }
+
+        int accountOrdinal = ordinals.intern(transaction.getAccountNo());
+        int counterpartyOrdinal = transaction.getToAccountNo() == null ? -1 : ordinals.intern(transaction.getToAccountNo());
+
+        id.putLong(row, transaction.getId());
+        maxId = Math.max(maxId, transaction.getId());
+        amount.putLong(row, transaction.getAmountMinor());
+        account.putInt(row, accountOrdinal);
+        timestamp.putLong(row, transaction.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli());
+        type.putByte(row, (byte) transaction.getType().ordinal());
+        counterparty.putInt(row, counterpartyOrdinal);
+
+        link(row, accountOrdinal, counterpartyOrdinal);
+        if (summaries != null) {
+            summaries.add(transaction);
+        }
+        size = row + 1;
+        if (lsn >= 0) {
+            appliedLsn = lsn + 1;
+        }
+        return row;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /** Journal position every entry below which is already in the store. */
+    public long getAppliedLsn() {
+        return appliedLsn;
+    }
+
+    /** Highest transaction id in the store, or -1 if it is empty. */
+    public long getMaxId() {
+        return maxId;
+    }
+
+    public TransactionRow newRow() {
+        return new TransactionRow(this);
+    }
+
+    /** Visits an account's rows through one reused flyweight. */
+    public void forEachRow(String accountNo, boolean newestFirst, Consumer<TransactionRow> visitor) {
+        int ordinal = ordinals.ordinalOf(accountNo);
+        if (ordinal < 0) {
+            return;
+        }
+        TransactionRow view = newRow();
+        long from = newestFirst ? Long.MAX_VALUE : Long.MIN_VALUE;
+        walk(ordinal, newestFirst, from, from, row -> {
+            visitor.accept(view.moveTo(row));
+            return true;
+        });
+    }
+
+    /** Visits every row in ledger order through one reused flyweight. */
+    public void forEachRow(Consumer<TransactionRow> visitor) {
+        TransactionRow view = newRow();
+        long rows = size;
+        for (long row = 0; row < rows; row++) {
+            visitor.accept(view.moveTo(row));
+        }
+    }
+
+    /** Walks an account's rows newest first, straight from the columns. */
+    public void visitNewestFirst(String accountNo, RowVisitor visitor) {
+        visitNewestFirst(accountNo, Long.MAX_VALUE, visitor);
+    }
+
+    /** As {@link #visitNewestFirst(String, RowVisitor)}, skipping rows at or past {@code rowLimit}. */
+    public void visitNewestFirst(String accountNo, long rowLimit, RowVisitor visitor) {
+        int ordinal = ordinals.ordinalOf(accountNo);
+        if (ordinal < 0) {
+            return;
+        }
+        walk(ordinal, true, Long.MAX_VALUE, Long.MAX_VALUE, row -> row >= rowLimit
+                || visitor.visit(TYPES[type.getByte(row)], amount.getLong(row), timestamp.getLong(row), account.getInt(row) != ordinal));
+    }
+
+    /** Walks an account's rows oldest first, straight from the columns. */
+    public void visitOldestFirst(String accountNo, StatementRowVisitor visitor) {
+        visitOldestFirst(accountNo, Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, visitor);
+    }
+
+    /**
+     * As {@link #visitOldestFirst(String, StatementRowVisitor)}, over only the rows
+     * stamped from {@code fromMillis} up to {@code untilMillis} and below
+     * {@code rowLimit}. The range is binary searched, so rows outside it cost nothing.
+     */
+    public void visitOldestFirst(String accountNo, long fromMillis, long untilMillis, long rowLimit, StatementRowVisitor visitor) {
+        int ordinal = ordinals.ordinalOf(accountNo);
+        if (ordinal < 0) {
+            return;
+        }
+        walk(ordinal, false, fromMillis, Long.MIN_VALUE, row -> {
+            long millis = timestamp.getLong(row);
+            if (millis >= untilMillis) {
+                return false;
+            }
+            if (row < rowLimit) {
+                int owner = account.getInt(row);
+                boolean incoming = owner != ordinal;
+                int other = incoming ? owner : counterparty.getInt(row);
+                visitor.visit(id.getLong(row), TYPES[type.getByte(row)], amount.getLong(row), millis, incoming,
+                        other < 0 ? null : ordinals.nameOf(other));
+            }
+            return true;
+        });
+    }
+
+    /** Oldest first. */
+    public List<Transaction> historyOf(String accountNo) {
+        List<Transaction> history = new ArrayList<>();
+        forEachRow(accountNo, false, row -> history.add(row.toTransaction()));
+        return history;
+    }
+
+    /** Newest first. */
+    public List<Transaction> recentHistoryOf(String accountNo) {
+        List<Transaction> history = new ArrayList<>();
+        forEachRow(accountNo, true, row -> history.add(row.toTransaction()));
+        return history;
+    }
+
+    /** One page of {@code query}; see {@link TransactionIndex#page}. */
+    public HistoryPage page(HistoryQuery query, String cursor) {
+        HistoryRange range = HistoryRange.of(query, cursor);
+        int ordinal = ordinals.ordinalOf(query.getAccountNo());
+        if (ordinal < 0) {
+            return range.page(Collections.emptyList());
+        }
+        TransactionRow view = newRow();
+        List<Transaction> rows = new ArrayList<>();
+        for (long row : rowList(ordinal).collect(this, range)) {
+            rows.add(view.moveTo(row).toTransaction());
+        }
+        return range.page(rows);
+    }
+
+    /** Counts an account's rows per type straight from the type column. */
+    public Map<TransactionType, Long> countByType(String accountNo) {
+        TransactionType[] types = TransactionType.values();
+        long[] counts = new long[types.length];
+        int ordinal = ordinals.ordinalOf(accountNo);
+        if (ordinal >= 0) {
+            walk(ordinal, false, Long.MIN_VALUE, Long.MIN_VALUE, row -> {
+                counts[type.getByte(row)]++;
+                return true;
+            });
+        }
+        Map<TransactionType, Long> summary = new EnumMap<>(TransactionType.class);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                summary.put(types[i], counts[i]);
+            }
+        }
+        return summary;
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        for (MappedColumn column : columns) {
+            column.force();
+        }
+        ordinals.force();
+        heads.ensureCapacity(newest.length);
+        for (int ordinal = 0; ordinal < newest.length; ordinal++) {
+            if (heads.getLong(ordinal) != newest[ordinal] + 1) {
+                heads.putLong(ordinal, newest[ordinal] + 1);
+            }
+        }
+        heads.force();
+        ByteBuffer header = ByteBuffer.allocate(META_SIZE).putInt(META_MAGIC).putLong(size).putLong(appliedLsn).putLong(maxId).flip();
+        while (header.hasRemaining()) {
+            meta.write(header, header.position());
+        }
+        meta.force(false);
+        if (summaries != null) {
+            saveSummaries();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        for (MappedColumn column : columns) {
+            column.close();
+        }
+        heads.close();
+        ordinals.close();
+        meta.close();
+    }
+
+    // Written after the meta, so the rows they cover are never past the size.
+    private void saveSummaries() throws IOException {
+        Path temp = summaryFile.resolveSibling(summaryFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32C crc = new CRC32C();
+            OutputStream raw = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(raw, 1 << 16), crc));
+            out.writeInt(SUMMARY_MAGIC);
+            out.writeLong(size);
+            summaries.writeTo(out);
+            out.flush();
+
+            DataOutputStream trailer = new DataOutputStream(raw);
+            trailer.writeInt((int) crc.getValue());
+            trailer.flush();
+            channel.force(true);
+        }
+        Files.move(temp, summaryFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** Rows the saved summaries cover, or 0 if there are none to trust. */
+    private long loadSummaries() {
+        if (!Files.exists(summaryFile)) {
+            return 0;
+        }
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(summaryFile), 1 << 16)) {
+            CRC32C crc = new CRC32C();
+            DataInputStream in = new DataInputStream(new CheckedInputStream(raw, crc));
+            if (in.readInt() != SUMMARY_MAGIC) {
+                throw new IOException("Not a summary file");
+            }
+            long covered = in.readLong();
+            if (covered > size) {
+                throw new IOException("Summaries cover " + covered + " rows, the ledger holds " + size);
+            }
+            summaries.readFrom(in);
+            int expected = (int) crc.getValue();
+            if (new DataInputStream(raw).readInt() != expected) {
+                throw new IOException("Summary checksum mismatch");
+            }
+            return covered;
+        } catch (IOException e) {
+            System.err.println("Rebuilding summaries from the ledger: " + e.getMessage());
+            summaries.clear();
+            return 0;
+        }
+    }
+
+    private void link(long row, int accountOrdinal, int counterpartyOrdinal) {
+        grow(Math.max(accountOrdinal, counterpartyOrdinal));
+        ownerPrevious.putLong(row, newest[accountOrdinal]);
+        push(accountOrdinal, row);
+        if (counterpartyOrdinal >= 0 && counterpartyOrdinal != accountOrdinal) {
+            counterpartyPrevious.putLong(row, newest[counterpartyOrdinal]);
+            push(counterpartyOrdinal, row);
+        } else {
+            counterpartyPrevious.putLong(row, -1);
+        }
+    }
+
+    private void push(int ordinal, long row) {
+        newest[ordinal] = row;
+        RowList[] current = lists;
+        if (ordinal < current.length && current[ordinal] != null) {
+            current[ordinal].add(this, row);
+        }
+    }
+
+    private void grow(int ordinal) {
+        int length = newest.length;
+        if (ordinal >= length) {
+            newest = Arrays.copyOf(newest, Math.max(ordinal + 1, Math.max(64, length << 1)));
+            Arrays.fill(newest, length, newest.length, -1L);
+        }
+    }
+
+    /** The row before {@code row} in {@code ordinal}'s chain, or -1. */
+    private long previous(long row, int ordinal) {
+        return account.getInt(row) == ordinal ? ownerPrevious.getLong(row) : counterpartyPrevious.getLong(row);
+    }
+
+    private RowList rowList(int ordinal) {
+        RowList[] current = lists;
+        RowList list = ordinal < current.length ? current[ordinal] : null;
+        return list != null ? list : load(ordinal);
+    }
+
+    /** Walks {@code ordinal}'s chain once and keeps the result current from then on. */
+    private synchronized RowList load(int ordinal) {
+        RowList[] current = lists;
+        if (ordinal < current.length && current[ordinal] != null) {
+            return current[ordinal];
+        }
+        long[] chain = new long[8];
+        int count = 0;
+        for (long row = ordinal < newest.length ? newest[ordinal] : -1; row >= 0; row = previous(row, ordinal)) {
+            if (count == chain.length) {
+                chain = Arrays.copyOf(chain, count << 1);
+            }
+            chain[count++] = row;
+        }
+        RowList list = new RowList();
+        for (int i = count - 1; i >= 0; i--) {
+            list.add(this, chain[i]);
+        }
+        if (ordinal >= current.length) {
+            current = Arrays.copyOf(current, Math.max(ordinal + 1, current.length << 1));
+        }
+        current[ordinal] = list;
+        lists = current;
+        return list;
+    }
+
+    /** Fills {@code found} with the first rows of {@code rows[0, size)} inside the range, in page order. */
+    private int scan(long[] rows, int size, HistoryRange range, long[] found) {
+        int count = 0;
+        if (range.newestFirst) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (before(range, rows[mid])) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            for (int i = lo - 1; i >= 0 && count < found.length && after(range, rows[i]); i--) {
+                if (range.accepts(TYPES[type.getByte(rows[i])])) {
+                    found[count++] = rows[i];
+                }
+            }
+        } else {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (after(range, rows[mid])) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            for (int i = lo; i < size && count < found.length && before(range, rows[i]); i++) {
+                if (range.accepts(TYPES[type.getByte(rows[i])])) {
+                    found[count++] = rows[i];
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Walks {@code ordinal}'s rows from just past ({@code millis}, {@code id}),
+     * newest or oldest first, until {@code visitor} returns false. Rows are
+     * copied out of the list a window at a time, each window starting after
+     * the last row visited, so a walk that stops early copies little and a
+     * late row sliding in behind it cannot make it visit a row twice.
+     */
+    private void walk(int ordinal, boolean newestFirst, long millis, long id, LongPredicate visitor) {
+        RowList list = rowList(ordinal);
+        long[] window = new long[Math.max(1, Math.min(WINDOW, list.size))];
+        for (;;) {
+            int count = list.window(this, newestFirst, millis, id, window);
+            for (int i = 0; i < count; i++) {
+                if (!visitor.test(window[i])) {
+                    return;
+                }
+            }
+            if (count < window.length) {
+                return;
+            }
+            long last = window[count - 1];
+            millis = timestamp.getLong(last);
+            id = this.id.getLong(last);
+        }
+    }
+
+    /** Fills {@code window} from {@code rows[0, size)} with the rows past ({@code millis}, {@code id}) in walk order. */
+    private int window(long[] rows, int size, boolean newestFirst, long millis, long id, long[] window) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int order = HistoryRange.compare(timestamp.getLong(rows[mid]), this.id.getLong(rows[mid]), millis, id);
+            if (order < 0 || (order == 0 && !newestFirst)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int count = 0;
+        if (newestFirst) {
+            for (int i = lo - 1; i >= 0 && count < window.length; i--) {
+                window[count++] = rows[i];
+            }
+        } else {
+            for (int i = lo; i < size && count < window.length; i++) {
+                window[count++] = rows[i];
+            }
+        }
+        return count;
+    }
+
+    private boolean after(HistoryRange range, long row) {
+        return range.after(HistoryRange.nanosOfMillis(timestamp.getLong(row)), id.getLong(row));
+    }
+
+    private boolean before(HistoryRange range, long row) {
+        return range.before(HistoryRange.nanosOfMillis(timestamp.getLong(row)), id.getLong(row));
+    }
+
+    /** (timestamp, id) order, the order every row list is kept in. */
+    private int compareRows(long a, long b) {
+        return HistoryRange.compare(timestamp.getLong(a), id.getLong(a), timestamp.getLong(b), id.getLong(b));
+    }
+
+    /**
+     * An account's rows in (timestamp, id) order. Rows are stamped before they
+     * reach the store, so a late one now and then has to slide back past a
+     * few newer ones; readers never lock, and copy again if a slide ran while
+     * they were reading.
+     */
+    private static final class RowList {
+        private static final VarHandle VERSION;
+
+        static {
+            try {
+                VERSION = MethodHandles.lookup().findVarHandle(RowList.class, "version", int.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private long[] rows = new long[4];
+        private volatile int size;
+        // Odd while a slide is moving rows around.
+        private volatile int version;
+
+        // Only called under the store's lock.
+        void add(MappedTransactionStore store, long row) {
+            int n = size;
+            if (n == rows.length) {
+                rows = Arrays.copyOf(rows, n << 1);
+            }
+            if (n == 0 || store.compareRows(rows[n - 1], row) <= 0) {
+                rows[n] = row;
+                size = n + 1;
+                return;
+            }
+            int pos = n - 1;
+            while (pos > 0 && store.compareRows(rows[pos - 1], row) > 0) {
+                pos--;
+            }
+            VERSION.getAndAdd(this, 1);
+            System.arraycopy(rows, pos, rows, pos + 1, n - pos);
+            rows[pos] = row;
+            size = n + 1;
+            VERSION.getAndAdd(this, 1);
+        }
+
+        int window(MappedTransactionStore store, boolean newestFirst, long millis, long id, long[] window) {
+            for (;;) {
+                int stamp = stableVersion();
+                int n = size;
+                int count = store.window(rows, n, newestFirst, millis, id, window);
+                VarHandle.acquireFence();
+                if (version == stamp) {
+                    return count;
+                }
+            }
+        }
+
+        long[] collect(MappedTransactionStore store, HistoryRange range) {
+            long[] found = new long[range.limit];
+            for (;;) {
+                int stamp = stableVersion();
+                int n = size;
+                int count = store.scan(rows, n, range, found);
+                VarHandle.acquireFence();
+                if (version == stamp) {
+                    return Arrays.copyOf(found, count);
+                }
+            }
+        }
+
+        private int stableVersion() {
+            int stamp;
+            while (((stamp = version) & 1) != 0) {
+                Thread.onSpinWait();
+            }
+            return stamp;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.hdfc.ledger;
+
+import com.hdfc.enums.TransactionType;
+
+/**
+ * Receives an account's ledger rows one at a time without a {@code Transaction}
+ * being built for each. {@code incoming} is set for transfer rows that name
+ * the account as the destination. Timestamps are the rows' local date-times
+ * read as UTC, the way the mapped ledger stores them. Return false to stop
+ * the walk.
+ */
+@FunctionalInterface
+public interface RowVisitor {
+
+    boolean visit(TransactionType type, long amountMinor, long timestampMillis, boolean incoming);
+}
@@ -0,0 +1,16 @@
+package com.hdfc.ledger;
+
+import com.hdfc.enums.TransactionType;
+
+/**
+ * Receives an account's ledger rows oldest first, with everything a
+ * statement line needs and no {@code Transaction} built for each.
+ * {@code counterparty} is the other account of a transfer (the destination
+ * of an outgoing one, the sender of an incoming one) and null otherwise.
+ * Timestamps are read as UTC, as for {@link RowVisitor}.
+ */
+@FunctionalInterface
+public interface StatementRowVisitor {
+
+    void visit(long id, TransactionType type, long amountMinor, long timestampMillis, boolean incoming, String counterparty);
+}
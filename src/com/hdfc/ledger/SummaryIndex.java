@@ -0,0 +1,269 @@
+package com.hdfc.ledger;
+
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.TransactionType;
+import com.hdfc.repository.AccountDirectory;
+import com.hdfc.util.OrdinalTable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-account aggregates kept up to date as rows are appended to the ledger:
+ * count and sum per {@link TransactionType}, money in and out, the newest
+ * timestamp and a total in and out for every day the account was active.
+ * Reading a summary costs the same however long the history is.
+ *
+ * Aggregates are held by the account's {@link AccountDirectory} ordinal. They
+ * hold nothing the ledger does not; {@link #mismatches} compares them with an
+ * index rebuilt from the rows. A ledger store saves them with {@link #writeTo}
+ * so they need not be rebuilt on every start.
+ */
+public class SummaryIndex {
+
+    private static final int TYPE_COUNT = TransactionType.values().length;
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    private final AccountDirectory directory;
+    private volatile OrdinalTable<Aggregate> byAccount = new OrdinalTable<>();
+
+    public SummaryIndex() {
+        this(new AccountDirectory());
+    }
+
+    public SummaryIndex(AccountDirectory directory) {
+        this.directory = directory;
+    }
+
+    public void add(Transaction transaction) {
+        add(transaction.getAccountNo(), transaction.getToAccountNo(), transaction.getType(),
+                transaction.getAmountMinor(), transaction.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    public void add(TransactionRow row) {
+        add(row.getAccountNo(), row.getToAccountNo(), row.getType(), row.getAmountMinor(), row.getTimestampMillis());
+    }
+
+    /** Counts the row against its owner and, for a transfer, its destination. */
+    public void add(String accountNo, String toAccountNo, TransactionType type, long amountMinor, long timestampMillis) {
+        int ordinal = directory.intern(accountNo);
+        aggregate(ordinal).add(type, amountMinor, timestampMillis, false);
+        if (toAccountNo != null) {
+            int toOrdinal = directory.intern(toAccountNo);
+            if (toOrdinal != ordinal) {
+                aggregate(toOrdinal).add(type, amountMinor, timestampMillis, true);
+            }
+        }
+    }
+
+    public AccountSummary summaryOf(String accountNo) {
+        Aggregate aggregate = byAccount.get(directory.ordinalOf(accountNo));
+        return aggregate == null ? Aggregate.EMPTY.summary(accountNo) : aggregate.summary(accountNo);
+    }
+
+    /** Active days from {@code from} up to, but not including, {@code until}, oldest first. */
+    public List<DailyTotal> dailyTotalsOf(String accountNo, LocalDate from, LocalDate until) {
+        Aggregate aggregate = byAccount.get(directory.ordinalOf(accountNo));
+        return aggregate == null ? Collections.emptyList() : aggregate.daily(from.toEpochDay(), until.toEpochDay());
+    }
+
+    /** Accounts whose aggregates differ from {@code expected}'s. */
+    public List<String> mismatches(SummaryIndex expected) {
+        List<String> differing = new ArrayList<>();
+        for (int ordinal = 0; ordinal < directory.size(); ordinal++) {
+            Aggregate aggregate = byAccount.get(ordinal);
+            if (aggregate != null) {
+                String accountNo = directory.nameOf(ordinal);
+                if (!Arrays.equals(aggregate.state(), expected.aggregateOrEmpty(accountNo).state())) {
+                    differing.add(accountNo);
+                }
+            }
+        }
+        for (int ordinal = 0; ordinal < expected.directory.size(); ordinal++) {
+            String accountNo = expected.directory.nameOf(ordinal);
+            if (expected.byAccount.get(ordinal) != null && byAccount.get(directory.ordinalOf(accountNo)) == null) {
+                differing.add(accountNo);
+            }
+        }
+        return differing;
+    }
+
+    public void clear() {
+        byAccount = new OrdinalTable<>();
+    }
+
+    /** Every aggregate, keyed by account number. Adds must not run meanwhile. */
+    public void writeTo(DataOutput out) throws IOException {
+        int accounts = directory.size();
+        int count = 0;
+        for (int ordinal = 0; ordinal < accounts; ordinal++) {
+            if (byAccount.get(ordinal) != null) {
+                count++;
+            }
+        }
+        out.writeInt(count);
+        for (int ordinal = 0; ordinal < accounts; ordinal++) {
+            Aggregate aggregate = byAccount.get(ordinal);
+            if (aggregate != null) {
+                out.writeUTF(directory.nameOf(ordinal));
+                aggregate.writeTo(out);
+            }
+        }
+    }
+
+    /** Replaces the aggregates with those {@link #writeTo} wrote. */
+    public void readFrom(DataInput in) throws IOException {
+        OrdinalTable<Aggregate> read = new OrdinalTable<>();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            int ordinal = directory.intern(in.readUTF());
+            read.putIfAbsent(ordinal, Aggregate.readFrom(in));
+        }
+        byAccount = read;
+    }
+
+    private Aggregate aggregate(int ordinal) {
+        Aggregate aggregate = byAccount.get(ordinal);
+        return aggregate != null ? aggregate : byAccount.computeIfAbsent(ordinal, k -> new Aggregate());
+    }
+
+    private Aggregate aggregateOrEmpty(String accountNo) {
+        Aggregate aggregate = byAccount.get(directory.ordinalOf(accountNo));
+        return aggregate == null ? Aggregate.EMPTY : aggregate;
+    }
+
+    private static final class Aggregate {
+        static final Aggregate EMPTY = new Aggregate();
+
+        // counts in [0, TYPE_COUNT), sums in [TYPE_COUNT, 2 * TYPE_COUNT)
+        private final long[] totals = new long[TYPE_COUNT * 2];
+        private long inMinor;
+        private long outMinor;
+        private long lastActivityMillis = Long.MIN_VALUE;
+        // Epoch days in ascending order, with their in and out totals side by side.
+        private int[] days = new int[2];
+        private long[] flows = new long[4];
+        private int dayCount;
+
+        synchronized void add(TransactionType type, long amountMinor, long timestampMillis, boolean incoming) {
+            int ordinal = type.ordinal();
+            totals[ordinal]++;
+            totals[TYPE_COUNT + ordinal] += amountMinor;
+            boolean in = isCredit(type, incoming);
+            if (in) {
+                inMinor += amountMinor;
+            } else {
+                outMinor += amountMinor;
+            }
+            lastActivityMillis = Math.max(lastActivityMillis, timestampMillis);
+            int day = slot((int) Math.floorDiv(timestampMillis, DAY_MILLIS));
+            flows[2 * day + (in ? 0 : 1)] += amountMinor;
+        }
+
+        synchronized AccountSummary summary(String accountNo) {
+            return new AccountSummary(accountNo, Arrays.copyOfRange(totals, 0, TYPE_COUNT),
+                    Arrays.copyOfRange(totals, TYPE_COUNT, TYPE_COUNT * 2), inMinor, outMinor, lastActivityMillis);
+        }
+
+        synchronized List<DailyTotal> daily(long fromDay, long untilDay) {
+            List<DailyTotal> result = new ArrayList<>();
+            int i = Arrays.binarySearch(days, 0, dayCount, (int) fromDay);
+            for (i = i < 0 ? -i - 1 : i; i < dayCount && days[i] < untilDay; i++) {
+                result.add(new DailyTotal(LocalDate.ofEpochDay(days[i]), flows[2 * i], flows[2 * i + 1]));
+            }
+            return result;
+        }
+
+        /** Everything the aggregate holds, flattened, for comparing two of them. */
+        synchronized long[] state() {
+            long[] state = Arrays.copyOf(totals, totals.length + 3 + dayCount * 3);
+            int i = totals.length;
+            state[i++] = inMinor;
+            state[i++] = outMinor;
+            state[i++] = lastActivityMillis;
+            for (int d = 0; d < dayCount; d++) {
+                state[i++] = days[d];
+            }
+            System.arraycopy(flows, 0, state, i, dayCount * 2);
+            return state;
+        }
+
+        synchronized void writeTo(DataOutput out) throws IOException {
+            for (long total : totals) {
+                out.writeLong(total);
+            }
+            out.writeLong(inMinor);
+            out.writeLong(outMinor);
+            out.writeLong(lastActivityMillis);
+            out.writeInt(dayCount);
+            for (int d = 0; d < dayCount; d++) {
+                out.writeInt(days[d]);
+                out.writeLong(flows[2 * d]);
+                out.writeLong(flows[2 * d + 1]);
+            }
+        }
+
+        static Aggregate readFrom(DataInput in) throws IOException {
+            Aggregate aggregate = new Aggregate();
+            for (int i = 0; i < aggregate.totals.length; i++) {
+                aggregate.totals[i] = in.readLong();
+            }
+            aggregate.inMinor = in.readLong();
+            aggregate.outMinor = in.readLong();
+            aggregate.lastActivityMillis = in.readLong();
+            int dayCount = in.readInt();
+            aggregate.days = new int[Math.max(2, dayCount)];
+            aggregate.flows = new long[aggregate.days.length * 2];
+            for (int d = 0; d < dayCount; d++) {
+                aggregate.days[d] = in.readInt();
+                aggregate.flows[2 * d] = in.readLong();
+                aggregate.flows[2 * d + 1] = in.readLong();
+            }
+            aggregate.dayCount = dayCount;
+            return aggregate;
+        }
+
+        /** Index of {@code day}, added in place if the account had no rows on it yet. */
+        private int slot(int day) {
+            // Rows nearly always land on the newest day or the one after it.
+            if (dayCount > 0 && days[dayCount - 1] == day) {
+                return dayCount - 1;
+            }
+            int pos = dayCount > 0 && days[dayCount - 1] > day ? Arrays.binarySearch(days, 0, dayCount, day) : -dayCount - 1;
+            if (pos >= 0) {
+                return pos;
+            }
+            pos = -pos - 1;
+            if (dayCount == days.length) {
+                days = Arrays.copyOf(days, dayCount << 1);
+                flows = Arrays.copyOf(flows, dayCount << 2);
+            }
+            System.arraycopy(days, pos, days, pos + 1, dayCount - pos);
+            System.arraycopy(flows, 2 * pos, flows, 2 * pos + 2, 2 * (dayCount - pos));
+            days[pos] = day;
+            flows[2 * pos] = 0;
+            flows[2 * pos + 1] = 0;
+            dayCount++;
+            return pos;
+        }
+
+        private static boolean isCredit(TransactionType type, boolean incoming) {
+            switch (type) {
+                case DEPOSIT:
+                case INTEREST:
+                    return true;
+                case TRANSFER:
+                    return incoming;
+                default:
+                    return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.hdfc.ledger;
+
+import com.hdfc.Entities.Transaction;
+import com.hdfc.repository.AccountDirectory;
+import com.hdfc.util.OrdinalTable;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-account secondary index over the ledger. Every account keeps its own
+ * list of the rows it owns, ordered by (timestamp, id), plus a counterparty
+ * list for transfer rows that name it as the destination. Lists are held by
+ * the account's {@link AccountDirectory} ordinal.
+ */
+public class TransactionIndex {
+
+    private final AccountDirectory directory;
+    private volatile OrdinalTable<AccountHistory> byAccount = new OrdinalTable<>();
+    private volatile OrdinalTable<AccountHistory> byCounterparty = new OrdinalTable<>();
+
+    public TransactionIndex() {
+        this(new AccountDirectory());
+    }
+
+    public TransactionIndex(AccountDirectory directory) {
+        this.directory = directory;
+    }
+
+    public void add(Transaction transaction) {
+        String accountNo = transaction.getAccountNo();
+        String toAccountNo = transaction.getToAccountNo();
+
+        int ordinal = directory.intern(accountNo);
+        byAccount.computeIfAbsent(ordinal, k -> new AccountHistory()).append(transaction);
+        if (toAccountNo != null) {
+            int toOrdinal = directory.intern(toAccountNo);
+            if (toOrdinal != ordinal) {
+                byCounterparty.computeIfAbsent(toOrdinal, k -> new AccountHistory()).append(transaction);
+            }
+        }
+    }
+
+    /** Oldest first. */
+    public List<Transaction> historyOf(String accountNo) {
+        int ordinal = directory.ordinalOf(accountNo);
+        return merge(snapshot(byAccount, ordinal), snapshot(byCounterparty, ordinal));
+    }
+
+    /** Newest first. */
+    public List<Transaction> recentHistoryOf(String accountNo) {
+        List<Transaction> history = new ArrayList<>(historyOf(accountNo));
+        Collections.reverse(history);
+        return history;
+    }
+
+    /**
+     * One page of {@code query}. Each list is binary searched for the page's
+     * start and read for at most a page, so the cost does not grow with the
+     * account's history unless a type filter skips most of it.
+     */
+    public HistoryPage page(HistoryQuery query, String cursor) {
+        HistoryRange range = HistoryRange.of(query, cursor);
+        int ordinal = directory.ordinalOf(query.getAccountNo());
+        return range.page(range.merge(collect(byAccount, ordinal, range), collect(byCounterparty, ordinal, range)));
+    }
+
+    /** Newest first; see {@link RowVisitor}. */
+    public void visitNewestFirst(String accountNo, RowVisitor visitor) {
+        List<Transaction> history = historyOf(accountNo);
+        for (int i = history.size() - 1; i >= 0; i--) {
+            Transaction transaction = history.get(i);
+            long millis = transaction.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli();
+            if (!visitor.visit(transaction.getType(), transaction.getAmountMinor(), millis, !accountNo.equals(transaction.getAccountNo()))) {
+                return;
+            }
+        }
+    }
+
+    /** Oldest first; see {@link StatementRowVisitor}. */
+    public void visitOldestFirst(String accountNo, StatementRowVisitor visitor) {
+        visitOldestFirst(accountNo, Long.MIN_VALUE, Long.MAX_VALUE, visitor);
+    }
+
+    /** As {@link #visitOldestFirst(String, StatementRowVisitor)}, over only the rows stamped from {@code fromMillis} up to {@code untilMillis}. */
+    public void visitOldestFirst(String accountNo, long fromMillis, long untilMillis, StatementRowVisitor visitor) {
+        int ordinal = directory.ordinalOf(accountNo);
+        Transaction[] own = slice(byAccount, ordinal, fromMillis, untilMillis);
+        Transaction[] incoming = slice(byCounterparty, ordinal, fromMillis, untilMillis);
+        int i = 0;
+        int j = 0;
+        while (i < own.length || j < incoming.length) {
+            boolean takeOwn = j == incoming.length || (i < own.length && HistoryRange.compare(own[i], incoming[j]) <= 0);
+            Transaction transaction = takeOwn ? own[i++] : incoming[j++];
+            visitor.visit(transaction.getId(), transaction.getType(), transaction.getAmountMinor(),
+                    transaction.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli(), !takeOwn,
+                    takeOwn ? transaction.getToAccountNo() : transaction.getAccountNo());
+        }
+    }
+
+    public int countFor(String accountNo) {
+        int ordinal = directory.ordinalOf(accountNo);
+        return snapshot(byAccount, ordinal).length + snapshot(byCounterparty, ordinal).length;
+    }
+
+    public void clear() {
+        byAccount = new OrdinalTable<>();
+        byCounterparty = new OrdinalTable<>();
+    }
+
+    private static Transaction[] snapshot(OrdinalTable<AccountHistory> index, int ordinal) {
+        AccountHistory history = index.get(ordinal);
+        return history == null ? AccountHistory.EMPTY : history.snapshot();
+    }
+
+    private static Transaction[] slice(OrdinalTable<AccountHistory> index, int ordinal, long fromMillis, long untilMillis) {
+        AccountHistory history = index.get(ordinal);
+        return history == null ? AccountHistory.EMPTY : history.slice(fromMillis, untilMillis);
+    }
+
+    private static List<Transaction> collect(OrdinalTable<AccountHistory> index, int ordinal, HistoryRange range) {
+        AccountHistory history = index.get(ordinal);
+        return history == null ? Collections.emptyList() : history.collect(range);
+    }
+
+    private static List<Transaction> merge(Transaction[] own, Transaction[] incoming) {
+        if (incoming.length == 0) {
+            return Arrays.asList(own);
+        }
+        if (own.length == 0) {
+            return Arrays.asList(incoming);
+        }
+
+        List<Transaction> merged = new ArrayList<>(own.length + incoming.length);
+        int i = 0;
+        int j = 0;
+        while (i < own.length && j < incoming.length) {
+            if (HistoryRange.compare(own[i], incoming[j]) <= 0) {
+                merged.add(own[i++]);
+            } else {
+                merged.add(incoming[j++]);
+            }
+        }
+        while (i < own.length) {
+            merged.add(own[i++]);
+        }
+        while (j < incoming.length) {
+            merged.add(incoming[j++]);
+        }
+        return merged;
+    }
+
+    private static final class AccountHistory {
+        static final Transaction[] EMPTY = new Transaction[0];
+
+        private Transaction[] entries = new Transaction[8];
+        private int size;
+
+        synchronized void append(Transaction transaction) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size << 1);
+            }
+
+            // Rows are stamped before they are appended, so two racing writers can
+            // arrive slightly out of order; slide the late one back into place.
+            int pos = size;
+            while (pos > 0 && HistoryRange.compare(entries[pos - 1], transaction) > 0) {
+                entries[pos] = entries[pos - 1];
+                pos--;
+            }
+            entries[pos] = transaction;
+            size++;
+        }
+
+        synchronized Transaction[] snapshot() {
+            return Arrays.copyOf(entries, size);
+        }
+
+        /** The rows stamped from {@code fromMillis} up to {@code untilMillis}. */
+        synchronized Transaction[] slice(long fromMillis, long untilMillis) {
+            int lo = firstAt(0, fromMillis);
+            return Arrays.copyOfRange(entries, lo, firstAt(lo, untilMillis));
+        }
+
+        /** Up to {@code range.limit} rows inside the range, in page order. */
+        synchronized List<Transaction> collect(HistoryRange range) {
+            List<Transaction> rows = new ArrayList<>();
+            if (range.newestFirst) {
+                for (int i = firstNotBefore(range) - 1; i >= 0 && rows.size() < range.limit && range.after(entries[i]); i--) {
+                    if (range.accepts(entries[i])) {
+                        rows.add(entries[i]);
+                    }
+                }
+            } else {
+                for (int i = firstAfter(range); i < size && rows.size() < range.limit && range.before(entries[i]); i++) {
+                    if (range.accepts(entries[i])) {
+                        rows.add(entries[i]);
+                    }
+                }
+            }
+            return rows;
+        }
+
+        private int firstAfter(HistoryRange range) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (range.after(entries[mid])) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+
+        private int firstAt(int lo, long millis) {
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (entries[mid].getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli() < millis) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private int firstNotBefore(HistoryRange range) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (range.before(entries[mid])) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.hdfc.ledger;
+
+import com.hdfc.Entities.Transaction;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Append-only, in-memory ledger that never locks. An append claims the next
+ * position with one atomic increment and writes its row into a fixed-size
+ * chunk; chunks are created on first use and never move, so nothing is ever
+ * copied as the ledger grows.
+ *
+ * A position is claimed before its row is written, so a reader can run into
+ * a row that is still on its way. {@link #get} returns null for those and
+ * {@link #forEach} skips them.
+ */
+public class TransactionLedger {
+
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MAX_CHUNKS = 1 << 17;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<Transaction>> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final AtomicLong claimed = new AtomicLong();
+
+    /** Returns the row's position. */
+    public long append(Transaction transaction) {
+        long position = claimed.getAndIncrement();
+        int chunk = (int) (position >>> CHUNK_BITS);
+        if (chunk >= MAX_CHUNKS) {
+            claimed.decrementAndGet();
+            throw new IllegalStateException("Transaction ledger is full");
+        }
+        chunk(chunk).setRelease((int) position & CHUNK_MASK, transaction);
+        return position;
+    }
+
+    /** The row at {@code position}, or null if it has not been written yet. */
+    public Transaction get(long position) {
+        if (position < 0 || position >= claimed.get()) {
+            throw new IndexOutOfBoundsException("No row " + position);
+        }
+        AtomicReferenceArray<Transaction> chunk = chunks.getAcquire((int) (position >>> CHUNK_BITS));
+        return chunk == null ? null : chunk.getAcquire((int) position & CHUNK_MASK);
+    }
+
+    /** Rows appended or being appended. */
+    public long size() {
+        return claimed.get();
+    }
+
+    /** Visits the written rows in position order. */
+    public void forEach(Consumer<Transaction> visitor) {
+        long size = claimed.get();
+        for (int c = 0; (long) c << CHUNK_BITS < size; c++) {
+            AtomicReferenceArray<Transaction> chunk = chunks.getAcquire(c);
+            if (chunk == null) {
+                continue;
+            }
+            int end = (int) Math.min(CHUNK_SIZE, size - ((long) c << CHUNK_BITS));
+            for (int i = 0; i < end; i++) {
+                Transaction transaction = chunk.getAcquire(i);
+                if (transaction != null) {
+                    visitor.accept(transaction);
+                }
+            }
+        }
+    }
+
+    private AtomicReferenceArray<Transaction> chunk(int index) {
+        AtomicReferenceArray<Transaction> chunk = chunks.getAcquire(index);
+        if (chunk == null) {
+            // Whoever loses the race drops its array and uses the winner's.
+            chunks.compareAndExchange(index, null, new AtomicReferenceArray<>(CHUNK_SIZE));
+            chunk = chunks.getAcquire(index);
+        }
+        return chunk;
+    }
+}
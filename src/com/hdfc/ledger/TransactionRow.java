@@ -0,0 +1,80 @@
+package com.hdfc.ledger;
+
+import com.hdfc.Entities.Money;
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Reusable view over one row of a {@link MappedTransactionStore}. Moving it to
+ * another row costs nothing; getters read straight from the mapped columns.
+ * Call {@link #toTransaction()} only when an object has to leave the store.
+ */
+public final class TransactionRow {
+
+    private final MappedTransactionStore store;
+    private long row = -1;
+
+    TransactionRow(MappedTransactionStore store) {
+        this.store = store;
+    }
+
+    public TransactionRow moveTo(long row) {
+        this.row = row;
+        return this;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public long getId() {
+        return store.id.getLong(row);
+    }
+
+    /** Amount in paise. */
+    public long getAmountMinor() {
+        return store.amount.getLong(row);
+    }
+
+    public BigDecimal getAmount() {
+        return BigDecimal.valueOf(getAmountMinor(), 2);
+    }
+
+    public int getAccountOrdinal() {
+        return store.account.getInt(row);
+    }
+
+    public String getAccountNo() {
+        return store.ordinals.nameOf(getAccountOrdinal());
+    }
+
+    /** Ordinal of the transfer destination, or -1. */
+    public int getCounterpartyOrdinal() {
+        return store.counterparty.getInt(row);
+    }
+
+    public String getToAccountNo() {
+        return store.ordinals.nameOf(getCounterpartyOrdinal());
+    }
+
+    public long getTimestampMillis() {
+        return store.timestamp.getLong(row);
+    }
+
+    public LocalDateTime getTimestamp() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(getTimestampMillis()), ZoneOffset.UTC);
+    }
+
+    public TransactionType getType() {
+        return TransactionType.values()[store.type.getByte(row)];
+    }
+
+    public Transaction toTransaction() {
+        return new Transaction(getId(), Money.ofMinor(getAmountMinor()), getAccountNo(), getTimestamp(), getType(), getToAccountNo());
+    }
+}
@@ -0,0 +1,227 @@
+package com.hdfc.load;
+
+import com.hdfc.enums.ExecutionMode;
+import com.hdfc.enums.TransactionType;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Settings for a load run, parsed from {@code key=value} arguments:
+ * <pre>
+ * customers=100       customers to register
+ * accounts=1000       accounts to open, spread over the customers
+ * balance=10000       opening balance of every account
+ * skew=0.99           Zipf exponent for picking accounts (0 = uniform)
+ * hot=0               most popular accounts to switch to HOT balance mode
+ * mix=deposit:40,withdraw:30,transfer:30
+ * rate=0              target operations/sec; 0 runs closed-loop
+ * concurrency=64      operations in flight at most
+ * duration=10         seconds
+ * executor=virtual    virtual (a thread per operation) or fixed (a thread pool)
+ * threads=16          pool size for executor=fixed
+ * mode=locking        locking (per-account locks) or sequenced (single writer)
+ * data=               data directory; blank runs an in-memory bank
+ * </pre>
+ */
+public class LoadConfig {
+
+    private int customers = 100;
+    private int accounts = 1000;
+    private long balance = 10_000;
+    private double skew = 0.99;
+    private int hot;
+    private final Map<TransactionType, Integer> mix = new EnumMap<>(TransactionType.class);
+    private long rate;
+    private int concurrency = 64;
+    private int duration = 10;
+    private boolean virtualThreads = true;
+    private int threads = 16;
+    private ExecutionMode mode = ExecutionMode.LOCKING;
+    private String data = "";
+
+    public LoadConfig() {
+        mix.put(TransactionType.DEPOSIT, 40);
+        mix.put(TransactionType.WITHDRAW, 30);
+        mix.put(TransactionType.TRANSFER, 30);
+    }
+
+    public static LoadConfig parse(String... args) {
+        LoadConfig config = new LoadConfig();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            config.set(arg.substring(0, eq).trim().toLowerCase(Locale.ROOT), arg.substring(eq + 1).trim());
+        }
+        config.validate();
+        return config;
+    }
+
+    private void set(String key, String value) {
+        try {
+            switch (key) {
+                case "customers":
+                    customers = Integer.parseInt(value);
+                    break;
+                case "accounts":
+                    accounts = Integer.parseInt(value);
+                    break;
+                case "balance":
+                    balance = Long.parseLong(value);
+                    break;
+                case "skew":
+                    skew = Double.parseDouble(value);
+                    break;
+                case "hot":
+                    hot = Integer.parseInt(value);
+                    break;
+                case "mix":
+                    parseMix(value);
+                    break;
+                case "rate":
+                    rate = Long.parseLong(value);
+                    break;
+                case "concurrency":
+                    concurrency = Integer.parseInt(value);
+                    break;
+                case "duration":
+                    duration = Integer.parseInt(value);
+                    break;
+                case "executor":
+                    virtualThreads = parseExecutor(value);
+                    break;
+                case "threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "mode":
+                    mode = ExecutionMode.valueOf(value.toUpperCase(Locale.ROOT));
+                    break;
+                case "data":
+                    data = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown setting: " + key);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+        }
+    }
+
+    private static boolean parseExecutor(String value) {
+        if (value.equalsIgnoreCase("virtual")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("fixed")) {
+            return false;
+        }
+        throw new IllegalArgumentException("executor is virtual or fixed, got " + value);
+    }
+
+    private void parseMix(String value) {
+        mix.clear();
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like deposit:40, got " + part);
+            }
+            TransactionType type = TransactionType.valueOf(weight[0].trim().toUpperCase(Locale.ROOT));
+            if (type == TransactionType.INTEREST || type == TransactionType.PENALTY) {
+                throw new IllegalArgumentException("Mix covers deposit, withdraw and transfer, got " + weight[0].trim());
+            }
+            mix.put(type, Integer.parseInt(weight[1].trim()));
+        }
+    }
+
+    private void validate() {
+        if (customers < 1 || accounts < 1 || concurrency < 1 || duration < 1 || threads < 1) {
+            throw new IllegalArgumentException("customers, accounts, concurrency, duration and threads must be positive");
+        }
+        if (balance < 0 || skew < 0 || hot < 0 || rate < 0) {
+            throw new IllegalArgumentException("balance, skew, hot and rate cannot be negative");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Operation mix needs a positive weight");
+        }
+        if (mix.getOrDefault(TransactionType.TRANSFER, 0) > 0 && accounts < 2) {
+            throw new IllegalArgumentException("Transfers need at least two accounts");
+        }
+    }
+
+    public int getCustomers() {
+        return customers;
+    }
+
+    public int getAccounts() {
+        return accounts;
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+
+    public double getSkew() {
+        return skew;
+    }
+
+    public int getHot() {
+        return hot;
+    }
+
+    /** Relative weight of each operation. */
+    public Map<TransactionType, Integer> getMix() {
+        return mix;
+    }
+
+    public long getRate() {
+        return rate;
+    }
+
+    public boolean isClosedLoop() {
+        return rate == 0;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    private String mixText() {
+        StringBuilder text = new StringBuilder();
+        mix.forEach((type, weight) -> text.append(text.length() == 0 ? "" : ",").append(type.name().toLowerCase(Locale.ROOT)).append(':').append(weight));
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "customers=" + customers + " accounts=" + accounts + " balance=" + balance + " skew=" + skew
+                + " hot=" + hot + " mix=" + mixText() + " " + (isClosedLoop() ? "closed-loop" : "rate=" + rate + "/s")
+                + " concurrency=" + concurrency + " duration=" + duration + "s"
+                + " executor=" + (virtualThreads ? "virtual" : "fixed(" + threads + ")")
+                + " mode=" + mode.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,236 @@
+package com.hdfc.load;
+
+import com.hdfc.Entities.Account;
+import com.hdfc.Entities.Customer;
+import com.hdfc.Entities.Money;
+import com.hdfc.Exception.InsufficientBalance;
+import com.hdfc.Exception.InvalidAccountException;
+import com.hdfc.Exception.InvalidDepositValue;
+import com.hdfc.enums.AccountType;
+import com.hdfc.enums.AdmissionPolicy;
+import com.hdfc.enums.BalanceMode;
+import com.hdfc.enums.TransactionType;
+import com.hdfc.service.BankService;
+import com.hdfc.service.OperationExecutor;
+import com.hdfc.util.LatencyHistogram;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives a {@link BankService} with synthetic traffic. It sets up the
+ * configured customers and accounts, then one dispatcher thread issues
+ * operations onto an executor for the configured duration, never letting more
+ * than {@code concurrency} be in flight.
+ *
+ * Closed-loop runs issue a new operation as soon as one finishes. Open-loop
+ * runs issue them on a fixed schedule at the target rate and time each one
+ * from when it was due, so a stall shows up in the percentiles instead of
+ * quietly lowering the offered load.
+ *
+ * Usage: LoadGenerator [key=value ...] (see {@link LoadConfig})
+ */
+public class LoadGenerator {
+
+    private static final String CUSTOMER_PREFIX = "LOAD";
+
+    private final BankService bank;
+    private final LoadConfig config;
+    private final Executor executor;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<TransactionType, LatencyHistogram> latencyByType = new EnumMap<>(TransactionType.class);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder depositedPaise = new LongAdder();
+    private final LongAdder withdrawnPaise = new LongAdder();
+
+    public LoadGenerator(BankService bank, LoadConfig config, Executor executor) {
+        this.bank = bank;
+        this.config = config;
+        this.executor = executor;
+        for (TransactionType type : TransactionType.values()) {
+            latencyByType.put(type, new LatencyHistogram());
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadConfig config = LoadConfig.parse(args);
+        System.out.println("Load: " + config);
+        boolean conserved;
+        if (config.isVirtualThreads()) {
+            try (OperationExecutor executor = new OperationExecutor(config.getConcurrency(), AdmissionPolicy.BLOCK, Duration.ZERO)) {
+                conserved = runHeadless(config, executor);
+            }
+        } else {
+            ExecutorService pool = Executors.newFixedThreadPool(config.getThreads());
+            try {
+                conserved = runHeadless(config, pool);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        if (!conserved) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean runHeadless(LoadConfig config, Executor executor) throws IOException, InterruptedException {
+        try (BankService bank = config.getData().isBlank()
+                ? new BankService(config.getMode()) : new BankService(Path.of(config.getData()), config.getMode())) {
+            LoadReport report = new LoadGenerator(bank, config, executor).run();
+            System.out.println(report);
+            return report.isConserved();
+        }
+    }
+
+    public LoadReport run() throws InterruptedException {
+        List<String> accountNos = setUpAccounts();
+        ZipfSampler accounts = new ZipfSampler(accountNos.size(), config.getSkew());
+        TransactionType[] operations = weightedOperations(config);
+        Random random = new Random();
+        BigDecimal openingTotal = bank.totalBalance();
+
+        int concurrency = config.getConcurrency();
+        Semaphore inFlight = new Semaphore(concurrency);
+        long rate = config.getRate();
+        long start = System.nanoTime();
+        long deadline = start + config.getDuration() * 1_000_000_000L;
+
+        for (long issued = 0; ; issued++) {
+            long due = rate > 0 ? start + (long) (issued * 1e9 / rate) : 0;
+            if (rate > 0) {
+                if (due >= deadline) {
+                    break;
+                }
+                waitUntil(due);
+            } else if (System.nanoTime() >= deadline) {
+                break;
+            }
+            inFlight.acquire();
+            long began = rate > 0 ? due : System.nanoTime();
+
+            TransactionType type = operations[random.nextInt(operations.length)];
+            String accountNo = accountNos.get(accounts.next(random));
+            String toAccountNo = null;
+            if (type == TransactionType.TRANSFER) {
+                do {
+                    toAccountNo = accountNos.get(accounts.next(random));
+                } while (toAccountNo.equals(accountNo));
+            }
+            Money amount = Money.ofMinor(100 + random.nextInt(50_000));
+            String to = toAccountNo;
+            try {
+                executor.execute(() -> {
+                    try {
+                        perform(type, accountNo, to, amount, began);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                inFlight.release();
+            }
+        }
+
+        inFlight.acquire(concurrency);
+        long elapsed = System.nanoTime() - start;
+        for (LatencyHistogram histogram : latencyByType.values()) {
+            latency.add(histogram);
+        }
+        BigDecimal expected = openingTotal
+                .add(BigDecimal.valueOf(depositedPaise.sum(), 2))
+                .subtract(BigDecimal.valueOf(withdrawnPaise.sum(), 2));
+        return new LoadReport(config, elapsed, succeeded.sum(), rejected.sum(), failed.sum(),
+                latency, latencyByType, expected, bank.totalBalance());
+    }
+
+    private void perform(TransactionType type, String accountNo, String toAccountNo, Money amount, long began) {
+        try {
+            switch (type) {
+                case DEPOSIT:
+                    bank.deposit(accountNo, amount);
+                    depositedPaise.add(amount.getMinor());
+                    break;
+                case WITHDRAW:
+                    bank.withdraw(accountNo, amount);
+                    withdrawnPaise.add(amount.getMinor());
+                    break;
+                case TRANSFER:
+                    bank.transfer(accountNo, toAccountNo, amount);
+                    break;
+            }
+            succeeded.increment();
+        } catch (InsufficientBalance | InvalidDepositValue | InvalidAccountException e) {
+            rejected.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+        } finally {
+            latencyByType.get(type).record(System.nanoTime() - began);
+        }
+    }
+
+    /** Registers the customers, opens the accounts and returns them, most popular first. */
+    private List<String> setUpAccounts() {
+        BigDecimal balance = BigDecimal.valueOf(config.getBalance()).setScale(2);
+        List<String> customerIds = new ArrayList<>();
+        for (int c = 0; c < config.getCustomers(); c++) {
+            String customerId = String.format("%s%06d", CUSTOMER_PREFIX, c);
+            bank.registerCustomer(new Customer(customerId, "Load Customer " + c, Long.toString(9_000_000_000L + c),
+                    "load" + c + "@example.com", "Load@1234", LocalDate.of(1990, 1, 1)));
+            customerIds.add(customerId);
+        }
+
+        List<String> accountNos = new ArrayList<>();
+        for (int a = 0; a < config.getAccounts(); a++) {
+            Account account = bank.openAccount(customerIds.get(a % customerIds.size()), AccountType.CURRENT, balance);
+            accountNos.add(account.getAccoutNo());
+        }
+        // Popularity should not follow opening order.
+        Collections.shuffle(accountNos, new Random(42));
+        for (int a = 0; a < Math.min(config.getHot(), accountNos.size()); a++) {
+            bank.findAccount(accountNos.get(a)).setBalanceMode(BalanceMode.HOT);
+        }
+        return accountNos;
+    }
+
+    /** 100 slots filled in proportion to the mix, so picking one is a single random index. */
+    static TransactionType[] weightedOperations(LoadConfig config) {
+        int total = config.getMix().values().stream().mapToInt(Integer::intValue).sum();
+        List<TransactionType> slots = new ArrayList<>();
+        config.getMix().forEach((type, weight) -> {
+            for (int i = 0; i < Math.round(weight * 100.0f / total); i++) {
+                slots.add(type);
+            }
+        });
+        if (slots.isEmpty()) {
+            slots.addAll(config.getMix().keySet());
+        }
+        return slots.toArray(new TransactionType[0]);
+    }
+
+    private static void waitUntil(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.hdfc.load;
+
+import com.hdfc.enums.TransactionType;
+import com.hdfc.util.LatencyHistogram;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/** What a load run achieved, and whether the money still adds up. */
+public class LoadReport {
+
+    private final LoadConfig config;
+    private final long elapsedNanos;
+    private final long succeeded;
+    private final long rejected;
+    private final long failed;
+    private final LatencyHistogram latency;
+    private final Map<TransactionType, LatencyHistogram> latencyByType;
+    private final BigDecimal expectedTotal;
+    private final BigDecimal actualTotal;
+
+    LoadReport(LoadConfig config, long elapsedNanos, long succeeded, long rejected, long failed,
+               LatencyHistogram latency, Map<TransactionType, LatencyHistogram> latencyByType,
+               BigDecimal expectedTotal, BigDecimal actualTotal) {
+        this.config = config;
+        this.elapsedNanos = elapsedNanos;
+        this.succeeded = succeeded;
+        this.rejected = rejected;
+        this.failed = failed;
+        this.latency = latency;
+        this.latencyByType = latencyByType;
+        this.expectedTotal = expectedTotal;
+        this.actualTotal = actualTotal;
+    }
+
+    public long getOperations() {
+        return succeeded + rejected + failed;
+    }
+
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    /** Refused by business rules (insufficient balance and the like) or by admission control. */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /** Ended in an unexpected error. */
+    public long getFailed() {
+        return failed;
+    }
+
+    public double getThroughput() {
+        return getOperations() / (elapsedNanos / 1e9);
+    }
+
+    public double getRejectionRate() {
+        return getOperations() == 0 ? 0 : (double) rejected / getOperations();
+    }
+
+    /** Latency in nanoseconds; in open-loop runs it is measured from each operation's scheduled start. */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public Map<TransactionType, LatencyHistogram> getLatencyByType() {
+        return latencyByType;
+    }
+
+    public BigDecimal getExpectedTotal() {
+        return expectedTotal;
+    }
+
+    public BigDecimal getActualTotal() {
+        return actualTotal;
+    }
+
+    /** Sum of all balances equals the opening total plus deposits minus withdrawals. */
+    public boolean isConserved() {
+        return expectedTotal.compareTo(actualTotal) == 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%,d operations in %.2fs: %,.0f ops/sec%n", getOperations(), elapsedNanos / 1e9, getThroughput()));
+        out.append(String.format("succeeded=%,d rejected=%,d (%.2f%%) failed=%,d%n", succeeded, rejected, getRejectionRate() * 100, failed));
+        out.append("latency  ").append(latency.summary(1000, "us")).append(System.lineSeparator());
+        latencyByType.forEach((type, histogram) -> {
+            if (histogram.getCount() > 0) {
+                out.append(String.format("%-8s %s%n", type.name().toLowerCase(), histogram.summary(1000, "us")));
+            }
+        });
+        out.append(isConserved() ? "conservation OK: " : "conservation VIOLATED: ")
+                .append("expected ").append(expectedTotal.toPlainString())
+                .append(", found ").append(actualTotal.toPlainString());
+        return out.toString();
+    }
+}
@@ -0,0 +1,213 @@
+package com.hdfc.load;
+
+import com.hdfc.Entities.Customer;
+import com.hdfc.Exception.InsufficientBalance;
+import com.hdfc.Exception.InvalidAccountException;
+import com.hdfc.Exception.InvalidDepositValue;
+import com.hdfc.enums.AccountType;
+import com.hdfc.enums.TransactionType;
+import com.hdfc.net.BankClient;
+import com.hdfc.util.LatencyHistogram;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The network counterpart of {@link LoadGenerator}: the same settings and
+ * report, but every operation goes to a {@code BankServer} over a pool of
+ * pipelining connections. It opens its own accounts on the server and checks
+ * conservation over those accounts only, by reading their balances back.
+ *
+ * Usage: RemoteLoadGenerator [host=localhost] [port=7070] [connections=8] [LoadConfig settings ...]
+ */
+public class RemoteLoadGenerator {
+
+    private final BankClient[] clients;
+    private final LoadConfig config;
+
+    private final Map<TransactionType, LatencyHistogram> latencyByType = new EnumMap<>(TransactionType.class);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder depositedPaise = new LongAdder();
+    private final LongAdder withdrawnPaise = new LongAdder();
+
+    public RemoteLoadGenerator(BankClient[] clients, LoadConfig config) {
+        this.clients = clients;
+        this.config = config;
+        for (TransactionType type : TransactionType.values()) {
+            latencyByType.put(type, new LatencyHistogram());
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String host = "localhost";
+        int port = 7070;
+        int connections = 8;
+        List<String> settings = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("host=")) {
+                host = arg.substring(5);
+            } else if (arg.startsWith("port=")) {
+                port = Integer.parseInt(arg.substring(5));
+            } else if (arg.startsWith("connections=")) {
+                connections = Integer.parseInt(arg.substring(12));
+            } else {
+                settings.add(arg);
+            }
+        }
+        LoadConfig config = LoadConfig.parse(settings.toArray(new String[0]));
+        System.out.println("Remote load against " + host + ":" + port + " over " + connections + " connection(s): " + config);
+
+        BankClient[] clients = new BankClient[connections];
+        try {
+            for (int i = 0; i < connections; i++) {
+                clients[i] = BankClient.connect(host, port);
+            }
+            LoadReport report = new RemoteLoadGenerator(clients, config).run();
+            System.out.println(report);
+            if (!report.isConserved()) {
+                System.exit(1);
+            }
+        } finally {
+            for (BankClient client : clients) {
+                if (client != null) {
+                    client.close();
+                }
+            }
+        }
+    }
+
+    public LoadReport run() throws InterruptedException {
+        List<String> accountNos = setUpAccounts();
+        ZipfSampler accounts = new ZipfSampler(accountNos.size(), config.getSkew());
+        TransactionType[] operations = LoadGenerator.weightedOperations(config);
+        Random random = new Random();
+        BigDecimal openingTotal = BigDecimal.valueOf(config.getBalance()).setScale(2).multiply(BigDecimal.valueOf(accountNos.size()));
+
+        int concurrency = config.getConcurrency();
+        Semaphore inFlight = new Semaphore(concurrency);
+        long rate = config.getRate();
+        long start = System.nanoTime();
+        long deadline = start + config.getDuration() * 1_000_000_000L;
+
+        for (long issued = 0; ; issued++) {
+            long due = rate > 0 ? start + (long) (issued * 1e9 / rate) : 0;
+            if (rate > 0) {
+                if (due >= deadline) {
+                    break;
+                }
+                while (due - System.nanoTime() > 0) {
+                    LockSupport.parkNanos(due - System.nanoTime());
+                }
+            } else if (System.nanoTime() >= deadline) {
+                break;
+            }
+            inFlight.acquire();
+            long began = rate > 0 ? due : System.nanoTime();
+
+            TransactionType type = operations[random.nextInt(operations.length)];
+            String accountNo = accountNos.get(accounts.next(random));
+            BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(50_000), 2);
+            BankClient client = clients[(int) (issued % clients.length)];
+            CompletableFuture<Long> operation;
+            switch (type) {
+                case DEPOSIT:
+                    operation = client.deposit(accountNo, amount);
+                    break;
+                case WITHDRAW:
+                    operation = client.withdraw(accountNo, amount);
+                    break;
+                default:
+                    String toAccountNo;
+                    do {
+                        toAccountNo = accountNos.get(accounts.next(random));
+                    } while (toAccountNo.equals(accountNo));
+                    operation = client.transfer(accountNo, toAccountNo, amount);
+            }
+            operation.whenComplete((transactionId, error) -> {
+                latencyByType.get(type).record(System.nanoTime() - began);
+                if (error == null) {
+                    succeeded.increment();
+                    if (type == TransactionType.DEPOSIT) {
+                        depositedPaise.add(amount.unscaledValue().longValue());
+                    } else if (type == TransactionType.WITHDRAW) {
+                        withdrawnPaise.add(amount.unscaledValue().longValue());
+                    }
+                } else {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof InsufficientBalance || cause instanceof InvalidDepositValue || cause instanceof InvalidAccountException) {
+                        rejected.increment();
+                    } else {
+                        failed.increment();
+                    }
+                }
+                inFlight.release();
+            });
+        }
+
+        inFlight.acquire(concurrency);
+        long elapsed = System.nanoTime() - start;
+        LatencyHistogram latency = new LatencyHistogram();
+        for (LatencyHistogram histogram : latencyByType.values()) {
+            latency.add(histogram);
+        }
+        BigDecimal expected = openingTotal
+                .add(BigDecimal.valueOf(depositedPaise.sum(), 2))
+                .subtract(BigDecimal.valueOf(withdrawnPaise.sum(), 2));
+        return new LoadReport(config, elapsed, succeeded.sum(), rejected.sum(), failed.sum(),
+                latency, latencyByType, expected, sumBalances(accountNos));
+    }
+
+    private List<String> setUpAccounts() {
+        long started = System.currentTimeMillis();
+        String run = Long.toString(started, 36).toUpperCase();
+        // Emails and phones are unique per bank too, and the server outlives the run: each run takes its own 10M-number block.
+        long phones = 9_000_000_000_000L + started % 100_000 * 10_000_000L;
+        BigDecimal balance = BigDecimal.valueOf(config.getBalance()).setScale(2);
+        List<CompletableFuture<Boolean>> registrations = new ArrayList<>();
+        List<String> customerIds = new ArrayList<>();
+        for (int c = 0; c < config.getCustomers(); c++) {
+            String customerId = "NET" + run + c;
+            registrations.add(clients[c % clients.length].registerCustomer(new Customer(customerId, "Remote Customer " + c,
+                    Long.toString(phones + c), "remote." + run.toLowerCase() + "." + c + "@example.com", "Load@1234", LocalDate.of(1990, 1, 1))));
+            customerIds.add(customerId);
+        }
+        CompletableFuture.allOf(registrations.toArray(new CompletableFuture<?>[0])).join();
+
+        List<CompletableFuture<String>> openings = new ArrayList<>();
+        for (int a = 0; a < config.getAccounts(); a++) {
+            openings.add(clients[a % clients.length].openAccount(customerIds.get(a % customerIds.size()), AccountType.CURRENT, balance));
+        }
+        List<String> accountNos = new ArrayList<>();
+        for (CompletableFuture<String> opening : openings) {
+            accountNos.add(opening.join());
+        }
+        Collections.shuffle(accountNos, new Random(42));
+        return accountNos;
+    }
+
+    private BigDecimal sumBalances(List<String> accountNos) {
+        List<CompletableFuture<BigDecimal>> balances = new ArrayList<>();
+        for (int a = 0; a < accountNos.size(); a++) {
+            balances.add(clients[a % clients.length].getBalance(accountNos.get(a)));
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        for (CompletableFuture<BigDecimal> balance : balances) {
+            total = total.add(balance.join());
+        }
+        return total;
+    }
+}
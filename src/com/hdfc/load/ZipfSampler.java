@@ -0,0 +1,49 @@
+package com.hdfc.load;
+
+import java.util.Random;
+
+/**
+ * Draws ranks in {@code [0, n)} with probability proportional to
+ * {@code 1 / (rank + 1)^skew}. A skew of 0 is uniform; around 1 a handful of
+ * ranks take most of the draws. Sampling is a binary search over the
+ * precomputed cumulative distribution, so it is safe to share.
+ */
+public class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double skew) {
+        if (n < 1 || skew < 0) {
+            throw new IllegalArgumentException("n must be positive and skew non-negative");
+        }
+        cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1.0 / Math.pow(rank + 1, skew);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    public int next(Random random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Share of all draws that land on the {@code k} most popular ranks. */
+    public double topShare(int k) {
+        return k <= 0 ? 0 : cumulative[Math.min(k, cumulative.length) - 1];
+    }
+}
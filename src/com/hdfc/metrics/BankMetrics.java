@@ -0,0 +1,195 @@
+package com.hdfc.metrics;
+
+import com.hdfc.Exception.InsufficientBalance;
+import com.hdfc.Exception.InvalidAccountException;
+import com.hdfc.Exception.InvalidDepositValue;
+import com.hdfc.enums.OperationType;
+import com.hdfc.enums.RejectionReason;
+import com.hdfc.util.LatencyHistogram;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counters and latency histograms for the bank's operations. Each platform
+ * thread counts into its own buffer with plain stores, so counting costs no
+ * atomic instruction and no shared cache line; readers add the buffers up.
+ * Virtual threads come and go too often to each own a buffer, so they count
+ * into shared {@link LongAdder}s instead. Latency is timed on one in
+ * {@code sampleEvery} calls, which keeps the clock reads off most of them;
+ * the histograms count sampled calls only.
+ *
+ * An operation's latency runs from the call until its future completes, i.e.
+ * until it is durable. Every call is counted, rejected or not, and rejections
+ * are also counted by the exception that rejected them. {@link #getLockWaits()}
+ * is fed by whoever owns the account locks and only sees acquisitions that
+ * had to wait.
+ */
+public class BankMetrics {
+
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+    private static final OperationType[] OPERATIONS = OperationType.values();
+    private static final RejectionReason[] REASONS = RejectionReason.values();
+    // Counter slots: one per operation, then one per operation and rejection reason.
+    private static final int SLOTS = OPERATIONS.length * (1 + REASONS.length);
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final ThreadLocal<long[]> buffers = ThreadLocal.withInitial(this::newBuffer);
+    private final Queue<long[]> allBuffers = new ConcurrentLinkedQueue<>();
+    private final LongAdder[] shared = new LongAdder[SLOTS];
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+    private final LatencyHistogram lockWaits = new LatencyHistogram();
+    private final LongSupplier ledgerSize;
+    private final int sampleEvery;
+    private final int sampleMask;
+
+    /** Samples one in {@code hdfc.metrics.sample} operations (default 64; 0 turns timing off). */
+    public BankMetrics(LongSupplier ledgerSize) {
+        this(ledgerSize, Integer.getInteger("hdfc.metrics.sample", 64));
+    }
+
+    /** {@code sampleEvery} is rounded up to a power of two. */
+    public BankMetrics(LongSupplier ledgerSize, int sampleEvery) {
+        if (sampleEvery < 0) {
+            throw new IllegalArgumentException("sampleEvery cannot be negative");
+        }
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < shared.length; i++) {
+            shared[i] = new LongAdder();
+        }
+        this.ledgerSize = ledgerSize;
+        this.sampleEvery = sampleEvery <= 1 ? sampleEvery : Integer.highestOneBit(sampleEvery - 1) << 1;
+        this.sampleMask = Math.max(this.sampleEvery - 1, 0);
+    }
+
+    /**
+     * Counts a call to {@code operation}. Pass the result to {@link #completed}
+     * or {@link #finished} when it ends; it says whether to time this call.
+     */
+    public long start(OperationType operation) {
+        int slot = operation.ordinal();
+        if (Thread.currentThread().isVirtual()) {
+            shared[slot].increment();
+            return sampleEvery != 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) == 0 ? System.nanoTime() : NOT_SAMPLED;
+        }
+        // A platform thread times every sampleEvery-th call it makes, going by its own count.
+        long calls = increment(buffers.get(), slot);
+        return sampleEvery != 0 && (calls & sampleMask) == 0 ? System.nanoTime() : NOT_SAMPLED;
+    }
+
+    /** If the call was sampled, times it up to {@code result} completing; returns {@code result}. */
+    public <T> CompletableFuture<T> completed(OperationType operation, long start, CompletableFuture<T> result) {
+        if (start != NOT_SAMPLED) {
+            LatencyHistogram latency = latencies[operation.ordinal()];
+            if (result.isDone()) {
+                latency.record(System.nanoTime() - start);
+            } else {
+                result.whenComplete((value, error) -> latency.record(System.nanoTime() - start));
+            }
+        }
+        return result;
+    }
+
+    /** If the call was sampled, times it; for operations that end on the calling thread. */
+    public void finished(OperationType operation, long start) {
+        if (start != NOT_SAMPLED) {
+            latencies[operation.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /** Counts a rejection of a call already counted by {@link #start}; returns {@code error} for rethrowing. */
+    public <E extends Throwable> E rejected(OperationType operation, E error) {
+        int slot = rejectionSlot(operation, reasonOf(error));
+        if (Thread.currentThread().isVirtual()) {
+            shared[slot].increment();
+        } else {
+            increment(buffers.get(), slot);
+        }
+        return error;
+    }
+
+    public long getOperationCount(OperationType operation) {
+        return sum(operation.ordinal());
+    }
+
+    public long getRejectionCount(OperationType operation, RejectionReason reason) {
+        return sum(rejectionSlot(operation, reason));
+    }
+
+    public long getRejectionCount(RejectionReason reason) {
+        long total = 0;
+        for (OperationType operation : OPERATIONS) {
+            total += getRejectionCount(operation, reason);
+        }
+        return total;
+    }
+
+    /** Sampled latencies in nanoseconds. */
+    public LatencyHistogram getLatency(OperationType operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    /** Nanoseconds spent waiting for account locks, one value per contended acquisition. */
+    public LatencyHistogram getLockWaits() {
+        return lockWaits;
+    }
+
+    public long getLedgerSize() {
+        return ledgerSize.getAsLong();
+    }
+
+    /** One in how many operations is timed; 0 if none are. */
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+
+    // Only the owning thread writes its buffer; opaque access just keeps
+    // readers from seeing torn or stale-forever values.
+    private static long increment(long[] buffer, int slot) {
+        long value = (long) SLOT.getOpaque(buffer, slot) + 1;
+        SLOT.setOpaque(buffer, slot, value);
+        return value;
+    }
+
+    private long sum(int slot) {
+        long total = shared[slot].sum();
+        for (long[] buffer : allBuffers) {
+            total += (long) SLOT.getOpaque(buffer, slot);
+        }
+        return total;
+    }
+
+    // Buffers outlive their threads so nothing counted is lost: one per
+    // platform thread that has ever recorded.
+    private long[] newBuffer() {
+        long[] buffer = new long[SLOTS];
+        allBuffers.add(buffer);
+        return buffer;
+    }
+
+    private static int rejectionSlot(OperationType operation, RejectionReason reason) {
+        return OPERATIONS.length + operation.ordinal() * REASONS.length + reason.ordinal();
+    }
+
+    /** Which {@link RejectionReason} an operation's exception counts under. */
+    public static RejectionReason reasonOf(Throwable error) {
+        if (error instanceof InsufficientBalance) {
+            return RejectionReason.INSUFFICIENT_BALANCE;
+        }
+        if (error instanceof InvalidDepositValue) {
+            return RejectionReason.INVALID_AMOUNT;
+        }
+        if (error instanceof InvalidAccountException) {
+            return RejectionReason.INVALID_ACCOUNT;
+        }
+        return RejectionReason.OTHER;
+    }
+}
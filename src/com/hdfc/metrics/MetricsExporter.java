@@ -0,0 +1,158 @@
+package com.hdfc.metrics;
+
+import com.hdfc.enums.OperationType;
+import com.hdfc.enums.RejectionReason;
+import com.hdfc.util.LatencyHistogram;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes {@link BankMetrics} as a JMX MBean and, optionally, as a plain
+ * text scrape file in the Prometheus exposition format, rewritten every
+ * {@code intervalSeconds} on a daemon thread. Each rewrite goes to a temporary
+ * file that is then moved over the old one, so readers never see half a file.
+ * Everything here runs off the operations' threads.
+ */
+public class MetricsExporter implements AutoCloseable {
+
+    public static final String OBJECT_NAME = "com.hdfc:type=BankMetrics";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final BankMetrics metrics;
+    private final Path scrapeFile;
+    private final ObjectName objectName;
+    private final ScheduledExecutorService scheduler;
+
+    /** {@code scrapeFile} may be null for JMX only; {@code objectName} may be null for no JMX. */
+    public MetricsExporter(BankMetrics metrics, Path scrapeFile, long intervalSeconds, String objectName) {
+        this.metrics = metrics;
+        this.scrapeFile = scrapeFile;
+        this.objectName = objectName == null ? null : register(metrics, objectName);
+        if (scrapeFile == null || intervalSeconds <= 0) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hdfc-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::writeQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Registers under {@link #OBJECT_NAME} unless {@code hdfc.metrics.jmx} is
+     * false, and writes {@code hdfc.metrics.file} (no file by default) every
+     * {@code hdfc.metrics.interval} seconds (default 10).
+     */
+    public static MetricsExporter fromSystemProperties(BankMetrics metrics) {
+        String file = System.getProperty("hdfc.metrics.file", "");
+        return new MetricsExporter(metrics, file.isBlank() ? null : Path.of(file), Long.getLong("hdfc.metrics.interval", 10L),
+                Boolean.parseBoolean(System.getProperty("hdfc.metrics.jmx", "true")) ? OBJECT_NAME : null);
+    }
+
+    /** The scrape file's contents as of now. */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        out.append("# TYPE hdfc_operations_total counter\n");
+        for (OperationType operation : OperationType.values()) {
+            sample(out, "hdfc_operations_total", "operation=\"" + label(operation.name()) + '"', metrics.getOperationCount(operation));
+        }
+        out.append("# TYPE hdfc_rejections_total counter\n");
+        for (OperationType operation : OperationType.values()) {
+            for (RejectionReason reason : RejectionReason.values()) {
+                sample(out, "hdfc_rejections_total", "operation=\"" + label(operation.name()) + "\",reason=\"" + label(reason.name()) + '"',
+                        metrics.getRejectionCount(operation, reason));
+            }
+        }
+        out.append("# TYPE hdfc_operation_latency_nanoseconds summary\n");
+        for (OperationType operation : OperationType.values()) {
+            summary(out, "hdfc_operation_latency_nanoseconds", "operation=\"" + label(operation.name()) + "\",", metrics.getLatency(operation));
+        }
+        out.append("# TYPE hdfc_account_lock_wait_nanoseconds summary\n");
+        summary(out, "hdfc_account_lock_wait_nanoseconds", "", metrics.getLockWaits());
+        out.append("# TYPE hdfc_ledger_rows gauge\n");
+        sample(out, "hdfc_ledger_rows", null, metrics.getLedgerSize());
+        return out.toString();
+    }
+
+    public void writeScrapeFile() throws IOException {
+        Path temp = scrapeFile.resolveSibling(scrapeFile.getFileName() + ".tmp");
+        Files.writeString(temp, scrape(), StandardCharsets.UTF_8);
+        Files.move(temp, scrapeFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** Stops the writer, writes the file one last time and unregisters the MBean. */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writeQuietly();
+        }
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException e) {
+                // already gone
+            }
+        }
+    }
+
+    private void writeQuietly() {
+        try {
+            writeScrapeFile();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Metrics scrape file not written: " + e.getMessage());
+        }
+    }
+
+    private static ObjectName register(BankMetrics metrics, String name) {
+        try {
+            ObjectName objectName = new ObjectName(name);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(new MetricsMBean(metrics), objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register metrics MBean " + name, e);
+        }
+    }
+
+    private static void summary(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        for (double quantile : QUANTILES) {
+            sample(out, name, labels + "quantile=\"" + quantile + '"', histogram.valueAtPercentile(quantile * 100));
+        }
+        String plain = labels.isEmpty() ? null : labels.substring(0, labels.length() - 1);
+        sample(out, name + "_count", plain, histogram.getCount());
+        sample(out, name + "_sum", plain, Math.round(histogram.getMean() * histogram.getCount()));
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        out.append(name);
+        if (labels != null) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static String label(String constant) {
+        return constant.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,107 @@
+package com.hdfc.metrics;
+
+import com.hdfc.enums.OperationType;
+import com.hdfc.enums.RejectionReason;
+import com.hdfc.util.LatencyHistogram;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-only JMX view of {@link BankMetrics}: one long attribute per counter,
+ * per rejection reason and per latency percentile, read live on every get.
+ */
+final class MetricsMBean implements DynamicMBean {
+
+    private final Map<String, LongSupplier> attributes = new LinkedHashMap<>();
+    private final MBeanInfo info;
+
+    MetricsMBean(BankMetrics metrics) {
+        for (OperationType operation : OperationType.values()) {
+            String prefix = camel(operation.name());
+            attributes.put(prefix + "Count", () -> metrics.getOperationCount(operation));
+            for (RejectionReason reason : RejectionReason.values()) {
+                attributes.put(prefix + "Rejected" + camel(reason.name()), () -> metrics.getRejectionCount(operation, reason));
+            }
+            latency(prefix + "Latency", metrics.getLatency(operation));
+        }
+        for (RejectionReason reason : RejectionReason.values()) {
+            attributes.put("Rejected" + camel(reason.name()), () -> metrics.getRejectionCount(reason));
+        }
+        attributes.put("LockWaitCount", metrics.getLockWaits()::getCount);
+        latency("LockWait", metrics.getLockWaits());
+        attributes.put("LedgerSize", metrics::getLedgerSize);
+
+        MBeanAttributeInfo[] described = new MBeanAttributeInfo[attributes.size()];
+        int i = 0;
+        for (String name : attributes.keySet()) {
+            described[i++] = new MBeanAttributeInfo(name, "long", name, true, false, false);
+        }
+        this.info = new MBeanInfo(getClass().getName(), "HDFC bank metrics", described, null, new MBeanOperationInfo[0], null);
+    }
+
+    private void latency(String prefix, LatencyHistogram histogram) {
+        attributes.put(prefix + "P50Nanos", () -> histogram.valueAtPercentile(50));
+        attributes.put(prefix + "P99Nanos", () -> histogram.valueAtPercentile(99));
+        attributes.put(prefix + "P999Nanos", () -> histogram.valueAtPercentile(99.9));
+        attributes.put(prefix + "MaxNanos", histogram::getMax);
+    }
+
+    private static String camel(String constant) {
+        StringBuilder name = new StringBuilder(constant.length());
+        for (String word : constant.split("_")) {
+            name.append(word.charAt(0)).append(word.substring(1).toLowerCase(Locale.ROOT));
+        }
+        return name.toString();
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        LongSupplier value = attributes.get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value.getAsLong();
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+        AttributeList values = new AttributeList();
+        for (String name : names) {
+            LongSupplier value = attributes.get(name);
+            if (value != null) {
+                values.add(new Attribute(name, value.getAsLong()));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException(attribute.getName() + " is read-only");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException(actionName);
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        return info;
+    }
+}
@@ -0,0 +1,285 @@
+package com.hdfc.net;
+
+import com.hdfc.Entities.Customer;
+import com.hdfc.Entities.Transaction;
+import com.hdfc.Exception.InsufficientBalance;
+import com.hdfc.Exception.InvalidAccountException;
+import com.hdfc.Exception.InvalidDepositValue;
+import com.hdfc.enums.AccountType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pipelining client for {@link BankServer}. Every call sends its request
+ * without waiting and returns a future for the answer, so one connection can
+ * keep many operations in flight. Business failures come back as the same
+ * exceptions {@code BankService} throws.
+ */
+public class BankClient implements AutoCloseable {
+
+    private static final byte[] CLOSE = new byte[0];
+
+    private interface Encoder {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private interface Decoder<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    private static final class Pending<T> {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final Decoder<T> decoder;
+
+        Pending(Decoder<T> decoder) {
+            this.decoder = decoder;
+        }
+
+        void complete(DataInputStream in) throws IOException {
+            future.complete(decoder.read(in));
+        }
+    }
+
+    private final SocketChannel channel;
+    private final ConcurrentHashMap<Long, Pending<?>> pending = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<byte[]> requests = new LinkedBlockingQueue<>();
+    private final AtomicLong nextRequestId = new AtomicLong();
+    private final Thread reader;
+    private final Thread writer;
+    private volatile boolean open = true;
+
+    private BankClient(SocketChannel channel) {
+        this.channel = channel;
+        this.reader = Thread.ofVirtual().name("hdfc-client-reader").start(this::readLoop);
+        this.writer = Thread.ofVirtual().name("hdfc-client-writer").start(this::writeLoop);
+    }
+
+    public static BankClient connect(String host, int port) throws IOException {
+        SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        return new BankClient(channel);
+    }
+
+    public CompletableFuture<Boolean> registerCustomer(Customer customer) {
+        return call(Protocol.REGISTER, out -> {
+            Protocol.writeString(out, customer.getCustomerId());
+            Protocol.writeString(out, customer.getName());
+            Protocol.writeString(out, customer.getPhone());
+            Protocol.writeString(out, customer.getEmail());
+            Protocol.writeString(out, customer.getPwd());
+            out.writeInt((int) customer.getDob().toEpochDay());
+        }, DataInputStream::readBoolean);
+    }
+
+    /** Completes with the new account number. */
+    public CompletableFuture<String> openAccount(String customerId, AccountType type, BigDecimal openingBalance) {
+        long paise = paise(openingBalance);
+        return call(Protocol.OPEN_ACCOUNT, out -> {
+            Protocol.writeString(out, customerId);
+            out.writeByte(type.ordinal());
+            out.writeLong(paise);
+        }, Protocol::readString);
+    }
+
+    /** Completes with the transaction id once the deposit is durable. */
+    public CompletableFuture<Long> deposit(String accountNo, BigDecimal amount) {
+        return deposit(null, accountNo, amount);
+    }
+
+    /**
+     * Resending with the same {@code idempotencyKey} after a timeout or a
+     * dropped connection completes with the first attempt's transaction id
+     * instead of depositing twice.
+     */
+    public CompletableFuture<Long> deposit(String idempotencyKey, String accountNo, BigDecimal amount) {
+        return movement(Protocol.DEPOSIT, idempotencyKey, accountNo, amount);
+    }
+
+    public CompletableFuture<Long> withdraw(String accountNo, BigDecimal amount) {
+        return withdraw(null, accountNo, amount);
+    }
+
+    public CompletableFuture<Long> withdraw(String idempotencyKey, String accountNo, BigDecimal amount) {
+        return movement(Protocol.WITHDRAW, idempotencyKey, accountNo, amount);
+    }
+
+    public CompletableFuture<Long> transfer(String fromAccountNo, String toAccountNo, BigDecimal amount) {
+        return transfer(null, fromAccountNo, toAccountNo, amount);
+    }
+
+    public CompletableFuture<Long> transfer(String idempotencyKey, String fromAccountNo, String toAccountNo, BigDecimal amount) {
+        long paise = paise(amount);
+        return call(Protocol.TRANSFER, out -> {
+            Protocol.writeString(out, idempotencyKey);
+            Protocol.writeString(out, fromAccountNo);
+            Protocol.writeString(out, toAccountNo);
+            out.writeLong(paise);
+        }, DataInputStream::readLong);
+    }
+
+    public CompletableFuture<BigDecimal> getBalance(String accountNo) {
+        return call(Protocol.BALANCE, out -> Protocol.writeString(out, accountNo), in -> Protocol.fromPaise(in.readLong()));
+    }
+
+    /** Up to {@code limit} of the account's transactions, newest first. */
+    public CompletableFuture<List<Transaction>> recentHistory(String accountNo, int limit) {
+        return call(Protocol.HISTORY, out -> {
+            Protocol.writeString(out, accountNo);
+            out.writeInt(limit);
+        }, in -> {
+            int count = in.readInt();
+            List<Transaction> history = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                history.add(Protocol.readTransaction(in));
+            }
+            return history;
+        });
+    }
+
+    public int getInFlight() {
+        return pending.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!open) {
+            return;
+        }
+        open = false;
+        requests.add(CLOSE);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Long> movement(byte op, String idempotencyKey, String accountNo, BigDecimal amount) {
+        long paise = paise(amount);
+        return call(op, out -> {
+            Protocol.writeString(out, idempotencyKey);
+            Protocol.writeString(out, accountNo);
+            out.writeLong(paise);
+        }, DataInputStream::readLong);
+    }
+
+    private <T> CompletableFuture<T> call(byte op, Encoder payload, Decoder<T> decoder) {
+        if (!open) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Client is closed"));
+        }
+        long requestId = nextRequestId.incrementAndGet();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(requestId);
+            out.writeByte(op);
+            payload.write(out);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new UncheckedIOException(e));
+        }
+        Pending<T> call = new Pending<>(decoder);
+        pending.put(requestId, call);
+        requests.add(bytes.toByteArray());
+        return call.future;
+    }
+
+    private static long paise(BigDecimal amount) {
+        try {
+            return Protocol.toPaise(amount);
+        } catch (ArithmeticException e) {
+            throw new InvalidDepositValue("Amount cannot have more than two decimal places");
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            while (true) {
+                byte[] frame = requests.take();
+                if (frame == CLOSE) {
+                    break;
+                }
+                out.writeInt(frame.length);
+                out.write(frame);
+                if (requests.isEmpty()) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException | InterruptedException e) {
+            failAll(e);
+        }
+    }
+
+    private void readLoop() {
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+            while (true) {
+                int length = in.readInt();
+                if (length < Long.BYTES + 1 || length > Protocol.MAX_FRAME) {
+                    throw new IOException("Bad response frame of " + length + " bytes");
+                }
+                long requestId = in.readLong();
+                byte status = in.readByte();
+                Pending<?> call = pending.remove(requestId);
+                if (call == null) {
+                    in.skipNBytes(length - Long.BYTES - 1);
+                } else if (status == Protocol.OK) {
+                    call.complete(in);
+                } else {
+                    call.future.completeExceptionally(errorFor(status, Protocol.readString(in)));
+                }
+            }
+        } catch (IOException e) {
+            failAll(e);
+        }
+    }
+
+    private void failAll(Exception cause) {
+        open = false;
+        for (Long requestId : pending.keySet()) {
+            Pending<?> call = pending.remove(requestId);
+            if (call != null) {
+                call.future.completeExceptionally(new UncheckedIOException("Connection closed",
+                        cause instanceof IOException ? (IOException) cause : new IOException(cause)));
+            }
+        }
+    }
+
+    private static RuntimeException errorFor(byte status, String message) {
+        switch (status) {
+            case Protocol.INSUFFICIENT_BALANCE:
+                return new InsufficientBalance(message);
+            case Protocol.INVALID_AMOUNT:
+                return new InvalidDepositValue(message);
+            case Protocol.INVALID_ACCOUNT:
+                return new InvalidAccountException(message);
+            case Protocol.BAD_REQUEST:
+                return new IllegalArgumentException(message);
+            default:
+                return new IllegalStateException("Server error: " + message);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.hdfc.net;
+
+import com.hdfc.audit.AuditLog;
+import com.hdfc.enums.ExecutionMode;
+import com.hdfc.metrics.MetricsExporter;
+import com.hdfc.service.BankService;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves a {@link BankService} over TCP using {@link Protocol}. Each
+ * connection gets a virtual thread that reads and applies its requests, plus
+ * one that writes its responses.
+ *
+ * The protocol has no authentication and nothing on the wire is encrypted,
+ * passwords included, so the server listens on the loopback interface unless
+ * it is given another address.
+ *
+ * Usage: BankServer [port=7070]; {@code -Dhdfc.bind} names the address to
+ * listen on (loopback by default, {@code 0.0.0.0} for every interface), the
+ * data directory comes from {@code -Dhdfc.data} as for the console
+ * application, metrics are
+ * published as described in {@link MetricsExporter#fromSystemProperties} and
+ * the audit trail is opened by {@link AuditLog#fromSystemProperties}.
+ */
+public class BankServer implements AutoCloseable {
+
+    private final BankService bank;
+    private final ServerSocketChannel server;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+
+    /** Listens on {@code port} of the loopback interface only. */
+    public BankServer(BankService bank, int port) throws IOException {
+        this(bank, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    public BankServer(BankService bank, InetSocketAddress address) throws IOException {
+        this.bank = bank;
+        this.server = ServerSocketChannel.open();
+        this.server.bind(address);
+        this.acceptor = Thread.ofPlatform().name("hdfc-server-acceptor").daemon(true).unstarted(this::acceptLoop);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        String dataDirectory = System.getProperty("hdfc.data", "data");
+        ExecutionMode mode = ExecutionMode.valueOf(System.getProperty("hdfc.mode", "locking").toUpperCase(Locale.ROOT));
+        AuditLog audit = AuditLog.fromSystemProperties();
+        BankService bank = dataDirectory.isBlank() ? new BankService(mode, audit) : new BankService(Path.of(dataDirectory), mode, audit);
+        String bind = System.getProperty("hdfc.bind");
+        InetAddress address = bind == null || bind.isBlank() ? InetAddress.getLoopbackAddress() : InetAddress.getByName(bind);
+        if (!address.isLoopbackAddress()) {
+            System.err.println("Listening on " + address.getHostAddress() + " without authentication or encryption");
+        }
+        BankServer server = new BankServer(bank, new InetSocketAddress(address, port));
+        MetricsExporter metrics = MetricsExporter.fromSystemProperties(bank.getMetrics());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+                metrics.close();
+                bank.close();
+                if (audit != null) {
+                    audit.close();
+                }
+            } catch (IOException e) {
+                System.err.println("Shutdown failed: " + e.getMessage());
+            }
+        }));
+        server.start();
+        System.out.println("Serving " + bank.getAccounts().size() + " account(s) on " + address.getHostAddress() + ":" + server.getPort());
+        server.acceptor.join();
+    }
+
+    public BankServer start() {
+        acceptor.start();
+        return this;
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    private void acceptLoop() {
+        while (server.isOpen()) {
+            try {
+                SocketChannel channel = server.accept();
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Connection connection = new Connection(bank, channel);
+                connections.add(connection);
+                Thread.ofVirtual().name("hdfc-conn").start(() -> {
+                    try {
+                        connection.serve();
+                    } finally {
+                        connections.remove(connection);
+                    }
+                });
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                System.err.println("Accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /** Stops accepting and drops every open connection. */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.hdfc.net;
+
+import com.hdfc.Entities.Account;
+import com.hdfc.Entities.Customer;
+import com.hdfc.Entities.Money;
+import com.hdfc.Entities.Transaction;
+import com.hdfc.Exception.InsufficientBalance;
+import com.hdfc.Exception.InvalidAccountException;
+import com.hdfc.Exception.InvalidDepositValue;
+import com.hdfc.enums.AccountType;
+import com.hdfc.ledger.HistoryQuery;
+import com.hdfc.service.BankService;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * One client connection. The reader decodes requests and applies them in
+ * arrival order without waiting for each to be journalled, registrations and
+ * account openings included; a response is queued when its operation is
+ * durable. A separate writer drains the queue
+ * and flushes only when it runs dry, so a pipelined burst goes back in a few
+ * writes.
+ *
+ * At most {@code hdfc.net.maxInFlight} requests (default 4096) are read
+ * ahead of the responses written back; past that the reader stops taking
+ * frames until the writer catches up. A client that never reads its replies
+ * is held up by TCP, not by the server's heap.
+ */
+final class Connection {
+
+    private static final byte[] CLOSE = new byte[0];
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("hdfc.net.maxInFlight", 4096);
+
+    interface Payload {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private final BankService bank;
+    private final SocketChannel channel;
+    private final LinkedBlockingQueue<byte[]> responses = new LinkedBlockingQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    // A permit per request read and not yet written back.
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+    private volatile boolean closing;
+
+    Connection(BankService bank, SocketChannel channel) {
+        this.bank = bank;
+        this.channel = channel;
+    }
+
+    void serve() {
+        Thread writer = Thread.ofVirtual().name("hdfc-conn-writer").start(this::writeLoop);
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length < Long.BYTES + 1 || length > Protocol.MAX_FRAME) {
+                    break;
+                }
+                byte[] body = new byte[length];
+                in.readFully(body);
+                inFlight.acquireUninterruptibly();
+                handle(body);
+            }
+        } catch (IOException e) {
+            // The client went away; answer what is still in flight and stop.
+        }
+        closing = true;
+        if (pending.get() == 0) {
+            responses.add(CLOSE);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        close();
+    }
+
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // already gone
+        }
+    }
+
+    private void handle(byte[] body) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        long requestId;
+        byte op;
+        try {
+            requestId = in.readLong();
+            op = in.readByte();
+        } catch (IOException e) {
+            inFlight.release();
+            return;
+        }
+        pending.incrementAndGet();
+        try {
+            switch (op) {
+                case Protocol.REGISTER: {
+                    Customer customer = new Customer(Protocol.readString(in), Protocol.readString(in), Protocol.readString(in),
+                            Protocol.readString(in), Protocol.readString(in), LocalDate.ofEpochDay(in.readInt()));
+                    whenDurable(requestId, bank.registerCustomerAsync(customer), created -> out -> out.writeBoolean(created));
+                    break;
+                }
+                case Protocol.OPEN_ACCOUNT: {
+                    String customerId = Protocol.readString(in);
+                    AccountType type = AccountType.values()[in.readUnsignedByte()];
+                    BigDecimal opening = Protocol.fromPaise(in.readLong());
+                    whenDurable(requestId, bank.openAccountAsync(customerId, type, opening),
+                            account -> out -> Protocol.writeString(out, account.getAccoutNo()));
+                    break;
+                }
+                case Protocol.DEPOSIT:
+                    whenDurable(requestId, bank.depositAsync(Protocol.readString(in), Protocol.readString(in), Money.ofMinor(in.readLong())));
+                    break;
+                case Protocol.WITHDRAW:
+                    whenDurable(requestId, bank.withdrawAsync(Protocol.readString(in), Protocol.readString(in), Money.ofMinor(in.readLong())));
+                    break;
+                case Protocol.TRANSFER:
+                    whenDurable(requestId, bank.transferAsync(Protocol.readString(in), Protocol.readString(in), Protocol.readString(in),
+                            Money.ofMinor(in.readLong())));
+                    break;
+                case Protocol.BALANCE: {
+                    Account account = bank.findAccount(Protocol.readString(in));
+                    if (account == null) {
+                        throw new InvalidAccountException("Account not found");
+                    }
+                    long paise = account.getBalanceMinor();
+                    respond(requestId, out -> out.writeLong(paise));
+                    break;
+                }
+                case Protocol.HISTORY: {
+                    String accountNo = Protocol.readString(in);
+                    int limit = in.readInt();
+                    List<Transaction> page = limit <= 0 ? List.of()
+                            : bank.queryHistory(HistoryQuery.latest(accountNo, Math.min(limit, HistoryQuery.MAX_PAGE_SIZE)), null).getTransactions();
+                    respond(requestId, out -> {
+                        out.writeInt(page.size());
+                        for (Transaction transaction : page) {
+                            Protocol.writeTransaction(out, transaction);
+                        }
+                    });
+                    break;
+                }
+                default:
+                    fail(requestId, Protocol.BAD_REQUEST, "Unknown operation " + op);
+            }
+        } catch (IOException e) {
+            fail(requestId, Protocol.BAD_REQUEST, "Malformed request");
+        } catch (RuntimeException e) {
+            fail(requestId, e);
+        }
+    }
+
+    private void whenDurable(long requestId, CompletableFuture<Transaction> operation) {
+        whenDurable(requestId, operation, transaction -> out -> out.writeLong(transaction.getId()));
+    }
+
+    private <T> void whenDurable(long requestId, CompletableFuture<T> operation, Function<T, Payload> reply) {
+        operation.whenComplete((result, error) -> {
+            if (error != null) {
+                fail(requestId, error instanceof CompletionException ? error.getCause() : error);
+            } else {
+                respond(requestId, reply.apply(result));
+            }
+        });
+    }
+
+    private void fail(long requestId, Throwable error) {
+        byte status;
+        if (error instanceof InsufficientBalance) {
+            status = Protocol.INSUFFICIENT_BALANCE;
+        } else if (error instanceof InvalidDepositValue) {
+            status = Protocol.INVALID_AMOUNT;
+        } else if (error instanceof InvalidAccountException) {
+            status = Protocol.INVALID_ACCOUNT;
+        } else if (error instanceof IllegalArgumentException || error instanceof IndexOutOfBoundsException) {
+            status = Protocol.BAD_REQUEST;
+        } else {
+            status = Protocol.ERROR;
+        }
+        fail(requestId, status, error.getMessage());
+    }
+
+    private void fail(long requestId, byte status, String message) {
+        send(requestId, status, out -> Protocol.writeString(out, message));
+    }
+
+    private void respond(long requestId, Payload payload) {
+        send(requestId, Protocol.OK, payload);
+    }
+
+    private void send(long requestId, byte status, Payload payload) {
+        try {
+            responses.add(frame(requestId, status, payload));
+        } catch (IOException | RuntimeException e) {
+            // Such as a string too long for writeUTF; the client still gets an answer.
+            responses.add(frame(requestId, Protocol.ERROR, "Response could not be encoded"));
+        } finally {
+            if (pending.decrementAndGet() == 0 && closing) {
+                responses.add(CLOSE);
+            }
+        }
+    }
+
+    private static byte[] frame(long requestId, byte status, Payload payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(requestId);
+            out.writeByte(status);
+            payload.write(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] frame(long requestId, byte status, String message) {
+        try {
+            return frame(requestId, status, out -> Protocol.writeString(out, message));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            while (true) {
+                byte[] frame = responses.take();
+                if (frame == CLOSE) {
+                    break;
+                }
+                out.writeInt(frame.length);
+                out.write(frame);
+                inFlight.release();
+                if (responses.isEmpty()) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException | InterruptedException e) {
+            close();
+            // Nothing will be written back now; don't leave the reader waiting for permits.
+            inFlight.release(MAX_IN_FLIGHT);
+        }
+    }
+}
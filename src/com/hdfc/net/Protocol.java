@@ -0,0 +1,100 @@
+package com.hdfc.net;
+
+import com.hdfc.Entities.Money;
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.TransactionType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Wire format shared by {@link BankServer} and {@link BankClient}. Every
+ * message is a frame {@code [int length][body]}.
+ * <pre>
+ * request  body: [long requestId][byte op][payload]
+ * response body: [long requestId][byte status][payload]
+ *
+ * op               request payload                               OK payload
+ * REGISTER         id, name, phone, email, password, int epochDay  byte created
+ * OPEN_ACCOUNT     customerId, byte accountType, long paise       accountNo
+ * DEPOSIT          key, accountNo, long paise                     long transactionId
+ * WITHDRAW         key, accountNo, long paise                     long transactionId
+ * TRANSFER         key, from, to, long paise                      long transactionId
+ * BALANCE          accountNo                                      long paise
+ * HISTORY          accountNo, int limit                           int n, n transactions, newest first
+ * </pre>
+ * HISTORY returns at most {@code HistoryQuery.MAX_PAGE_SIZE} transactions.
+ * {@code key} is an optional idempotency key: resending a movement with the
+ * same key answers with the first attempt's transaction id.
+ * Strings are {@code [boolean present][modified UTF-8]}. Any status other
+ * than OK carries a message string instead of a payload.
+ *
+ * A connection may send any number of requests before reading responses.
+ * The server applies them in the order sent and answers each one once it
+ * is durable, tagged with its request id.
+ */
+final class Protocol {
+
+    static final int MAX_FRAME = 1 << 20;
+
+    static final byte REGISTER = 1;
+    static final byte OPEN_ACCOUNT = 2;
+    static final byte DEPOSIT = 3;
+    static final byte WITHDRAW = 4;
+    static final byte TRANSFER = 5;
+    static final byte BALANCE = 6;
+    static final byte HISTORY = 7;
+
+    static final byte OK = 0;
+    static final byte INSUFFICIENT_BALANCE = 1;
+    static final byte INVALID_AMOUNT = 2;
+    static final byte INVALID_ACCOUNT = 3;
+    static final byte BAD_REQUEST = 4;
+    static final byte ERROR = 5;
+
+    private Protocol() {
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static long toPaise(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    static BigDecimal fromPaise(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    static void writeTransaction(DataOutputStream out, Transaction transaction) throws IOException {
+        out.writeLong(transaction.getId());
+        out.writeByte(transaction.getType().ordinal());
+        out.writeLong(transaction.getAmountMinor());
+        out.writeLong(transaction.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli());
+        writeString(out, transaction.getAccountNo());
+        writeString(out, transaction.getToAccountNo());
+    }
+
+    static Transaction readTransaction(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        TransactionType type = TransactionType.values()[in.readUnsignedByte()];
+        Money amount = Money.ofMinor(in.readLong());
+        LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneOffset.UTC);
+        String accountNo = readString(in);
+        String toAccountNo = readString(in);
+        return new Transaction(id, amount, accountNo, timestamp, type, toAccountNo);
+    }
+}
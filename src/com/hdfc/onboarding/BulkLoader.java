@@ -0,0 +1,459 @@
+package com.hdfc.onboarding;
+
+import com.hdfc.Entities.Customer;
+import com.hdfc.Entities.Money;
+import com.hdfc.enums.AccountType;
+import com.hdfc.enums.RecordType;
+import com.hdfc.service.BankService;
+import com.hdfc.util.ChunkPipeline;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Loads a book of existing customers and their accounts straight into a
+ * {@link BankService}, for migrations too big to key in one by one.
+ *
+ * Customer lines are {@code customerId,name,phone,email,password,dob} with
+ * the date as yyyy-MM-dd. A field holding a comma, such as a name or a
+ * password, goes in double quotes, with {@code ""} for a quote inside it;
+ * fields are otherwise split at every comma. Account lines are
+ * {@code customerId,type,openingBalance[,accountNo]}; accounts without a
+ * number get one from a range reserved for their chunk. Blank lines and lines
+ * starting with {@code #} are skipped. Customers are loaded before accounts,
+ * so an account may belong to a customer from the same load.
+ *
+ * Like {@link com.hdfc.batch.BatchProcessor}, each file goes through a
+ * {@link ChunkPipeline}: the next chunk is parsed and validated in parallel
+ * while the current one is registered, also in parallel, and the previous one
+ * waits for its journal commits. A record that fails validation or
+ * registration is left out and reported; the rest of the file still loads.
+ * Records that share a customer id, email or mobile number, or an account
+ * number, are registered one after another in file order, so the first line
+ * that registers wins and the later ones are reported, whether or not they
+ * fall in the same chunk.
+ */
+public class BulkLoader implements AutoCloseable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 16384;
+
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    private static final String CUSTOMER_FIELDS = "Customer needs 6 fields: customerId,name,phone,email,password,dob";
+    private static final String ACCOUNT_FIELDS = "Account needs 3 or 4 fields: customerId,type,openingBalance[,accountNo]";
+
+    private final BankService bank;
+    private final int chunkSize;
+    private final ChunkPipeline pipeline;
+
+    public BulkLoader(BankService bank) {
+        this(bank, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public BulkLoader(BankService bank, int parallelism, int chunkSize) {
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("parallelism and chunkSize must be positive");
+        }
+        this.bank = bank;
+        this.chunkSize = chunkSize;
+        this.pipeline = new ChunkPipeline("hdfc-onboarding", parallelism);
+    }
+
+    /** Loads the customers file, then the accounts file; either may be null. */
+    public OnboardingReport load(Path customersFile, Path accountsFile) throws IOException {
+        long began = System.nanoTime();
+        List<OnboardingError> errors = new ArrayList<>();
+        CustomerLoad customers = new CustomerLoad();
+        AccountLoad accounts = new AccountLoad();
+        if (customersFile != null) {
+            run(customersFile, customers, errors);
+        }
+        if (accountsFile != null) {
+            run(accountsFile, accounts, errors);
+        }
+        return new OnboardingReport(customers.read, customers.loaded, accounts.read, accounts.loaded,
+                errors, System.nanoTime() - began);
+    }
+
+    @Override
+    public void close() {
+        pipeline.close();
+    }
+
+    private <R> void run(Path file, Load<R> load, List<OnboardingError> errors) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            pipeline.run(new ChunkPipeline.Stages<Chunk<R>>() {
+                long lineNo;
+
+                @Override
+                public Chunk<R> read() throws IOException {
+                    List<String> lines = new ArrayList<>(chunkSize);
+                    long[] numbers = new long[chunkSize];
+                    String line;
+                    while (lines.size() < chunkSize && (line = reader.readLine()) != null) {
+                        lineNo++;
+                        String trimmed = line.trim();
+                        if (!trimmed.isEmpty() && trimmed.charAt(0) != '#') {
+                            numbers[lines.size()] = lineNo;
+                            lines.add(trimmed);
+                        }
+                    }
+                    return lines.isEmpty() ? null : new Chunk<>(lines.toArray(new String[0]), numbers);
+                }
+
+                @Override
+                public int size(Chunk<R> chunk) {
+                    return chunk.size();
+                }
+
+                @Override
+                public void prepare(Chunk<R> chunk, int i) {
+                    chunk.prepare(i, load);
+                }
+
+                @Override
+                public void apply(Chunk<R> chunk) {
+                    load.reserve(chunk);
+                    pipeline.inGroups(chunk.size(), i -> chunk.records[i] == null ? null : load.keys(chunk.record(i)),
+                            i -> chunk.apply(i, load)).join();
+                }
+
+                @Override
+                public void collect(Chunk<R> chunk) {
+                    chunk.collect(load, errors);
+                }
+            });
+        }
+    }
+
+    /** How one kind of record is parsed, validated and registered. */
+    private abstract static class Load<R> {
+        final RecordType type;
+        long read;
+        long loaded;
+
+        Load(RecordType type) {
+            this.type = type;
+        }
+
+        /** Parses and validates a trimmed line; a RuntimeException's message says what is wrong with it. */
+        abstract R parse(String line);
+
+        /** What the record must not share with another; records that do are registered one after another, in file order. */
+        abstract Object[] keys(R record);
+
+        /** Called once per chunk, on the loading thread, before its records are registered. */
+        void reserve(Chunk<R> chunk) {
+        }
+
+        abstract CompletableFuture<?> register(R record);
+
+        /** Why a registration that completed did not load the record, or null if it did. */
+        String refused(R record, Object result) {
+            return null;
+        }
+    }
+
+    private final class CustomerLoad extends Load<Customer> {
+
+        CustomerLoad() {
+            super(RecordType.CUSTOMER);
+        }
+
+        @Override
+        Customer parse(String line) {
+            String[] fields = fields(line, 6, CUSTOMER_FIELDS);
+            if (fields.length < 6) {
+                throw new IllegalArgumentException(CUSTOMER_FIELDS);
+            }
+            // The id, name, phone, email and password are checked by registerCustomerAsync.
+            return new Customer(fields[0], fields[1], fields[2], fields[3], fields[4], parseDate(fields[5]));
+        }
+
+        @Override
+        Object[] keys(Customer customer) {
+            String email = customer.getEmail();
+            return new Object[] {
+                    Map.entry("id", customer.getCustomerId()),
+                    email == null ? null : Map.entry("email", email.toLowerCase(Locale.ROOT)),
+                    customer.getPhone() == null ? null : Map.entry("phone", customer.getPhone())};
+        }
+
+        @Override
+        CompletableFuture<Boolean> register(Customer customer) {
+            return bank.registerCustomerAsync(customer);
+        }
+
+        @Override
+        String refused(Customer customer, Object result) {
+            if (Boolean.TRUE.equals(result)) {
+                return null;
+            }
+            if (bank.findCustomer(customer.getCustomerId()) == null) {
+                if (bank.findCustomerByEmail(customer.getEmail()) != null) {
+                    return "Email already registered: " + customer.getEmail();
+                }
+                if (bank.findCustomerByPhone(customer.getPhone()) != null) {
+                    return "Mobile number already registered: " + customer.getPhone();
+                }
+            }
+            return "Customer already exists";
+        }
+    }
+
+    private final class AccountLoad extends Load<AccountRecord> {
+
+        AccountLoad() {
+            super(RecordType.ACCOUNT);
+        }
+
+        @Override
+        AccountRecord parse(String line) {
+            String[] fields = fields(line, 4, ACCOUNT_FIELDS);
+            if (fields.length < 3) {
+                throw new IllegalArgumentException(ACCOUNT_FIELDS);
+            }
+            String customerId = fields[0];
+            AccountType type = accountType(fields[1]);
+            String balance = fields[2];
+            Money openingBalance;
+            try {
+                openingBalance = Money.parse(balance);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid opening balance: " + balance);
+            }
+            if (openingBalance.getMinor() < 0) {
+                throw new IllegalArgumentException("Opening balance cannot be negative");
+            }
+            String accountNo = fields.length < 4 ? null : fields[3];
+            if (bank.findCustomer(customerId) == null) {
+                throw new IllegalArgumentException("Customer not found: " + customerId);
+            }
+            return new AccountRecord(customerId, type, openingBalance, accountNo == null || accountNo.isEmpty() ? null : accountNo);
+        }
+
+        // Numbers are reserved before keys are asked for.
+        @Override
+        Object[] keys(AccountRecord record) {
+            return new Object[] {record.accountNo};
+        }
+
+        // One reservation covers every account in the chunk that came without a number.
+        @Override
+        void reserve(Chunk<AccountRecord> chunk) {
+            int missing = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                AccountRecord record = chunk.record(i);
+                if (record != null && record.accountNo == null) {
+                    missing++;
+                }
+            }
+            if (missing == 0) {
+                return;
+            }
+            String[] accountNos = bank.allocateAccountNumbers(missing);
+            int next = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                AccountRecord record = chunk.record(i);
+                if (record != null && record.accountNo == null) {
+                    record.accountNo = accountNos[next++];
+                }
+            }
+        }
+
+        @Override
+        CompletableFuture<?> register(AccountRecord record) {
+            return bank.openAccountAsync(record.accountNo, record.customerId, record.type, record.openingBalance.toBigDecimal());
+        }
+    }
+
+    private static final class AccountRecord {
+        final String customerId;
+        final AccountType type;
+        final Money openingBalance;
+        String accountNo;
+
+        AccountRecord(String customerId, AccountType type, Money openingBalance, String accountNo) {
+            this.customerId = customerId;
+            this.type = type;
+            this.openingBalance = openingBalance;
+            this.accountNo = accountNo;
+        }
+    }
+
+    private static AccountType accountType(String name) {
+        for (AccountType type : ACCOUNT_TYPES) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown account type: " + name);
+    }
+
+    /**
+     * Up to {@code max} comma-separated fields, trimmed. A field in double
+     * quotes keeps its commas and spaces, and {@code ""} inside it is one
+     * quote. More than {@code max} fields is an error reading {@code usage}.
+     */
+    static String[] fields(String line, int max, String usage) {
+        String[] fields = new String[max];
+        int count = 0;
+        int length = line.length();
+        int i = 0;
+        while (true) {
+            if (count == max) {
+                throw new IllegalArgumentException(usage);
+            }
+            int start = i;
+            while (i < length && line.charAt(i) == ' ') {
+                i++;
+            }
+            if (i < length && line.charAt(i) == '"') {
+                StringBuilder quoted = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i == length) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        quoted.append(c);
+                    } else if (i < length && line.charAt(i) == '"') {
+                        quoted.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                while (i < length && line.charAt(i) == ' ') {
+                    i++;
+                }
+                if (i < length && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Text after a closing quote");
+                }
+                fields[count++] = quoted.toString();
+            } else {
+                int comma = line.indexOf(',', i);
+                i = comma < 0 ? length : comma;
+                fields[count++] = line.substring(start, i).trim();
+            }
+            if (i == length) {
+                return count == max ? fields : Arrays.copyOf(fields, count);
+            }
+            i++;
+        }
+    }
+
+    /** yyyy-MM-dd without a formatter; anything else, or a day that does not exist, is rejected. */
+    static LocalDate parseDate(String text) {
+        if (text.length() == 10 && text.charAt(4) == '-' && text.charAt(7) == '-') {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 7);
+            int day = digits(text, 8, 10);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                try {
+                    return LocalDate.of(year, month, day);
+                } catch (DateTimeException e) {
+                    // reported below
+                }
+            }
+        }
+        throw new IllegalArgumentException("Invalid date of birth: " + text + " (use yyyy-MM-dd)");
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * One chunk's lines and outcomes, indexed by position. Each slot is
+     * written by a single worker; the stage joins publish them to the next.
+     */
+    private static final class Chunk<R> {
+        final String[] lines;
+        final long[] lineNumbers;
+        final Object[] records;
+        final String[] problems;
+        final CompletableFuture<?>[] durable;
+
+        Chunk(String[] lines, long[] lineNumbers) {
+            this.lines = lines;
+            this.lineNumbers = lineNumbers;
+            this.records = new Object[lines.length];
+            this.problems = new String[lines.length];
+            this.durable = new CompletableFuture<?>[lines.length];
+        }
+
+        int size() {
+            return lines.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        R record(int i) {
+            return (R) records[i];
+        }
+
+        void prepare(int i, Load<R> load) {
+            try {
+                records[i] = load.parse(lines[i]);
+            } catch (RuntimeException e) {
+                problems[i] = e.getMessage();
+            }
+        }
+
+        void apply(int i, Load<R> load) {
+            if (records[i] == null) {
+                return;
+            }
+            try {
+                durable[i] = load.register(record(i));
+            } catch (RuntimeException e) {
+                problems[i] = e.getMessage();
+            }
+        }
+
+        /** Waits for the chunk's journal commits, counts what loaded and reports the rest in line order. */
+        void collect(Load<R> load, List<OnboardingError> errors) {
+            load.read += size();
+            for (int i = 0; i < size(); i++) {
+                String problem = problems[i];
+                if (problem == null) {
+                    try {
+                        problem = load.refused(record(i), durable[i].join());
+                    } catch (CompletionException e) {
+                        problem = e.getCause().getMessage();
+                    }
+                }
+                if (problem == null) {
+                    load.loaded++;
+                } else {
+                    errors.add(new OnboardingError(load.type, lineNumbers[i], keyOf(lines[i]), problem));
+                }
+            }
+        }
+
+        private static String keyOf(String line) {
+            int comma = line.indexOf(',');
+            String key = (comma < 0 ? line : line.substring(0, comma)).trim();
+            return key.isEmpty() ? null : key;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.hdfc.onboarding;
+
+import com.hdfc.enums.RecordType;
+
+/**
+ * One record a bulk load left out. {@code line} is its 1-based line in the
+ * file; {@code key} is the customer id the line starts with.
+ */
+public final class OnboardingError {
+
+    private final RecordType type;
+    private final long line;
+    private final String key;
+    private final String message;
+
+    OnboardingError(RecordType type, long line, String key, String message) {
+        this.type = type;
+        this.line = line;
+        this.key = key;
+        this.message = message;
+    }
+
+    public RecordType getType() {
+        return type;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    /** Null when the line has no customer id. */
+    public String getKey() {
+        return key;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "OnboardingError{" +
+                "type=" + type.name() +
+                ", line=" + line +
+                (key != null ? ", key='" + key + '\'' : "") +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
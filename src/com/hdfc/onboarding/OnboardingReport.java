@@ -0,0 +1,85 @@
+package com.hdfc.onboarding;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/** What a bulk load registered and opened, every record it left out, and how long it took. */
+public final class OnboardingReport {
+
+    private final long customersRead;
+    private final long customersLoaded;
+    private final long accountsRead;
+    private final long accountsOpened;
+    private final List<OnboardingError> errors;
+    private final long elapsedNanos;
+
+    OnboardingReport(long customersRead, long customersLoaded, long accountsRead, long accountsOpened,
+                     List<OnboardingError> errors, long elapsedNanos) {
+        this.customersRead = customersRead;
+        this.customersLoaded = customersLoaded;
+        this.accountsRead = accountsRead;
+        this.accountsOpened = accountsOpened;
+        this.errors = Collections.unmodifiableList(errors);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /** Customer records in the file, not counting blank and comment lines. */
+    public long getCustomersRead() {
+        return customersRead;
+    }
+
+    public long getCustomersLoaded() {
+        return customersLoaded;
+    }
+
+    public long getAccountsRead() {
+        return accountsRead;
+    }
+
+    public long getAccountsOpened() {
+        return accountsOpened;
+    }
+
+    /** Customer errors first, then account errors, each in line order. */
+    public List<OnboardingError> getErrors() {
+        return errors;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** Records read per second, from the first line to the last commit. */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : (customersRead + accountsRead) / (elapsedNanos / 1e9);
+    }
+
+    /** Writes one CSV line per error: record type, line, key, message. */
+    public void writeTo(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("record,line,key,message");
+            out.newLine();
+            for (OnboardingError error : errors) {
+                out.write(error.getType().name() + "," + error.getLine() + ","
+                        + (error.getKey() == null ? "" : quoted(error.getKey())) + ","
+                        + quoted(error.getMessage()));
+                out.newLine();
+            }
+        }
+    }
+
+    private static String quoted(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d of %,d customer(s) registered, %,d of %,d account(s) opened, %,d error(s) in %.2fs (%,.0f records/sec)",
+                customersLoaded, customersRead, accountsOpened, accountsRead, errors.size(),
+                elapsedNanos / 1e9, getThroughput());
+    }
+}
@@ -0,0 +1,94 @@
+package com.hdfc.persistence;
+
+import com.hdfc.Entities.Account;
+import com.hdfc.Entities.CurrentAccount;
+import com.hdfc.Entities.Customer;
+import com.hdfc.Entities.SavingAccount;
+import com.hdfc.enums.AccountType;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Customers and account balances as of a journal position: everything a
+ * restart needs apart from the journal tail after {@link #getLsn()}.
+ */
+public class BankImage {
+
+    private final Map<String, Customer> customers = new LinkedHashMap<>();
+    private final Map<String, Account> accounts = new LinkedHashMap<>();
+    private long lsn;
+    private long transactionCount;
+
+    public static Account newAccount(String accountNo, String customerId, AccountType type, BigDecimal openingBalance) {
+        return type == AccountType.SAVINGS
+                ? new SavingAccount(accountNo, customerId, openingBalance)
+                : new CurrentAccount(accountNo, customerId, openingBalance);
+    }
+
+    /**
+     * Folds one journal entry into the image. Amounts are applied as they were
+     * journalled, without re-validation: every entry passed validation when it
+     * was first applied.
+     */
+    public void apply(JournalEntry entry) {
+        switch (entry.getType()) {
+            case CUSTOMER_REGISTERED:
+                customers.put(entry.getCustomerId(), entry.getCustomer());
+                break;
+            case ACCOUNT_OPENED:
+                accounts.put(entry.getAccountNo(),
+                        newAccount(entry.getAccountNo(), entry.getCustomerId(), entry.getAccountType(), entry.getAmount()));
+                break;
+            case DEPOSIT:
+                adjust(entry.getAccountNo(), entry.getAmount());
+                transactionCount++;
+                break;
+            case WITHDRAW:
+                adjust(entry.getAccountNo(), entry.getAmount().negate());
+                transactionCount++;
+                break;
+            case TRANSFER:
+                adjust(entry.getAccountNo(), entry.getAmount().negate());
+                adjust(entry.getTransaction().getToAccountNo(), entry.getAmount());
+                transactionCount++;
+                break;
+        }
+        lsn++;
+    }
+
+    private void adjust(String accountNo, BigDecimal delta) {
+        Account account = accounts.get(accountNo);
+        if (account == null) {
+            throw new IllegalStateException("Journal entry " + lsn + " moves money on account " + accountNo + ", which is not open");
+        }
+        account.setBalance(account.getBalance().add(delta));
+    }
+
+    public Map<String, Customer> getCustomers() {
+        return customers;
+    }
+
+    public Map<String, Account> getAccounts() {
+        return accounts;
+    }
+
+    /** Journal position the image is complete up to (exclusive). */
+    public long getLsn() {
+        return lsn;
+    }
+
+    public void setLsn(long lsn) {
+        this.lsn = lsn;
+    }
+
+    /** Number of ledger rows folded into the image. */
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+}
@@ -0,0 +1,489 @@
+package com.hdfc.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only write-ahead journal, kept as a directory of segment files named
+ * after the log sequence number of their first entry. Each entry is framed as
+ * {@code [int length][int crc32c][body]}. Callers encode their entry on their
+ * own thread and queue it; a single writer drains everything queued since its
+ * last fsync, writes it in one go and forces once, so concurrent operations
+ * share the cost of each {@code force()}.
+ *
+ * An entry's log sequence number is its position in the whole journal,
+ * counting from 0.
+ *
+ * A failed write fails every caller in its batch, cuts the segment back to
+ * the last fsync and leaves the journal refusing all further appends.
+ */
+public class Journal implements AutoCloseable {
+
+    private static final int MAGIC = 0x48444A32;
+    private static final int HEADER_SIZE = 12;
+    private static final int FRAME_HEADER_SIZE = 8;
+    private static final int MAX_ENTRY_SIZE = 1 << 24;
+    private static final int MAX_BATCH = 8192;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String ARCHIVE = "archive";
+    private static final Pending SHUTDOWN = new Pending(null, null);
+
+    /**
+     * Sees committed entries in log order: replayed ones at open and while
+     * reading, and new ones as they become durable, on the writer thread.
+     */
+    public interface Listener {
+        void committed(long lsn, JournalEntry entry) throws IOException;
+    }
+
+    private final Path directory;
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private FileChannel channel;
+    // Size of the active segment at its last fsync; a failed write is cut back to it.
+    private long committedSize;
+    private volatile Listener listener;
+
+    private volatile boolean running = true;
+    private volatile IOException failure;
+    private volatile long nextLsn;
+    private volatile long commits;
+
+    private Journal(Path directory, FileChannel channel, long committedSize, long nextLsn) {
+        this.directory = directory;
+        this.channel = channel;
+        this.committedSize = committedSize;
+        this.nextLsn = nextLsn;
+        this.writer = new Thread(this::writeLoop, "hdfc-journal-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Opens (or creates) the journal in {@code directory}, hands every intact
+     * entry from {@code fromLsn} onwards to {@code replayer} in order, cuts off
+     * a torn tail left by a crash and starts the group-commit writer.
+     */
+    public static Journal open(Path directory, long fromLsn, Listener replayer) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = listSegments(directory);
+
+        if (segments.isEmpty()) {
+            return start(directory, createSegment(directory, fromLsn), fromLsn);
+        }
+        if (firstLsnOf(segments.get(0)) > fromLsn) {
+            throw new IOException("Journal starts at " + firstLsnOf(segments.get(0)) + " but recovery needs " + fromLsn);
+        }
+
+        long end = fromLsn;
+        for (int i = 0; i < segments.size(); i++) {
+            boolean active = i == segments.size() - 1;
+            if (!active && firstLsnOf(segments.get(i + 1)) <= fromLsn) {
+                continue;
+            }
+            end = readSegment(segments.get(i), fromLsn, Long.MAX_VALUE, replayer, active);
+        }
+        if (end < fromLsn) {
+            throw new IOException("Journal ends at " + end + " but recovery needs " + fromLsn);
+        }
+
+        Path active = segments.get(segments.size() - 1);
+        FileChannel channel = FileChannel.open(active, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return start(directory, channel, end);
+    }
+
+    /** Opens (or creates) the journal and replays all of it. */
+    public static Journal open(Path directory, Listener replayer) throws IOException {
+        return open(directory, 0, replayer);
+    }
+
+    /**
+     * Reads entries in {@code [fromLsn, toLsn)} from the segments of a journal
+     * directory, without opening it for writing. Meant for closed segments.
+     */
+    public static void read(Path directory, long fromLsn, long toLsn, Listener visitor) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> segments = listSegments(directory);
+        for (int i = 0; i < segments.size(); i++) {
+            long first = firstLsnOf(segments.get(i));
+            if (first >= toLsn) {
+                break;
+            }
+            if (i + 1 < segments.size() && firstLsnOf(segments.get(i + 1)) <= fromLsn) {
+                continue;
+            }
+            readSegment(segments.get(i), fromLsn, toLsn, visitor, false);
+        }
+    }
+
+    private static Journal start(Path directory, FileChannel channel, long nextLsn) throws IOException {
+        Journal journal = new Journal(directory, channel, channel.position(), nextLsn);
+        journal.writer.start();
+        return journal;
+    }
+
+    private static long readSegment(Path segment, long fromLsn, long toLsn, Listener visitor, boolean repairTail) throws IOException {
+        try (FileChannel channel = repairTail
+                ? FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(segment, StandardOpenOption.READ)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+            long lsn;
+            try {
+                if (in.readInt() != MAGIC) {
+                    throw new IOException("Not a journal segment: " + segment);
+                }
+                lsn = in.readLong();
+            } catch (EOFException e) {
+                throw new IOException("Truncated journal segment header: " + segment);
+            }
+
+            CRC32C crc = new CRC32C();
+            long validEnd = HEADER_SIZE;
+            while (lsn < toLsn) {
+                byte[] body;
+                int checksum;
+                try {
+                    int length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0 || length > MAX_ENTRY_SIZE) {
+                        break;
+                    }
+                    body = new byte[length];
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                crc.reset();
+                crc.update(body);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                if (visitor != null && lsn >= fromLsn) {
+                    visitor.committed(lsn, JournalCodec.decode(body));
+                }
+                validEnd += FRAME_HEADER_SIZE + body.length;
+                lsn++;
+            }
+
+            // Anything after the last intact frame is a write that never completed.
+            if (repairTail && validEnd < channel.size()) {
+                channel.truncate(validEnd);
+                channel.force(true);
+            }
+            return lsn;
+        }
+    }
+
+    private static FileChannel createSegment(Path directory, long firstLsn) throws IOException {
+        Path segment = directory.resolve(segmentName(firstLsn));
+        FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putLong(firstLsn).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            channel.force(true);
+            return channel;
+        } catch (IOException e) {
+            // A segment without a whole header would stop the next open.
+            channel.close();
+            Files.deleteIfExists(segment);
+            throw e;
+        }
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String segmentName(long firstLsn) {
+        return SEGMENT_PREFIX + String.format("%020d", firstLsn) + SEGMENT_SUFFIX;
+    }
+
+    private static long firstLsnOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Queues the entry and returns a future that completes with its log
+     * sequence number once it is on disk.
+     */
+    public CompletableFuture<Long> append(JournalEntry entry) {
+        IOException failed = failure;
+        if (failed != null) {
+            return CompletableFuture.failedFuture(new UncheckedIOException("Journal is unavailable", failed));
+        }
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Journal is closed"));
+        }
+        Pending pending = new Pending(entry, JournalCodec.encode(entry));
+        queue.add(pending);
+        return pending.done;
+    }
+
+    /**
+     * Throws what {@link #append} would fail with once the journal has failed
+     * or closed, so callers can refuse a change before making it.
+     */
+    public void checkWritable() {
+        IOException failed = failure;
+        if (failed != null) {
+            throw new UncheckedIOException("Journal is unavailable", failed);
+        }
+        if (!running) {
+            throw new IllegalStateException("Journal is closed");
+        }
+    }
+
+    /**
+     * Installs the listener that sees every newly committed entry before its
+     * appender is released. Set it before the first append.
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public long appendAndWait(JournalEntry entry) {
+        try {
+            return append(entry).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the active segment and starts a new one, unless the active one
+     * holds nothing yet. The future completes
+     * with the first log sequence number of the new segment: every entry below
+     * it is durable and lives in a closed segment.
+     */
+    public CompletableFuture<Long> roll() {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Journal is closed"));
+        }
+        Pending pending = new Pending(null, null);
+        queue.add(pending);
+        return pending.done;
+    }
+
+    /**
+     * Moves closed segments that only hold entries below {@code lsn} into the
+     * {@code archive} subdirectory, out of the recovery path.
+     */
+    public int archiveBefore(long lsn) throws IOException {
+        List<Path> segments = listSegments(directory);
+        Path archive = directory.resolve(ARCHIVE);
+        int archived = 0;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstLsnOf(segments.get(i + 1)) > lsn) {
+                break;
+            }
+            Files.createDirectories(archive);
+            Files.move(segments.get(i), archive.resolve(segments.get(i).getFileName()), StandardCopyOption.ATOMIC_MOVE);
+            archived++;
+        }
+        return archived;
+    }
+
+    /** Log sequence number the next entry will get; every entry below it is durable. */
+    public long getDurableEntries() {
+        return nextLsn;
+    }
+
+    /** Number of fsyncs issued since open. */
+    public long getCommits() {
+        return commits;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        queue.add(SHUTDOWN);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void writeLoop() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        CRC32C crc = new CRC32C();
+        boolean stopping = false;
+
+        while (!stopping) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            stopping = batch.remove(SHUTDOWN);
+
+            if (failure != null) {
+                failAll(batch);
+                continue;
+            }
+
+            try {
+                int from = 0;
+                for (int i = 0; i < batch.size(); i++) {
+                    if (batch.get(i).body == null) {
+                        buffer = commit(batch, from, i, buffer, crc);
+                        from = i + 1;
+                        // An empty segment already starts at nextLsn and would clash with its successor.
+                        if (committedSize > HEADER_SIZE) {
+                            FileChannel next = createSegment(directory, nextLsn);
+                            channel.close();
+                            channel = next;
+                            committedSize = channel.position();
+                        }
+                        batch.get(i).done.complete(nextLsn);
+                    }
+                }
+                buffer = commit(batch, from, batch.size(), buffer, crc);
+            } catch (IOException e) {
+                failure = e;
+                discardUncommitted();
+                failAll(batch);
+                continue;
+            }
+            batch.clear();
+        }
+
+        // Entries that raced close() never reach the file.
+        batch.clear();
+        queue.drainTo(batch);
+        batch.remove(SHUTDOWN);
+        for (Pending pending : batch) {
+            pending.done.completeExceptionally(new IllegalStateException("Journal is closed"));
+        }
+    }
+
+    private ByteBuffer commit(List<Pending> batch, int from, int to, ByteBuffer buffer, CRC32C crc) throws IOException {
+        if (from == to) {
+            return buffer;
+        }
+        buffer.clear();
+        for (int i = from; i < to; i++) {
+            byte[] body = batch.get(i).body;
+            int frameSize = FRAME_HEADER_SIZE + body.length;
+            if (buffer.remaining() < frameSize) {
+                flush(buffer);
+                if (buffer.capacity() < frameSize) {
+                    buffer = ByteBuffer.allocateDirect(frameSize);
+                }
+            }
+            crc.reset();
+            crc.update(body);
+            buffer.putInt(body.length).putInt((int) crc.getValue()).put(body);
+        }
+        flush(buffer);
+        channel.force(false);
+        committedSize = channel.position();
+
+        Listener current = listener;
+        if (current != null) {
+            long lsn = nextLsn;
+            for (int i = from; i < to; i++) {
+                try {
+                    current.committed(lsn++, batch.get(i).entry);
+                } catch (IOException | RuntimeException e) {
+                    // The entry is durable whatever the listener does; don't fail the batch for it.
+                    System.err.println("Journal listener failed: " + e.getMessage());
+                }
+            }
+        }
+
+        long lsn = nextLsn;
+        for (int i = from; i < to; i++) {
+            batch.get(i).done.complete(lsn++);
+        }
+        nextLsn = lsn;
+        commits++;
+        return buffer;
+    }
+
+    private void flush(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Cuts the active segment back to its last fsync, so frames from the
+     * failed write are not replayed on restart after their callers were told
+     * they failed.
+     */
+    private void discardUncommitted() {
+        try {
+            if (channel.size() > committedSize) {
+                channel.truncate(committedSize);
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            System.err.println("Journal could not discard a failed write: " + e.getMessage());
+        }
+    }
+
+    private void failAll(List<Pending> batch) {
+        UncheckedIOException error = new UncheckedIOException("Journal write failed", failure);
+        for (Pending pending : batch) {
+            pending.done.completeExceptionally(error);
+        }
+        batch.clear();
+    }
+
+    private static final class Pending {
+        final JournalEntry entry;
+        final byte[] body;
+        final CompletableFuture<Long> done = new CompletableFuture<>();
+
+        // A null body asks the writer to roll to a new segment.
+        Pending(JournalEntry entry, byte[] body) {
+            this.entry = entry;
+            this.body = body;
+        }
+    }
+}
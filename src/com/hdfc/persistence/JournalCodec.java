@@ -0,0 +1,138 @@
+package com.hdfc.persistence;
+
+import com.hdfc.Entities.Customer;
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.AccountType;
+import com.hdfc.enums.JournalEntryType;
+import com.hdfc.enums.TransactionType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary body of a journal entry. The frame around it (length and CRC) is
+ * written by {@link Journal}.
+ */
+final class JournalCodec {
+
+    private JournalCodec() {
+    }
+
+    static byte[] encode(JournalEntry entry) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(entry.getType().ordinal());
+            switch (entry.getType()) {
+                case CUSTOMER_REGISTERED:
+                    writeCustomer(out, entry.getCustomer());
+                    break;
+                case ACCOUNT_OPENED:
+                    writeString(out, entry.getAccountNo());
+                    writeString(out, entry.getCustomerId());
+                    out.writeByte(entry.getAccountType().ordinal());
+                    writeDecimal(out, entry.getAmount());
+                    break;
+                default:
+                    writeTransaction(out, entry.getTransaction());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static JournalEntry decode(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        JournalEntryType type = JournalEntryType.values()[in.readUnsignedByte()];
+        switch (type) {
+            case CUSTOMER_REGISTERED:
+                return JournalEntry.customerRegistered(readCustomer(in));
+            case ACCOUNT_OPENED:
+                String accountNo = readString(in);
+                String customerId = readString(in);
+                AccountType accountType = AccountType.values()[in.readUnsignedByte()];
+                return JournalEntry.accountOpened(accountNo, customerId, accountType, readDecimal(in));
+            case DEPOSIT:
+                return JournalEntry.deposit(readTransaction(in));
+            case WITHDRAW:
+                return JournalEntry.withdraw(readTransaction(in));
+            case TRANSFER:
+                return JournalEntry.transfer(readTransaction(in));
+            default:
+                throw new IOException("Unknown journal entry type " + type);
+        }
+    }
+
+    static void writeCustomer(DataOutputStream out, Customer customer) throws IOException {
+        writeString(out, customer.getCustomerId());
+        writeString(out, customer.getName());
+        writeString(out, customer.getPhone());
+        writeString(out, customer.getEmail());
+        writeString(out, customer.getPwd());
+        out.writeLong(customer.getDob() == null ? Long.MIN_VALUE : customer.getDob().toEpochDay());
+    }
+
+    static Customer readCustomer(DataInputStream in) throws IOException {
+        String customerId = readString(in);
+        String name = readString(in);
+        String phone = readString(in);
+        String email = readString(in);
+        String pwd = readString(in);
+        long dob = in.readLong();
+        return new Customer(customerId, name, phone, email, pwd, dob == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(dob));
+    }
+
+    private static void writeTransaction(DataOutputStream out, Transaction transaction) throws IOException {
+        out.writeLong(transaction.getId());
+        writeDecimal(out, transaction.getAmount());
+        writeString(out, transaction.getAccountNo());
+        out.writeLong(transaction.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(transaction.getTimestamp().getNano());
+        out.writeByte(transaction.getType().ordinal());
+        writeString(out, transaction.getToAccountNo());
+    }
+
+    private static Transaction readTransaction(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        BigDecimal amount = readDecimal(in);
+        String accountNo = readString(in);
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        TransactionType type = TransactionType.values()[in.readUnsignedByte()];
+        String toAccountNo = readString(in);
+        return new Transaction(id, amount, accountNo, timestamp, type, toAccountNo);
+    }
+
+    static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeByte(unscaled.length);
+        out.write(unscaled);
+    }
+
+    static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedByte()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
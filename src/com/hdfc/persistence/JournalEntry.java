@@ -0,0 +1,96 @@
+package com.hdfc.persistence;
+
+import com.hdfc.Entities.Customer;
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.AccountType;
+import com.hdfc.enums.JournalEntryType;
+
+import java.math.BigDecimal;
+
+/**
+ * One state change in the journal. Account openings carry their opening
+ * balance; money movements carry the ledger row they produced.
+ */
+public final class JournalEntry {
+
+    private final JournalEntryType type;
+    private final Customer customer;
+    private final String accountNo;
+    private final String customerId;
+    private final AccountType accountType;
+    private final BigDecimal amount;
+    private final Transaction transaction;
+
+    private JournalEntry(JournalEntryType type, Customer customer, String accountNo, String customerId,
+                         AccountType accountType, BigDecimal amount, Transaction transaction) {
+        this.type = type;
+        this.customer = customer;
+        this.accountNo = accountNo;
+        this.customerId = customerId;
+        this.accountType = accountType;
+        this.amount = amount;
+        this.transaction = transaction;
+    }
+
+    public static JournalEntry customerRegistered(Customer customer) {
+        return new JournalEntry(JournalEntryType.CUSTOMER_REGISTERED, customer, null, customer.getCustomerId(), null, null, null);
+    }
+
+    public static JournalEntry accountOpened(String accountNo, String customerId, AccountType accountType, BigDecimal openingBalance) {
+        return new JournalEntry(JournalEntryType.ACCOUNT_OPENED, null, accountNo, customerId, accountType, openingBalance, null);
+    }
+
+    public static JournalEntry deposit(Transaction transaction) {
+        return movement(JournalEntryType.DEPOSIT, transaction);
+    }
+
+    public static JournalEntry withdraw(Transaction transaction) {
+        return movement(JournalEntryType.WITHDRAW, transaction);
+    }
+
+    public static JournalEntry transfer(Transaction transaction) {
+        return movement(JournalEntryType.TRANSFER, transaction);
+    }
+
+    private static JournalEntry movement(JournalEntryType type, Transaction transaction) {
+        return new JournalEntry(type, null, transaction.getAccountNo(), null, null, transaction.getAmount(), transaction);
+    }
+
+    public JournalEntryType getType() {
+        return type;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public String getAccountNo() {
+        return accountNo;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalEntry{" +
+                "type=" + type +
+                ", accountNo='" + accountNo + '\'' +
+                ", customerId='" + customerId + '\'' +
+                ", amount=" + amount +
+                '}';
+    }
+}
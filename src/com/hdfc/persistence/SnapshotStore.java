@@ -0,0 +1,146 @@
+package com.hdfc.persistence;
+
+import com.hdfc.Entities.Account;
+import com.hdfc.Entities.Customer;
+import com.hdfc.enums.AccountType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot files named after the journal position they cover. A snapshot is
+ * written to a temporary file, forced and renamed into place, and carries a
+ * CRC32C trailer so a damaged one is skipped in favour of an older one.
+ */
+public class SnapshotStore {
+
+    private static final int MAGIC = 0x48445331;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+
+    private final Path directory;
+
+    public SnapshotStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    /** Newest readable snapshot, or an empty image at position 0. */
+    public BankImage loadLatest() throws IOException {
+        List<Path> snapshots = list();
+        Collections.reverse(snapshots);
+        for (Path snapshot : snapshots) {
+            try {
+                return read(snapshot);
+            } catch (IOException e) {
+                System.err.println("Skipping unreadable snapshot " + snapshot + ": " + e.getMessage());
+            }
+        }
+        return new BankImage();
+    }
+
+    public Path write(BankImage image) throws IOException {
+        Path target = directory.resolve(PREFIX + String.format("%020d", image.getLsn()) + SUFFIX);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32C crc = new CRC32C();
+            OutputStream raw = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(raw, 1 << 16), crc));
+            out.writeInt(MAGIC);
+            out.writeLong(image.getLsn());
+            out.writeLong(image.getTransactionCount());
+
+            out.writeInt(image.getCustomers().size());
+            for (Customer customer : image.getCustomers().values()) {
+                JournalCodec.writeCustomer(out, customer);
+            }
+
+            out.writeInt(image.getAccounts().size());
+            for (Account account : image.getAccounts().values()) {
+                JournalCodec.writeString(out, account.getAccoutNo());
+                JournalCodec.writeString(out, account.getCustomerId());
+                out.writeByte(account.getType().ordinal());
+                JournalCodec.writeDecimal(out, account.getBalance());
+            }
+            out.flush();
+
+            DataOutputStream trailer = new DataOutputStream(raw);
+            trailer.writeInt((int) crc.getValue());
+            trailer.flush();
+            channel.force(true);
+        }
+
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return target;
+    }
+
+    /** Deletes all but the newest {@code keep} snapshots. */
+    public void prune(int keep) throws IOException {
+        List<Path> snapshots = list();
+        for (int i = 0; i < snapshots.size() - keep; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+
+    private BankImage read(Path snapshot) throws IOException {
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16)) {
+            CRC32C crc = new CRC32C();
+            DataInputStream in = new DataInputStream(new CheckedInputStream(raw, crc));
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a snapshot file");
+            }
+
+            BankImage image = new BankImage();
+            image.setLsn(in.readLong());
+            image.setTransactionCount(in.readLong());
+
+            int customerCount = in.readInt();
+            for (int i = 0; i < customerCount; i++) {
+                Customer customer = JournalCodec.readCustomer(in);
+                image.getCustomers().put(customer.getCustomerId(), customer);
+            }
+
+            int accountCount = in.readInt();
+            for (int i = 0; i < accountCount; i++) {
+                String accountNo = JournalCodec.readString(in);
+                String customerId = JournalCodec.readString(in);
+                AccountType type = AccountType.values()[in.readUnsignedByte()];
+                image.getAccounts().put(accountNo, BankImage.newAccount(accountNo, customerId, type, JournalCodec.readDecimal(in)));
+            }
+
+            int expected = (int) crc.getValue();
+            if (new DataInputStream(raw).readInt() != expected) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+            return image;
+        }
+    }
+
+    private List<Path> list() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files.filter(p -> p.getFileName().toString().startsWith(PREFIX)
+                            && p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.hdfc.persistence;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically folds closed journal segments into a new snapshot and moves
+ * those segments out of the recovery path.
+ *
+ * A checkpoint never touches live accounts: it rolls the journal to get a
+ * boundary, then replays the segments below that boundary onto the previous
+ * snapshot on its own thread. Deposits and withdrawals carry on meanwhile, and
+ * a restart only has to replay what was journalled after the newest snapshot.
+ *
+ * Anything else fed from the journal (the ledger store) is flushed before
+ * segments are archived, so it never needs entries from the archive.
+ */
+public class Snapshotter implements AutoCloseable {
+
+    private static final int SNAPSHOTS_KEPT = 2;
+
+    private final Journal journal;
+    private final SnapshotStore store;
+    private final Flushable dependents;
+    private final long entryThreshold;
+    private final ScheduledExecutorService scheduler;
+    private volatile long snapshotLsn;
+
+    /**
+     * Checks every {@code intervalSeconds} and takes a snapshot once at least
+     * {@code entryThreshold} entries have been journalled since the last one.
+     */
+    public Snapshotter(Journal journal, SnapshotStore store, Flushable dependents, long snapshotLsn, long entryThreshold, long intervalSeconds) {
+        this.journal = journal;
+        this.store = store;
+        this.dependents = dependents;
+        this.snapshotLsn = snapshotLsn;
+        this.entryThreshold = entryThreshold;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hdfc-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (intervalSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::checkpointIfDue, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /** Takes a snapshot now and returns the journal position it covers. */
+    public synchronized long checkpoint() throws IOException {
+        long boundary = journal.roll().join();
+        if (boundary != snapshotLsn) {
+            snapshotTo(boundary);
+        }
+        return boundary;
+    }
+
+    /**
+     * Takes a snapshot now and returns it. Its balances and transaction count
+     * are one cut of the journal, and the listener has already seen every
+     * entry below it.
+     */
+    public synchronized BankImage checkpointImage() throws IOException {
+        long boundary = journal.roll().join();
+        return boundary == snapshotLsn ? store.loadLatest() : snapshotTo(boundary);
+    }
+
+    private BankImage snapshotTo(long boundary) throws IOException {
+        BankImage image = store.loadLatest();
+        Journal.read(journal.getDirectory(), image.getLsn(), boundary, (lsn, entry) -> image.apply(entry));
+        if (image.getLsn() != boundary) {
+            throw new IOException("Journal segments end at " + image.getLsn() + ", expected " + boundary);
+        }
+
+        store.write(image);
+        if (dependents != null) {
+            dependents.flush();
+        }
+        journal.archiveBefore(boundary);
+        store.prune(SNAPSHOTS_KEPT);
+        snapshotLsn = boundary;
+        return image;
+    }
+
+    public long getSnapshotLsn() {
+        return snapshotLsn;
+    }
+
+    private void checkpointIfDue() {
+        if (journal.getDurableEntries() - snapshotLsn < entryThreshold) {
+            return;
+        }
+        try {
+            checkpoint();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Snapshot failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
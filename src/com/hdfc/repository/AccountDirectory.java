@@ -0,0 +1,121 @@
+package com.hdfc.repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Gives every account number a dense int ordinal, starting at 0, and keeps
+ * one canonical copy of the string. Per-account structures are then arrays
+ * indexed by ordinal instead of maps keyed by string.
+ *
+ * The lookup table is open-addressed with linear probing over parallel
+ * {@code String[]}/{@code int[]} arrays, so a lookup boxes nothing and, for a
+ * canonical string, never gets past the identity check. Reads never lock;
+ * interning is serialized and publishes each key after its ordinal, and a
+ * resize publishes a whole new table.
+ */
+public final class AccountDirectory {
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(String[].class);
+
+    private volatile Table table = new Table(64);
+    private volatile String[] names = new String[32];
+    private volatile int size;
+
+    /** Ordinal of {@code accountNo}, or -1 if it has never been interned. */
+    public int ordinalOf(String accountNo) {
+        Table current = table;
+        int mask = current.keys.length - 1;
+        for (int i = spread(accountNo.hashCode()) & mask; ; i = (i + 1) & mask) {
+            String key = (String) KEYS.getAcquire(current.keys, i);
+            if (key == null) {
+                return -1;
+            }
+            if (key == accountNo || key.equals(accountNo)) {
+                return current.ordinals[i];
+            }
+        }
+    }
+
+    /** Ordinal of {@code accountNo}, handing out the next one if it is new. */
+    public int intern(String accountNo) {
+        int existing = ordinalOf(accountNo);
+        return existing >= 0 ? existing : add(accountNo);
+    }
+
+    private synchronized int add(String accountNo) {
+        int existing = ordinalOf(accountNo);
+        if (existing >= 0) {
+            return existing;
+        }
+        int ordinal = size;
+        Table current = table;
+        if ((ordinal + 1) * 2 > current.keys.length) {
+            current = current.resize();
+            table = current;
+        }
+        current.put(accountNo, ordinal);
+        String[] named = names;
+        if (ordinal == named.length) {
+            named = Arrays.copyOf(named, ordinal << 1);
+        }
+        named[ordinal] = accountNo;
+        names = named;
+        size = ordinal + 1;
+        return ordinal;
+    }
+
+    /** The canonical account number for {@code ordinal}, or null. */
+    public String nameOf(int ordinal) {
+        if (ordinal < 0 || ordinal >= size) {
+            return null;
+        }
+        return names[ordinal];
+    }
+
+    /** The interned copy of {@code accountNo}, or {@code accountNo} itself if it has none. */
+    public String canonical(String accountNo) {
+        int ordinal = ordinalOf(accountNo);
+        return ordinal < 0 ? accountNo : nameOf(ordinal);
+    }
+
+    /** Ordinals run from 0 to {@code size() - 1}. */
+    public int size() {
+        return size;
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9;
+    }
+
+    private static final class Table {
+        final String[] keys;
+        final int[] ordinals;
+
+        Table(int capacity) {
+            this.keys = new String[capacity];
+            this.ordinals = new int[capacity];
+        }
+
+        void put(String key, int ordinal) {
+            int mask = keys.length - 1;
+            int i = spread(key.hashCode()) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            ordinals[i] = ordinal;
+            KEYS.setRelease(keys, i, key);
+        }
+
+        Table resize() {
+            Table bigger = new Table(keys.length << 1);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    bigger.put(keys[i], ordinals[i]);
+                }
+            }
+            return bigger;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.hdfc.repository;
+
+import com.hdfc.Entities.Account;
+import com.hdfc.util.OrdinalTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open accounts by account number. Each number is interned in an
+ * {@link AccountDirectory} and the account kept in a slot indexed by its
+ * ordinal, so lookups never lock and code that already holds an ordinal
+ * skips the string altogether.
+ *
+ * Each customer's accounts are also kept as an immutable list, replaced
+ * whole under the map's bin lock when an account is added, so listing them
+ * is one lookup and never sees a list being changed. An account joins its
+ * customer's list once it can be found by number.
+ */
+public class AccountRepository {
+
+    private final AccountDirectory directory;
+    private final OrdinalTable<Account> byOrdinal = new OrdinalTable<>();
+    private final ConcurrentHashMap<String, List<Account>> byCustomer = new ConcurrentHashMap<>();
+    private final AtomicInteger count = new AtomicInteger();
+
+    public AccountRepository() {
+        this(new AccountDirectory());
+    }
+
+    public AccountRepository(AccountDirectory directory) {
+        this.directory = directory;
+    }
+
+    /** False if an account with the same number is already open. */
+    public boolean add(Account account) {
+        if (!byOrdinal.putIfAbsent(directory.intern(account.getAccoutNo()), account)) {
+            return false;
+        }
+        if (account.getCustomerId() != null) {
+            byCustomer.merge(account.getCustomerId(), List.of(account), AccountRepository::appended);
+        }
+        count.incrementAndGet();
+        return true;
+    }
+
+    public void addAll(Map<String, Account> accounts) {
+        accounts.values().forEach(this::add);
+    }
+
+    public Account find(String accountNo) {
+        return byOrdinal.get(directory.ordinalOf(accountNo));
+    }
+
+    public Account find(int ordinal) {
+        return byOrdinal.get(ordinal);
+    }
+
+    /** The customer's accounts in the order they were added; empty if none. */
+    public List<Account> findByCustomer(String customerId) {
+        return customerId == null ? List.of() : byCustomer.getOrDefault(customerId, List.of());
+    }
+
+    /** A copy; accounts opened while it is taken may or may not be in it. */
+    public List<Account> findAll() {
+        int ordinals = directory.size();
+        List<Account> all = new ArrayList<>(ordinals);
+        for (int ordinal = 0; ordinal < ordinals; ordinal++) {
+            Account account = byOrdinal.get(ordinal);
+            if (account != null) {
+                all.add(account);
+            }
+        }
+        return all;
+    }
+
+    public int size() {
+        return count.get();
+    }
+
+    public AccountDirectory getDirectory() {
+        return directory;
+    }
+
+    private static List<Account> appended(List<Account> accounts, List<Account> added) {
+        Account[] all = accounts.toArray(new Account[accounts.size() + 1]);
+        all[accounts.size()] = added.get(0);
+        return List.of(all);
+    }
+}
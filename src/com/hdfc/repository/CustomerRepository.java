@@ -0,0 +1,105 @@
+package com.hdfc.repository;
+
+import com.hdfc.Entities.Customer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registered customers by id, with unique secondary indexes on email (case
+ * insensitive) and phone. Lookups never lock and registrations only contend
+ * when they land in the same bin of one of the underlying maps.
+ *
+ * A registration claims the email and phone first and the id last: the
+ * customer is found by any key only once its id is in, and a registration
+ * that clashes on any key gives back what it claimed. The indexes are keyed
+ * by the email and phone at registration.
+ */
+public class CustomerRepository {
+
+    private final ConcurrentHashMap<String, Customer> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Customer> byEmail = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Customer> byPhone = new ConcurrentHashMap<>();
+
+    /** False if a customer with the same id, email or phone is already registered. */
+    public boolean add(Customer customer) {
+        String customerId = customer.getCustomerId();
+        if (byId.containsKey(customerId)) {
+            return false;
+        }
+        String email = emailKey(customer.getEmail());
+        String phone = customer.getPhone();
+        if (email != null && byEmail.putIfAbsent(email, customer) != null) {
+            return false;
+        }
+        if (phone != null && byPhone.putIfAbsent(phone, customer) != null) {
+            release(email, null, customer);
+            return false;
+        }
+        if (byId.putIfAbsent(customerId, customer) != null) {
+            release(email, phone, customer);
+            return false;
+        }
+        return true;
+    }
+
+    /** Recovery: takes every customer; where an email or phone repeats, the first one indexed keeps it. */
+    public void addAll(Map<String, Customer> customers) {
+        for (Customer customer : customers.values()) {
+            byId.put(customer.getCustomerId(), customer);
+            String email = emailKey(customer.getEmail());
+            if (email != null) {
+                byEmail.putIfAbsent(email, customer);
+            }
+            if (customer.getPhone() != null) {
+                byPhone.putIfAbsent(customer.getPhone(), customer);
+            }
+        }
+    }
+
+    public Customer find(String customerId) {
+        return byId.get(customerId);
+    }
+
+    public Customer findByEmail(String email) {
+        return email == null ? null : registered(byEmail.get(emailKey(email)));
+    }
+
+    public Customer findByPhone(String phone) {
+        return phone == null ? null : registered(byPhone.get(phone));
+    }
+
+    public boolean contains(String customerId) {
+        return byId.containsKey(customerId);
+    }
+
+    /** A copy; customers registered while it is taken may or may not be in it. */
+    public List<Customer> findAll() {
+        return new ArrayList<>(byId.values());
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // A claim whose registration has not (yet) got its id in is not a customer.
+    private Customer registered(Customer customer) {
+        return customer != null && byId.get(customer.getCustomerId()) == customer ? customer : null;
+    }
+
+    private void release(String email, String phone, Customer customer) {
+        if (email != null) {
+            byEmail.remove(email, customer);
+        }
+        if (phone != null) {
+            byPhone.remove(phone, customer);
+        }
+    }
+
+    private static String emailKey(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,856 @@
+package com.hdfc.service;
+
+import com.hdfc.Entities.Account;
+import com.hdfc.Entities.Customer;
+import com.hdfc.Entities.Money;
+import com.hdfc.Entities.Transaction;
+import com.hdfc.Exception.InvalidAccountException;
+import com.hdfc.Exception.InvalidDepositValue;
+import com.hdfc.audit.AuditLog;
+import com.hdfc.enums.AccountType;
+import com.hdfc.enums.ExecutionMode;
+import com.hdfc.enums.OperationType;
+import com.hdfc.enums.TransactionType;
+import com.hdfc.ledger.AccountSummary;
+import com.hdfc.ledger.DailyTotal;
+import com.hdfc.ledger.HistoryPage;
+import com.hdfc.ledger.HistoryQuery;
+import com.hdfc.ledger.MappedTransactionStore;
+import com.hdfc.ledger.RowVisitor;
+import com.hdfc.ledger.StatementRowVisitor;
+import com.hdfc.ledger.SummaryIndex;
+import com.hdfc.ledger.TransactionIndex;
+import com.hdfc.ledger.TransactionLedger;
+import com.hdfc.metrics.BankMetrics;
+import com.hdfc.persistence.BankImage;
+import com.hdfc.persistence.Journal;
+import com.hdfc.persistence.JournalEntry;
+import com.hdfc.persistence.SnapshotStore;
+import com.hdfc.persistence.Snapshotter;
+import com.hdfc.repository.AccountDirectory;
+import com.hdfc.repository.AccountRepository;
+import com.hdfc.repository.CustomerRepository;
+import com.hdfc.util.IdGenerator;
+import com.hdfc.util.Validators;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The bank's state and every operation that changes it. Each change is applied
+ * in memory, written to the journal (when there is one) and only then reported
+ * back, so anything a caller was told succeeded survives a restart.
+ *
+ * A durable bank lives in a data directory holding {@code journal/},
+ * {@code snapshots/} and {@code ledger/}. Startup loads the newest snapshot
+ * and replays only the journal written after it. Ledger rows go to the
+ * memory-mapped store in journal order as they become durable; an in-memory
+ * bank keeps them on the heap instead. Either way each row also updates the
+ * account's running totals in a {@link SummaryIndex}.
+ *
+ * In {@link ExecutionMode#SEQUENCED} mode every balance change goes through a
+ * {@link Sequencer}: one thread owns and applies them, and a second journals
+ * them in that same order. Rejections then come back through the returned
+ * futures instead of being thrown by the async methods.
+ *
+ * Given an {@link AuditLog}, every committed change and every rejected
+ * operation is also handed to it; replayed journal entries are not audited
+ * again. The log belongs to the caller, which closes it after the bank.
+ */
+public class BankService implements AutoCloseable {
+
+    // One ordinal per account number, shared by everything keyed by account;
+    // in a durable bank the ledger store persists it.
+    private final AccountDirectory directory = new AccountDirectory();
+    private final CustomerRepository customers = new CustomerRepository();
+    private final AccountRepository accounts = new AccountRepository(directory);
+    private final TransactionLedger transactions = new TransactionLedger();
+    private final TransactionIndex transactionIndex = new TransactionIndex(directory);
+    private final SummaryIndex summaries = new SummaryIndex(directory);
+    private final BankMetrics metrics = new BankMetrics(this::getTransactionCount);
+    private final TransferService transferService = new TransferService(metrics.getLockWaits());
+    private final IdGenerator accountIds = new IdGenerator();
+    private final IdGenerator transactionIds = new IdGenerator();
+    private final Journal journal;
+    private final Snapshotter snapshotter;
+    private final MappedTransactionStore ledgerStore;
+    private final Sequencer sequencer;
+    private final IdempotencyCache idempotency = new IdempotencyCache(
+            Integer.getInteger("hdfc.idempotency.keys", 100_000), Long.getLong("hdfc.idempotency.window", 600L) * 1000);
+    private final AuditLog audit;
+    private final Object openingLock = new Object();
+
+    private static final CompletableFuture<Long> NOT_JOURNALLED = CompletableFuture.completedFuture(-1L);
+
+    /** A bank that lives only in memory. */
+    public BankService() {
+        this(ExecutionMode.LOCKING);
+    }
+
+    public BankService(ExecutionMode mode) {
+        this(mode, null);
+    }
+
+    /** {@code audit} may be null. */
+    public BankService(ExecutionMode mode, AuditLog audit) {
+        this.audit = audit;
+        this.journal = null;
+        this.snapshotter = null;
+        this.ledgerStore = null;
+        this.sequencer = newSequencer(mode);
+    }
+
+    /**
+     * A bank backed by {@code dataDirectory}, rebuilt from its newest snapshot
+     * and journal tail. Snapshot cadence comes from {@code hdfc.snapshot.entries}
+     * (default 1,000,000 entries) and {@code hdfc.snapshot.interval} (seconds
+     * between checks, default 60; 0 disables).
+     */
+    public BankService(Path dataDirectory) throws IOException {
+        this(dataDirectory, ExecutionMode.LOCKING);
+    }
+
+    public BankService(Path dataDirectory, ExecutionMode mode) throws IOException {
+        this(dataDirectory, mode, null);
+    }
+
+    /** {@code audit} may be null. */
+    public BankService(Path dataDirectory, ExecutionMode mode, AuditLog audit) throws IOException {
+        this.audit = audit;
+        SnapshotStore snapshots = new SnapshotStore(dataDirectory.resolve("snapshots"));
+        BankImage image = snapshots.loadLatest();
+        long snapshotLsn = image.getLsn();
+        Path journalDirectory = dataDirectory.resolve("journal");
+
+        this.ledgerStore = new MappedTransactionStore(dataDirectory.resolve("ledger"), directory, summaries);
+        if (ledgerStore.getAppliedLsn() < snapshotLsn) {
+            // The store was last flushed before the snapshot; catch it up from the closed segments.
+            Journal.read(journalDirectory.resolve("archive"), ledgerStore.getAppliedLsn(), snapshotLsn, this::store);
+            Journal.read(journalDirectory, ledgerStore.getAppliedLsn(), snapshotLsn, this::store);
+        }
+
+        this.journal = Journal.open(journalDirectory, snapshotLsn, (lsn, entry) -> {
+            image.apply(entry);
+            store(lsn, entry);
+        });
+        journal.setListener((lsn, entry) -> {
+            store(lsn, entry);
+            if (audit != null) {
+                audit.committed(entry);
+            }
+        });
+        customers.addAll(image.getCustomers());
+        accounts.addAll(image.getAccounts());
+        for (String accountNo : image.getAccounts().keySet()) {
+            accountIds.advancePast(idOf(accountNo));
+        }
+        transactionIds.advancePast(ledgerStore.getMaxId());
+        this.snapshotter = new Snapshotter(journal, snapshots, ledgerStore, snapshotLsn,
+                Long.getLong("hdfc.snapshot.entries", 1_000_000L), Long.getLong("hdfc.snapshot.interval", 60L));
+        this.sequencer = newSequencer(mode);
+    }
+
+    /** Ring size comes from {@code hdfc.sequencer.size} (default 65536, a power of two). */
+    private Sequencer newSequencer(ExecutionMode mode) {
+        if (mode != ExecutionMode.SEQUENCED) {
+            return null;
+        }
+        return new Sequencer(Integer.getInteger("hdfc.sequencer.size", 1 << 16), this::applySequenced, this::recordSequenced);
+    }
+
+    /** False if the customer's id, email or phone is already registered. */
+    public boolean registerCustomer(Customer customer) {
+        return await(registerCustomerAsync(customer));
+    }
+
+    /**
+     * Registers the customer straight away and returns a future that completes,
+     * true, once it is journalled; false at once if the id, email or phone is
+     * taken. Bulk loads wait once for many of these so they share fsyncs. A
+     * customer without an id or name, or whose phone, email or password
+     * {@link Validators} rejects, is an IllegalArgumentException.
+     */
+    public CompletableFuture<Boolean> registerCustomerAsync(Customer customer) {
+        checkWritable();
+        validate(customer);
+        if (!customers.add(customer)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return logged(JournalEntry.customerRegistered(customer)).thenApply(lsn -> true);
+    }
+
+    public Account openAccount(String customerId, AccountType type, BigDecimal openingBalance) {
+        return openAccount(IdGenerator.formatAccountNo(accountIds.nextId()), customerId, type, openingBalance);
+    }
+
+    public Account openAccount(String accountNo, String customerId, AccountType type, BigDecimal openingBalance) {
+        return await(openAccountAsync(accountNo, customerId, type, openingBalance));
+    }
+
+    /** Like {@link #openAccount(String, AccountType, BigDecimal)}, without waiting for the journal. */
+    public CompletableFuture<Account> openAccountAsync(String customerId, AccountType type, BigDecimal openingBalance) {
+        return openAccountAsync(IdGenerator.formatAccountNo(accountIds.nextId()), customerId, type, openingBalance);
+    }
+
+    /** Opens the account straight away (throwing if it cannot be) and returns a future that completes once it is journalled. */
+    public CompletableFuture<Account> openAccountAsync(String accountNo, String customerId, AccountType type, BigDecimal openingBalance) {
+        checkWritable();
+        Money.of(openingBalance);
+        Account account = BankImage.newAccount(accountNo, customerId, type, openingBalance);
+        // Customers are never removed, so the check cannot go stale before the add.
+        if (!customers.contains(customerId)) {
+            throw new InvalidAccountException("Customer not found");
+        }
+        // Queued before the account can be found, so no movement on it can be
+        // journalled ahead of the entry that opens it.
+        CompletableFuture<Long> opened;
+        synchronized (openingLock) {
+            if (accounts.find(accountNo) != null) {
+                throw new InvalidAccountException("Account already exists");
+            }
+            opened = logged(JournalEntry.accountOpened(accountNo, customerId, type, openingBalance));
+            accounts.add(account);
+        }
+        return opened.thenApply(lsn -> account);
+    }
+
+    /** Numbers for {@code count} new accounts, reserved in one go for bulk loads. */
+    public String[] allocateAccountNumbers(int count) {
+        long[] ids = accountIds.nextIds(count);
+        String[] accountNos = new String[count];
+        for (int i = 0; i < count; i++) {
+            accountNos[i] = IdGenerator.formatAccountNo(ids[i]);
+        }
+        return accountNos;
+    }
+
+    public Transaction deposit(String accountNo, BigDecimal amount) {
+        return deposit(accountNo, Money.of(amount));
+    }
+
+    public Transaction deposit(String accountNo, Money amount) {
+        return await(depositAsync(accountNo, amount));
+    }
+
+    public Transaction withdraw(String accountNo, BigDecimal amount) {
+        return withdraw(accountNo, Money.of(amount));
+    }
+
+    public Transaction withdraw(String accountNo, Money amount) {
+        return await(withdrawAsync(accountNo, amount));
+    }
+
+    public Transaction transfer(String fromAccountNo, String toAccountNo, BigDecimal amount) {
+        return transfer(fromAccountNo, toAccountNo, Money.of(amount));
+    }
+
+    /** Records a single TRANSFER row owned by the sender and naming the receiver. */
+    public Transaction transfer(String fromAccountNo, String toAccountNo, Money amount) {
+        return await(transferAsync(fromAccountNo, toAccountNo, amount));
+    }
+
+    /** See {@link #depositAsync(String, String, Money)}. */
+    public Transaction deposit(String idempotencyKey, String accountNo, Money amount) {
+        return await(depositAsync(idempotencyKey, accountNo, amount));
+    }
+
+    /** See {@link #depositAsync(String, String, Money)}. */
+    public Transaction withdraw(String idempotencyKey, String accountNo, Money amount) {
+        return await(withdrawAsync(idempotencyKey, accountNo, amount));
+    }
+
+    /** See {@link #depositAsync(String, String, Money)}. */
+    public Transaction transfer(String idempotencyKey, String fromAccountNo, String toAccountNo, Money amount) {
+        return await(transferAsync(idempotencyKey, fromAccountNo, toAccountNo, amount));
+    }
+
+    /**
+     * Applies the deposit straight away (throwing if it is rejected) and
+     * returns a future that completes once it is journalled. Callers issuing
+     * many operations can wait once for all of them, so they share fsyncs.
+     * In sequenced mode only the amount is checked up front; any other
+     * rejection completes the future exceptionally.
+     */
+    public CompletableFuture<Transaction> depositAsync(String accountNo, BigDecimal amount) {
+        return depositAsync(accountNo, Money.of(amount));
+    }
+
+    /** See {@link #depositAsync(String, BigDecimal)}. */
+    public CompletableFuture<Transaction> depositAsync(String accountNo, Money amount) {
+        long start = metrics.start(OperationType.DEPOSIT);
+        try {
+            checkWritable();
+            if (sequencer != null) {
+                return metrics.completed(OperationType.DEPOSIT, start, sequence(Command.Kind.DEPOSIT, accountNo, null, amount));
+            }
+            Account account = requireAccount(accountNo);
+            account.deposit(amount);
+            Transaction transaction = new Transaction(transactionIds.nextId(), amount, account.getAccoutNo(), LocalDateTime.now(), TransactionType.DEPOSIT);
+            return metrics.completed(OperationType.DEPOSIT, start, journalled(JournalEntry.deposit(transaction), transaction));
+        } catch (RuntimeException e) {
+            throw rejected(OperationType.DEPOSIT, accountNo, null, amount, e);
+        }
+    }
+
+    /** See {@link #depositAsync(String, BigDecimal)}. */
+    public CompletableFuture<Transaction> withdrawAsync(String accountNo, BigDecimal amount) {
+        return withdrawAsync(accountNo, Money.of(amount));
+    }
+
+    /** See {@link #depositAsync(String, BigDecimal)}. */
+    public CompletableFuture<Transaction> withdrawAsync(String accountNo, Money amount) {
+        long start = metrics.start(OperationType.WITHDRAW);
+        try {
+            checkWritable();
+            if (sequencer != null) {
+                return metrics.completed(OperationType.WITHDRAW, start, sequence(Command.Kind.WITHDRAW, accountNo, null, amount));
+            }
+            Account account = requireAccount(accountNo);
+            account.withdraw(amount);
+            Transaction transaction = new Transaction(transactionIds.nextId(), amount, account.getAccoutNo(), LocalDateTime.now(), TransactionType.WITHDRAW);
+            return metrics.completed(OperationType.WITHDRAW, start, journalled(JournalEntry.withdraw(transaction), transaction));
+        } catch (RuntimeException e) {
+            throw rejected(OperationType.WITHDRAW, accountNo, null, amount, e);
+        }
+    }
+
+    /** See {@link #depositAsync(String, BigDecimal)}. */
+    public CompletableFuture<Transaction> transferAsync(String fromAccountNo, String toAccountNo, BigDecimal amount) {
+        return transferAsync(fromAccountNo, toAccountNo, Money.of(amount));
+    }
+
+    /** See {@link #depositAsync(String, BigDecimal)}. */
+    public CompletableFuture<Transaction> transferAsync(String fromAccountNo, String toAccountNo, Money amount) {
+        long start = metrics.start(OperationType.TRANSFER);
+        try {
+            checkWritable();
+            if (sequencer != null) {
+                return metrics.completed(OperationType.TRANSFER, start, sequence(Command.Kind.TRANSFER, fromAccountNo, toAccountNo, amount));
+            }
+            Account from = requireAccount(fromAccountNo);
+            Account to = requireAccount(toAccountNo);
+            transferService.transfer(from, to, amount);
+            Transaction transaction = new Transaction(transactionIds.nextId(), amount, from.getAccoutNo(), LocalDateTime.now(), TransactionType.TRANSFER, to.getAccoutNo());
+            return metrics.completed(OperationType.TRANSFER, start, journalled(JournalEntry.transfer(transaction), transaction));
+        } catch (RuntimeException e) {
+            throw rejected(OperationType.TRANSFER, fromAccountNo, toAccountNo, amount, e);
+        }
+    }
+
+    /**
+     * Like {@link #depositAsync(String, Money)}, except that a retry carrying
+     * the same {@code idempotencyKey} gets the first attempt's transaction
+     * back instead of depositing again; a null key skips the check. A request
+     * that fails, at once or later, leaves nothing behind in either mode, so
+     * its retry runs again. Keys are kept for {@code hdfc.idempotency.window}
+     * seconds after they succeed (default 600), at most
+     * {@code hdfc.idempotency.keys} of them (default 100,000), and are
+     * forgotten on restart. Reusing a key for a different request is an
+     * IllegalArgumentException.
+     */
+    public CompletableFuture<Transaction> depositAsync(String idempotencyKey, String accountNo, Money amount) {
+        if (idempotencyKey == null) {
+            return depositAsync(accountNo, amount);
+        }
+        return idempotency.execute(idempotencyKey, Command.Kind.DEPOSIT, accountNo, null, minorOf(amount),
+                () -> depositAsync(accountNo, amount));
+    }
+
+    /** See {@link #depositAsync(String, String, Money)}. */
+    public CompletableFuture<Transaction> withdrawAsync(String idempotencyKey, String accountNo, Money amount) {
+        if (idempotencyKey == null) {
+            return withdrawAsync(accountNo, amount);
+        }
+        return idempotency.execute(idempotencyKey, Command.Kind.WITHDRAW, accountNo, null, minorOf(amount),
+                () -> withdrawAsync(accountNo, amount));
+    }
+
+    /** See {@link #depositAsync(String, String, Money)}. */
+    public CompletableFuture<Transaction> transferAsync(String idempotencyKey, String fromAccountNo, String toAccountNo, Money amount) {
+        if (idempotencyKey == null) {
+            return transferAsync(fromAccountNo, toAccountNo, amount);
+        }
+        return idempotency.execute(idempotencyKey, Command.Kind.TRANSFER, fromAccountNo, toAccountNo, minorOf(amount),
+                () -> transferAsync(fromAccountNo, toAccountNo, amount));
+    }
+
+    /**
+     * Credits interest as an INTEREST row. It is journalled as a deposit, so
+     * recovery and snapshots need nothing new.
+     */
+    public CompletableFuture<Transaction> creditInterestAsync(String accountNo, Money amount) {
+        long start = metrics.start(OperationType.INTEREST);
+        try {
+            checkWritable();
+            if (sequencer != null) {
+                return metrics.completed(OperationType.INTEREST, start, sequence(Command.Kind.INTEREST, accountNo, null, amount));
+            }
+            Account account = requireAccount(accountNo);
+            account.deposit(amount);
+            Transaction transaction = new Transaction(transactionIds.nextId(), amount, account.getAccoutNo(), LocalDateTime.now(), TransactionType.INTEREST);
+            return metrics.completed(OperationType.INTEREST, start, journalled(JournalEntry.deposit(transaction), transaction));
+        } catch (RuntimeException e) {
+            throw rejected(OperationType.INTEREST, accountNo, null, amount, e);
+        }
+    }
+
+    /** Debits a charge as a PENALTY row, journalled as a withdrawal. */
+    public CompletableFuture<Transaction> chargePenaltyAsync(String accountNo, Money amount) {
+        long start = metrics.start(OperationType.PENALTY);
+        try {
+            checkWritable();
+            if (sequencer != null) {
+                return metrics.completed(OperationType.PENALTY, start, sequence(Command.Kind.PENALTY, accountNo, null, amount));
+            }
+            Account account = requireAccount(accountNo);
+            account.charge(amount);
+            Transaction transaction = new Transaction(transactionIds.nextId(), amount, account.getAccoutNo(), LocalDateTime.now(), TransactionType.PENALTY);
+            return metrics.completed(OperationType.PENALTY, start, journalled(JournalEntry.withdraw(transaction), transaction));
+        } catch (RuntimeException e) {
+            throw rejected(OperationType.PENALTY, accountNo, null, amount, e);
+        }
+    }
+
+    public Customer findCustomer(String customerId) {
+        return customers.find(customerId);
+    }
+
+    /** Case-insensitive. */
+    public Customer findCustomerByEmail(String email) {
+        return customers.findByEmail(email);
+    }
+
+    public Customer findCustomerByPhone(String phone) {
+        return customers.findByPhone(phone);
+    }
+
+    public Account findAccount(String accountNo) {
+        return accounts.find(accountNo);
+    }
+
+    /** The customer's accounts in opening order. */
+    public List<Account> findAccountsByCustomer(String customerId) {
+        return accounts.findByCustomer(customerId);
+    }
+
+    public List<Account> getAccounts() {
+        return accounts.findAll();
+    }
+
+    public int getCustomerCount() {
+        return customers.size();
+    }
+
+    /** Ledger rows since the bank was created, including those folded into the snapshot. */
+    public long getTransactionCount() {
+        if (ledgerStore != null) {
+            return ledgerStore.size();
+        }
+        return transactions.size();
+    }
+
+    /** Takes a snapshot now; returns the journal position it covers. */
+    public long checkpoint() throws IOException {
+        if (snapshotter == null) {
+            throw new IllegalStateException("In-memory bank has nothing to snapshot");
+        }
+        return snapshotter.checkpoint();
+    }
+
+    /**
+     * Takes a snapshot now and returns it: balances and a ledger row count as
+     * of one journal position, with every row below that count already stored.
+     */
+    public BankImage checkpointImage() throws IOException {
+        if (snapshotter == null) {
+            throw new IllegalStateException("In-memory bank has nothing to snapshot");
+        }
+        return snapshotter.checkpointImage();
+    }
+
+    /** Oldest first. */
+    public List<Transaction> historyOf(String accountNo) {
+        long start = metrics.start(OperationType.HISTORY);
+        List<Transaction> history = ledgerStore != null ? ledgerStore.historyOf(accountNo) : transactionIndex.historyOf(accountNo);
+        metrics.finished(OperationType.HISTORY, start);
+        return history;
+    }
+
+    /** Newest first. */
+    public List<Transaction> recentHistoryOf(String accountNo) {
+        long start = metrics.start(OperationType.HISTORY);
+        List<Transaction> history = ledgerStore != null ? ledgerStore.recentHistoryOf(accountNo) : transactionIndex.recentHistoryOf(accountNo);
+        metrics.finished(OperationType.HISTORY, start);
+        return history;
+    }
+
+    /**
+     * A page of an account's history; {@code cursor} is null for the first page
+     * and the previous page's {@link HistoryPage#getNextCursor()} after that.
+     */
+    public HistoryPage queryHistory(HistoryQuery query, String cursor) {
+        long start = metrics.start(OperationType.HISTORY);
+        try {
+            HistoryPage page = ledgerStore != null ? ledgerStore.page(query, cursor) : transactionIndex.page(query, cursor);
+            metrics.finished(OperationType.HISTORY, start);
+            return page;
+        } catch (RuntimeException e) {
+            throw metrics.rejected(OperationType.HISTORY, e);
+        }
+    }
+
+    /** Walks an account's ledger rows newest first without materialising them. */
+    public void visitRecentRows(String accountNo, RowVisitor visitor) {
+        if (ledgerStore != null) {
+            ledgerStore.visitNewestFirst(accountNo, visitor);
+        } else {
+            transactionIndex.visitNewestFirst(accountNo, visitor);
+        }
+    }
+
+    /** As {@link #visitRecentRows(String, RowVisitor)}, but only the first {@code rowCount} rows of a durable ledger. */
+    public void visitRecentRows(String accountNo, long rowCount, RowVisitor visitor) {
+        if (ledgerStore == null) {
+            throw new IllegalStateException("In-memory ledger has no row numbers");
+        }
+        ledgerStore.visitNewestFirst(accountNo, rowCount, visitor);
+    }
+
+    /** Walks an account's ledger rows oldest first, with ids and counterparties, without materialising them. */
+    public void visitStatementRows(String accountNo, StatementRowVisitor visitor) {
+        if (ledgerStore != null) {
+            ledgerStore.visitOldestFirst(accountNo, visitor);
+        } else {
+            transactionIndex.visitOldestFirst(accountNo, visitor);
+        }
+    }
+
+    /** As {@link #visitStatementRows(String, StatementRowVisitor)}, seeking straight to the rows stamped from {@code fromMillis} up to {@code untilMillis}. */
+    public void visitStatementRows(String accountNo, long fromMillis, long untilMillis, StatementRowVisitor visitor) {
+        if (ledgerStore != null) {
+            ledgerStore.visitOldestFirst(accountNo, fromMillis, untilMillis, Long.MAX_VALUE, visitor);
+        } else {
+            transactionIndex.visitOldestFirst(accountNo, fromMillis, untilMillis, visitor);
+        }
+    }
+
+    /** As {@link #visitStatementRows(String, long, long, StatementRowVisitor)}, but only the first {@code rowCount} rows of a durable ledger. */
+    public void visitStatementRows(String accountNo, long fromMillis, long untilMillis, long rowCount, StatementRowVisitor visitor) {
+        if (ledgerStore == null) {
+            throw new IllegalStateException("In-memory ledger has no row numbers");
+        }
+        ledgerStore.visitOldestFirst(accountNo, fromMillis, untilMillis, rowCount, visitor);
+    }
+
+    /** Running totals of an account's rows; does not touch the ledger. */
+    public AccountSummary summaryOf(String accountNo) {
+        return summaries.summaryOf(accountNo);
+    }
+
+    /** Days the account had rows on, from {@code from} up to but not including {@code until}. */
+    public List<DailyTotal> dailyTotalsOf(String accountNo, LocalDate from, LocalDate until) {
+        return summaries.dailyTotalsOf(accountNo, from, until);
+    }
+
+    /** Builds the summaries again from every ledger row, without touching the live ones. */
+    public SummaryIndex rebuildSummaries() {
+        SummaryIndex rebuilt = new SummaryIndex(directory);
+        if (ledgerStore != null) {
+            ledgerStore.forEachRow(rebuilt::add);
+        } else {
+            transactions.forEach(rebuilt::add);
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Accounts whose running totals disagree with their ledger rows. Rows still
+     * on their way to the ledger show up as differences, so run it when the
+     * bank is quiet.
+     */
+    public List<String> verifySummaries() {
+        return summaries.mismatches(rebuildSummaries());
+    }
+
+    /** In sequenced mode the sum is taken on the business thread, between two commands. */
+    public BigDecimal totalBalance() {
+        if (sequencer != null) {
+            long sequence = sequencer.claim();
+            Command command = sequencer.slot(sequence);
+            command.kind = Command.Kind.TOTAL_BALANCE;
+            CompletableFuture<BigDecimal> total = new CompletableFuture<>();
+            command.totalFuture = total;
+            sequencer.publish(sequence);
+            return await(total);
+        }
+        return transferService.totalBalance(getAccounts());
+    }
+
+    /** Operation counts, latencies, rejections and lock waits since the bank was opened. */
+    public BankMetrics getMetrics() {
+        return metrics;
+    }
+
+    public boolean isDurable() {
+        return journal != null;
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return sequencer != null ? ExecutionMode.SEQUENCED : ExecutionMode.LOCKING;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (sequencer != null) {
+            sequencer.close();
+        }
+        if (snapshotter != null) {
+            snapshotter.close();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+        if (ledgerStore != null) {
+            ledgerStore.close();
+        }
+    }
+
+    private Account requireAccount(String accountNo) {
+        Account account = findAccount(accountNo);
+        if (account == null) {
+            throw new InvalidAccountException("Account not found");
+        }
+        return account;
+    }
+
+    /** The id an account number was formatted from, or -1 if it was not generated. */
+    private static long idOf(String accountNo) {
+        try {
+            return Long.parseLong(accountNo);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long minorOf(Money amount) {
+        if (amount == null) {
+            throw new InvalidDepositValue("Amount should be greater than zero");
+        }
+        return amount.getMinor();
+    }
+
+    private void record(Transaction transaction) {
+        if (ledgerStore != null) {
+            return;
+        }
+        transactions.append(transaction);
+        transactionIndex.add(transaction);
+        summaries.add(transaction);
+    }
+
+    private void store(long lsn, JournalEntry entry) throws IOException {
+        if (entry.getTransaction() != null && lsn >= ledgerStore.getAppliedLsn()) {
+            ledgerStore.append(entry.getTransaction(), lsn);
+        }
+    }
+
+    private CompletableFuture<Transaction> sequence(Command.Kind kind, String accountNo, String toAccountNo, Money amount) {
+        if (amount == null || !amount.isPositive()) {
+            throw new InvalidDepositValue("Amount should be greater than zero");
+        }
+        CompletableFuture<Transaction> future = new CompletableFuture<>();
+        long sequence = sequencer.claim();
+        Command command = sequencer.slot(sequence);
+        command.kind = kind;
+        command.accountNo = accountNo;
+        command.toAccountNo = toAccountNo;
+        command.amount = amount;
+        command.future = future;
+        sequencer.publish(sequence);
+        return future;
+    }
+
+    /** Business thread: the only writer of balances in sequenced mode, so no stripe locks. */
+    private void applySequenced(Command command) {
+        try {
+            if (command.kind == Command.Kind.TOTAL_BALANCE) {
+                long total = 0;
+                for (Account account : getAccounts()) {
+                    total = Math.addExact(total, account.getBalanceMinor());
+                }
+                command.total = BigDecimal.valueOf(total, 2);
+                return;
+            }
+            checkWritable();
+            Account account = requireAccount(command.accountNo);
+            LocalDateTime now = LocalDateTime.now();
+            switch (command.kind) {
+                case DEPOSIT:
+                    account.deposit(command.amount);
+                    command.transaction = new Transaction(transactionIds.nextId(), command.amount, account.getAccoutNo(), now, TransactionType.DEPOSIT);
+                    break;
+                case WITHDRAW:
+                    account.withdraw(command.amount);
+                    command.transaction = new Transaction(transactionIds.nextId(), command.amount, account.getAccoutNo(), now, TransactionType.WITHDRAW);
+                    break;
+                case INTEREST:
+                    account.deposit(command.amount);
+                    command.transaction = new Transaction(transactionIds.nextId(), command.amount, account.getAccoutNo(), now, TransactionType.INTEREST);
+                    break;
+                case PENALTY:
+                    account.charge(command.amount);
+                    command.transaction = new Transaction(transactionIds.nextId(), command.amount, account.getAccoutNo(), now, TransactionType.PENALTY);
+                    break;
+                default:
+                    Account to = requireAccount(command.toAccountNo);
+                    if (account == to) {
+                        throw new InvalidAccountException("Cannot transfer to the same account");
+                    }
+                    account.withdraw(command.amount);
+                    to.deposit(command.amount);
+                    command.transaction = new Transaction(transactionIds.nextId(), command.amount, account.getAccoutNo(), now,
+                            TransactionType.TRANSFER, to.getAccoutNo());
+            }
+        } catch (RuntimeException e) {
+            command.error = e;
+            if (command.kind.operation != null) {
+                rejected(command.kind.operation, command.accountNo, command.toAccountNo, command.amount, e);
+            }
+        }
+    }
+
+    /** Journal thread: journals applied commands in the order they were applied. */
+    private void recordSequenced(Command command) {
+        if (command.totalFuture != null) {
+            command.totalFuture.complete(command.total);
+            return;
+        }
+        CompletableFuture<Transaction> future = command.future;
+        if (command.error != null) {
+            future.completeExceptionally(command.error);
+            return;
+        }
+        Transaction transaction = command.transaction;
+        JournalEntry entry;
+        switch (command.kind) {
+            case DEPOSIT:
+            case INTEREST:
+                entry = JournalEntry.deposit(transaction);
+                break;
+            case WITHDRAW:
+            case PENALTY:
+                entry = JournalEntry.withdraw(transaction);
+                break;
+            default:
+                entry = JournalEntry.transfer(transaction);
+        }
+        journalled(entry, transaction).whenComplete((done, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(done);
+            }
+        });
+    }
+
+    private CompletableFuture<Transaction> journalled(JournalEntry entry, Transaction transaction) {
+        if (journal == null) {
+            record(transaction);
+            if (audit != null) {
+                audit.committed(entry);
+            }
+            return CompletableFuture.completedFuture(transaction);
+        }
+        return journal.append(entry).handle((lsn, error) -> {
+            if (error != null) {
+                revert(transaction);
+                throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+            }
+            return transaction;
+        });
+    }
+
+    private static void validate(Customer customer) {
+        if (customer.getCustomerId() == null || customer.getCustomerId().isEmpty()) {
+            throw new IllegalArgumentException("Customer ID is required");
+        }
+        if (customer.getName() == null || customer.getName().isEmpty()) {
+            throw new IllegalArgumentException("Name is required");
+        }
+        if (customer.getPhone() == null || !Validators.isValidPhoneNumber(customer.getPhone())) {
+            throw new IllegalArgumentException("Invalid mobile number: " + customer.getPhone());
+        }
+        if (customer.getEmail() == null || !Validators.isValidEmail(customer.getEmail())) {
+            throw new IllegalArgumentException("Invalid email: " + customer.getEmail());
+        }
+        if (customer.getPwd() == null || !Validators.isValidPassword(customer.getPwd())) {
+            throw new IllegalArgumentException("Invalid password");
+        }
+    }
+
+    /** Refuses a change before it touches memory once the journal can no longer take it. */
+    private void checkWritable() {
+        if (journal != null) {
+            journal.checkWritable();
+        }
+    }
+
+    /**
+     * Undoes a movement whose journal write failed. The journal discards the
+     * write, so memory goes back to what a restart would rebuild.
+     */
+    private void revert(Transaction transaction) {
+        long amount = transaction.getAmountMinor();
+        Account account = accounts.find(transaction.getAccountNo());
+        switch (transaction.getType()) {
+            case DEPOSIT:
+            case INTEREST:
+                account.adjust(-amount);
+                break;
+            case WITHDRAW:
+            case PENALTY:
+                account.adjust(amount);
+                break;
+            default:
+                account.adjust(amount);
+                accounts.find(transaction.getToAccountNo()).adjust(-amount);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /** Journals an entry that has no ledger row; completes with its log sequence number, or -1 in memory. */
+    private CompletableFuture<Long> logged(JournalEntry entry) {
+        if (journal != null) {
+            return journal.append(entry);
+        }
+        if (audit != null) {
+            audit.committed(entry);
+        }
+        return NOT_JOURNALLED;
+    }
+
+    /** Counts and audits a rejected operation; returns {@code error} for rethrowing. */
+    private RuntimeException rejected(OperationType operation, String accountNo, String toAccountNo, Money amount, RuntimeException error) {
+        metrics.rejected(operation, error);
+        if (audit != null) {
+            audit.rejected(operation, accountNo, toAccountNo, amount, error);
+        }
+        return error;
+    }
+}
@@ -0,0 +1,54 @@
+package com.hdfc.service;
+
+import com.hdfc.Entities.Money;
+import com.hdfc.Entities.Transaction;
+import com.hdfc.enums.OperationType;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One reusable slot of the {@link Sequencer} ring. A producer fills in the
+ * request, the business thread fills in the outcome, and the journal stage
+ * reads both before the slot is handed out again.
+ */
+final class Command {
+
+    enum Kind {
+        DEPOSIT(OperationType.DEPOSIT),
+        WITHDRAW(OperationType.WITHDRAW),
+        TRANSFER(OperationType.TRANSFER),
+        INTEREST(OperationType.INTEREST),
+        PENALTY(OperationType.PENALTY),
+        TOTAL_BALANCE(null);
+
+        // What the command is counted as in the metrics; null if it is not.
+        final OperationType operation;
+
+        Kind(OperationType operation) {
+            this.operation = operation;
+        }
+    }
+
+    Kind kind;
+    String accountNo;
+    String toAccountNo;
+    Money amount;
+    CompletableFuture<Transaction> future;
+    CompletableFuture<BigDecimal> totalFuture;
+
+    Transaction transaction;
+    BigDecimal total;
+    RuntimeException error;
+
+    void clear() {
+        accountNo = null;
+        toAccountNo = null;
+        amount = null;
+        future = null;
+        totalFuture = null;
+        transaction = null;
+        total = null;
+        error = null;
+    }
+}
@@ -0,0 +1,132 @@
+package com.hdfc.service;
+
+import com.hdfc.Entities.Transaction;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of each money movement by the key its caller gave it,
+ * so a retry of the same request gets the first execution's transaction back
+ * instead of posting again. A request that is still running when its retry
+ * arrives is shared, not repeated.
+ *
+ * Keys live for {@code window} after their request succeeds and at most
+ * {@code capacity} of them are kept, oldest dropped first. Only successes
+ * are kept: a request that fails, whether refused at once, rejected once it
+ * ran or not journalled, left no trace in the bank, so its key is released
+ * and a retry runs it again. Retries that arrive while it is still running
+ * share its failure. Running requests are only in the map, never in the
+ * eviction queue, so a slow one cannot hold up eviction of the rest.
+ * Lookups are a single ConcurrentHashMap read; eviction is a lock-free queue.
+ * The cache is not journalled, so it starts empty after a restart.
+ */
+final class IdempotencyCache {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Succeeded entries in the order they finished.
+    private final ConcurrentLinkedQueue<Entry> completions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int capacity;
+    private final long windowNanos;
+
+    IdempotencyCache(int capacity, long windowMillis) {
+        if (capacity <= 0 || windowMillis <= 0) {
+            throw new IllegalArgumentException("Capacity and window must be positive");
+        }
+        this.capacity = capacity;
+        this.windowNanos = windowMillis * 1_000_000L;
+    }
+
+    /**
+     * The result of the first request made with {@code key}, running
+     * {@code operation} if there is none yet. {@code kind}, the account
+     * numbers and the amount must match that first request.
+     */
+    CompletableFuture<Transaction> execute(String key, Command.Kind kind, String accountNo, String toAccountNo,
+                                           long amountMinor, Supplier<CompletableFuture<Transaction>> operation) {
+        long now = System.nanoTime();
+        Entry existing = entries.get(key);
+        while (true) {
+            if (existing != null && !existing.expired(now, windowNanos)) {
+                if (!existing.matches(kind, accountNo, toAccountNo, amountMinor)) {
+                    throw new IllegalArgumentException("Idempotency key " + key + " was already used for a different request");
+                }
+                return existing.result;
+            }
+            Entry fresh = new Entry(key, kind, accountNo, toAccountNo, amountMinor);
+            boolean claimed = existing == null ? entries.putIfAbsent(key, fresh) == null : entries.replace(key, existing, fresh);
+            if (claimed) {
+                return run(fresh, operation);
+            }
+            existing = entries.get(key);
+        }
+    }
+
+    private CompletableFuture<Transaction> run(Entry entry, Supplier<CompletableFuture<Transaction>> operation) {
+        CompletableFuture<Transaction> started;
+        try {
+            started = operation.get();
+        } catch (RuntimeException e) {
+            entries.remove(entry.key, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+        started.whenComplete((transaction, error) -> {
+            if (error != null) {
+                entries.remove(entry.key, entry);
+                entry.result.completeExceptionally(error);
+                return;
+            }
+            entry.completedAt = System.nanoTime();
+            entry.result.complete(transaction);
+            admit(entry, entry.completedAt);
+        });
+        return entry.result;
+    }
+
+    private void admit(Entry entry, long now) {
+        completions.add(entry);
+        queued.incrementAndGet();
+        Entry oldest;
+        while ((oldest = completions.peek()) != null && (entries.get(oldest.key) != oldest
+                || queued.get() > capacity || oldest.expired(now, windowNanos))) {
+            if (completions.remove(oldest)) {
+                queued.decrementAndGet();
+                entries.remove(oldest.key, oldest);
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        final Command.Kind kind;
+        final String accountNo;
+        final String toAccountNo;
+        final long amountMinor;
+        final CompletableFuture<Transaction> result = new CompletableFuture<>();
+        // Set once the request succeeds; running entries never expire.
+        volatile long completedAt;
+
+        Entry(String key, Command.Kind kind, String accountNo, String toAccountNo, long amountMinor) {
+            this.key = key;
+            this.kind = kind;
+            this.accountNo = accountNo;
+            this.toAccountNo = toAccountNo;
+            this.amountMinor = amountMinor;
+        }
+
+        boolean expired(long now, long windowNanos) {
+            return result.isDone() && now - completedAt > windowNanos;
+        }
+
+        boolean matches(Command.Kind kind, String accountNo, String toAccountNo, long amountMinor) {
+            return this.kind == kind && this.amountMinor == amountMinor
+                    && this.accountNo.equals(accountNo) && Objects.equals(this.toAccountNo, toAccountNo);
+        }
+    }
+}
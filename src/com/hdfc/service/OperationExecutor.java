@@ -0,0 +1,154 @@
+package com.hdfc.service;
+
+import com.hdfc.enums.AdmissionPolicy;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs each banking operation on its own virtual thread. An operation that
+ * blocks on a journal fsync parks its virtual thread instead of holding a
+ * platform thread, so thousands can wait on the same group commit.
+ *
+ * At most {@code maxInFlight} operations run at once. When that many are
+ * running, {@link AdmissionPolicy} decides what a new one does: block the
+ * caller, be rejected, or wait up to {@code admissionTimeout} and then be
+ * rejected. Rejections are {@link RejectedExecutionException}s. Closing stops
+ * admission and waits for the operations already admitted to finish.
+ */
+public class OperationExecutor implements Executor, AutoCloseable {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ExecutorService threads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("hdfc-op-", 0).factory());
+    private final int maxInFlight;
+    private final Semaphore admission;
+    private final AdmissionPolicy policy;
+    private final long admissionTimeoutNanos;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile boolean accepting = true;
+
+    public OperationExecutor(int maxInFlight, AdmissionPolicy policy, Duration admissionTimeout) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.maxInFlight = maxInFlight;
+        this.admission = new Semaphore(maxInFlight);
+        this.policy = policy;
+        this.admissionTimeoutNanos = admissionTimeout.toNanos();
+    }
+
+    /**
+     * Sized from {@code hdfc.executor.maxInFlight} (default 10,000),
+     * {@code hdfc.executor.admission} (BLOCK, REJECT or TIMEOUT; default BLOCK)
+     * and {@code hdfc.executor.admissionTimeoutMillis} (default 100).
+     */
+    public static OperationExecutor fromSystemProperties() {
+        return new OperationExecutor(Integer.getInteger("hdfc.executor.maxInFlight", 10_000),
+                AdmissionPolicy.valueOf(System.getProperty("hdfc.executor.admission", "BLOCK").toUpperCase(Locale.ROOT)),
+                Duration.ofMillis(Long.getLong("hdfc.executor.admissionTimeoutMillis", 100L)));
+    }
+
+    @Override
+    public void execute(Runnable operation) {
+        if (!accepting || !admit()) {
+            rejected.increment();
+            throw new RejectedExecutionException(accepting ? "Too many operations in flight" : "Executor is shut down");
+        }
+        admitted.increment();
+        try {
+            threads.execute(() -> {
+                try {
+                    operation.run();
+                } finally {
+                    admission.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admission.release();
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    /** Runs {@code operation} under the admission policy; rejection is thrown here, not through the future. */
+    public <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(operation, this);
+    }
+
+    private boolean admit() {
+        switch (policy) {
+            case REJECT:
+                return admission.tryAcquire();
+            case TIMEOUT:
+                try {
+                    return admission.tryAcquire(admissionTimeoutNanos, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            default:
+                try {
+                    admission.acquire();
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+        }
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getInFlight() {
+        return maxInFlight - admission.availablePermits();
+    }
+
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public AdmissionPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Stops admitting, then waits up to {@code drainTimeout} for admitted
+     * operations to finish. Returns false (after interrupting the stragglers)
+     * if they did not.
+     */
+    public boolean shutdown(Duration drainTimeout) {
+        accepting = false;
+        threads.shutdown();
+        try {
+            if (threads.awaitTermination(drainTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        threads.shutdownNow();
+        return false;
+    }
+
+    @Override
+    public void close() {
+        shutdown(DRAIN_TIMEOUT);
+    }
+}
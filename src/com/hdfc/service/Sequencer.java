@@ -0,0 +1,188 @@
+package com.hdfc.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+/**
+ * LMAX-style ring of preallocated {@link Command} slots with two consumers
+ * in a row. Producers claim a sequence with one atomic increment, fill the
+ * slot and publish it. The business thread applies published commands in
+ * sequence order; it is the only thread that changes balances. The journal
+ * stage follows behind it and hands each applied batch to the journal.
+ * Nothing on this path takes a lock.
+ *
+ * A slot is reused only once the journal stage has passed it. When the ring
+ * is full, producers spin and then back off, which throttles them to the
+ * speed of the slowest stage.
+ */
+final class Sequencer implements AutoCloseable {
+
+    private static final int SPINS = 200;
+    private static final long PARK_NANOS = 1_000_000;
+
+    /** A consumer thread with its cursor: the last sequence it has finished. */
+    private static final class Stage {
+        final AtomicLong cursor = new AtomicLong(-1);
+        volatile boolean sleeping;
+        Thread thread;
+
+        void wake() {
+            if (sleeping) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    private final Command[] ring;
+    private final int mask;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final Stage business = new Stage();
+    private final Stage journal = new Stage();
+    private final Consumer<Command> apply;
+    private final Consumer<Command> record;
+    private volatile boolean running = true;
+
+    /**
+     * {@code apply} runs on the business thread for every command, in order;
+     * {@code record} runs on the journal thread for every applied command, in
+     * the same order.
+     */
+    Sequencer(int size, Consumer<Command> apply, Consumer<Command> record) {
+        if (size < 2 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of two");
+        }
+        this.ring = new Command[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new Command();
+        }
+        this.mask = size - 1;
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        this.apply = apply;
+        this.record = record;
+        business.thread = Thread.ofPlatform().name("hdfc-sequencer-business").daemon(true).unstarted(this::businessLoop);
+        journal.thread = Thread.ofPlatform().name("hdfc-sequencer-journal").daemon(true).unstarted(this::journalLoop);
+        business.thread.start();
+        journal.thread.start();
+    }
+
+    /** Claims the next slot, waiting while the ring is full. Fill it, then {@link #publish}. */
+    long claim() {
+        if (!running) {
+            throw new IllegalStateException("Sequencer is closed");
+        }
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - ring.length;
+        for (int spins = 0; wrapPoint > journal.cursor.get(); spins++) {
+            if (spins < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(1_000);
+            }
+        }
+        return sequence;
+    }
+
+    Command slot(long sequence) {
+        return ring[(int) (sequence & mask)];
+    }
+
+    void publish(long sequence) {
+        published.set((int) (sequence & mask), sequence);
+        business.wake();
+    }
+
+    int getSize() {
+        return ring.length;
+    }
+
+    private void businessLoop() {
+        long next = 0;
+        while (true) {
+            long end = next;
+            while (published.get((int) (end & mask)) == end) {
+                end++;
+            }
+            if (end == next) {
+                if (!running && claimed.get() < next) {
+                    return;
+                }
+                await(business, this::isPublished, next);
+                continue;
+            }
+            for (long sequence = next; sequence < end; sequence++) {
+                apply.accept(slot(sequence));
+            }
+            business.cursor.set(end - 1);
+            journal.wake();
+            next = end;
+        }
+    }
+
+    private void journalLoop() {
+        long next = 0;
+        while (true) {
+            long end = business.cursor.get() + 1;
+            if (end == next) {
+                if (!running && claimed.get() < next) {
+                    return;
+                }
+                await(journal, this::isApplied, next);
+                continue;
+            }
+            for (long sequence = next; sequence < end; sequence++) {
+                Command command = slot(sequence);
+                record.accept(command);
+                command.clear();
+            }
+            journal.cursor.set(end - 1);
+            next = end;
+        }
+    }
+
+    private boolean isPublished(long sequence) {
+        return published.get((int) (sequence & mask)) == sequence;
+    }
+
+    private boolean isApplied(long sequence) {
+        return business.cursor.get() >= sequence;
+    }
+
+    /**
+     * Spins briefly, then parks until woken. The park is bounded so that
+     * shutdown is noticed even if nothing else arrives.
+     */
+    private static void await(Stage stage, LongPredicate ready, long next) {
+        for (int spins = 0; spins < SPINS; spins++) {
+            if (ready.test(next)) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+        stage.sleeping = true;
+        if (!ready.test(next)) {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        stage.sleeping = false;
+    }
+
+    /** Stops accepting commands and waits for everything published to be applied and recorded. */
+    @Override
+    public void close() {
+        running = false;
+        business.wake();
+        journal.wake();
+        try {
+            business.thread.join();
+            journal.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
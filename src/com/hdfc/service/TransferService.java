@@ -0,0 +1,143 @@
+package com.hdfc.service;
+
+import com.hdfc.Entities.Account;
+import com.hdfc.Entities.Money;
+import com.hdfc.Exception.InvalidAccountException;
+import com.hdfc.Exception.InvalidDepositValue;
+import com.hdfc.util.LatencyHistogram;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves money between two accounts as one step. Accounts are mapped onto a
+ * fixed set of lock stripes; a transfer holds the stripes of both sides while
+ * it debits and credits, always acquiring the lower stripe first so opposing
+ * transfers cannot deadlock. Time spent waiting for a stripe that was
+ * already held goes into the lock-wait histogram; uncontended acquisitions
+ * are not timed.
+ */
+public class TransferService {
+
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final LatencyHistogram lockWaits;
+
+    public TransferService() {
+        this(DEFAULT_STRIPES);
+    }
+
+    public TransferService(int stripeCount) {
+        this(stripeCount, new LatencyHistogram());
+    }
+
+    public TransferService(LatencyHistogram lockWaits) {
+        this(DEFAULT_STRIPES, lockWaits);
+    }
+
+    public TransferService(int stripeCount, LatencyHistogram lockWaits) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.lockWaits = lockWaits;
+    }
+
+    public void transfer(Account from, Account to, BigDecimal amount) {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidDepositValue("Transfer Value Should be Greater than Zero");
+        }
+        transfer(from, to, Money.of(amount));
+    }
+
+    public void transfer(Account from, Account to, Money amount) {
+        if (from == null || to == null) {
+            throw new InvalidAccountException("Account not found");
+        }
+        if (from.getAccoutNo().equals(to.getAccoutNo())) {
+            throw new InvalidAccountException("Cannot transfer to the same account");
+        }
+        if (amount == null || !amount.isPositive()) {
+            throw new InvalidDepositValue("Transfer Value Should be Greater than Zero");
+        }
+
+        int fromStripe = stripeOf(from.getAccoutNo());
+        int toStripe = stripeOf(to.getAccoutNo());
+
+        if (fromStripe == toStripe) {
+            ReentrantLock lock = stripes[fromStripe];
+            lock(lock);
+            try {
+                move(from, to, amount);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+
+        ReentrantLock first = stripes[Math.min(fromStripe, toStripe)];
+        ReentrantLock second = stripes[Math.max(fromStripe, toStripe)];
+        lock(first);
+        try {
+            lock(second);
+            try {
+                move(from, to, amount);
+            } finally {
+                second.unlock();
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    /**
+     * Sums balances while holding every stripe, so no transfer is observed half
+     * applied. Meant for audits and invariant checks, not the hot path.
+     */
+    public BigDecimal totalBalance(Collection<? extends Account> accounts) {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+        try {
+            long total = 0;
+            for (Account account : accounts) {
+                total = Math.addExact(total, account.getBalanceMinor());
+            }
+            return BigDecimal.valueOf(total, 2);
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    private void lock(ReentrantLock lock) {
+        if (lock.tryLock()) {
+            return;
+        }
+        long start = System.nanoTime();
+        lock.lock();
+        lockWaits.record(System.nanoTime() - start);
+    }
+
+    int stripeOf(String accountNo) {
+        int h = accountNo.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static void move(Account from, Account to, Money amount) {
+        from.withdraw(amount);
+        try {
+            to.deposit(amount);
+        } catch (RuntimeException e) {
+            // Put the debit back before anyone outside the stripe locks can see it.
+            from.deposit(amount);
+            throw e;
+        }
+    }
+}
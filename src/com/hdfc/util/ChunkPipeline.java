@@ -0,0 +1,217 @@
+package com.hdfc.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * Runs input a chunk at a time on a pool of daemon workers, with three chunks
+ * in flight: the next one is prepared in parallel, the current one is
+ * applied, and the previous one is collected once its journal commits are in.
+ * What each stage does is up to the {@link Stages}.
+ */
+public final class ChunkPipeline implements AutoCloseable {
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final int parallelism;
+    private final ExecutorService workers;
+
+    /** {@code parallelism} workers named {@code name-<pool>-<thread>}. */
+    public ChunkPipeline(String name, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        int pool = POOL_COUNT.incrementAndGet();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, name + "-" + pool + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** What a pipeline does with each chunk. */
+    public interface Stages<C> {
+
+        /** The next chunk, or null at the end of the input. Called on the pipeline's thread. */
+        C read() throws IOException;
+
+        int size(C chunk);
+
+        /** Prepares item {@code i} of {@code chunk}; called on a worker, for every item. */
+        void prepare(C chunk, int i);
+
+        /** Applies a prepared chunk; called on the pipeline's thread, which waits for it. */
+        void apply(C chunk);
+
+        /** Waits for an applied chunk to commit and reports it; called on the pipeline's thread, in input order. */
+        void collect(C chunk);
+    }
+
+    /** Runs {@code stages} until {@link Stages#read()} returns null. */
+    public <C> void run(Stages<C> stages) throws IOException {
+        C first = stages.read();
+        CompletableFuture<C> preparing = first == null ? null : prepare(stages, first);
+        C committing = null;
+
+        while (preparing != null) {
+            C current = preparing.join();
+            C next = stages.read();
+            preparing = next == null ? null : prepare(stages, next);
+            stages.apply(current);
+            if (committing != null) {
+                stages.collect(committing);
+            }
+            committing = current;
+        }
+        if (committing != null) {
+            stages.collect(committing);
+        }
+    }
+
+    /** Runs {@code task} for 0 until {@code size}, split into one contiguous slice per worker. */
+    public CompletableFuture<Void> inSlices(int size, IntConsumer task) {
+        int slices = Math.max(1, Math.min(parallelism, size));
+        CompletableFuture<?>[] parts = new CompletableFuture<?>[slices];
+        for (int s = 0; s < slices; s++) {
+            int from = (int) ((long) size * s / slices);
+            int to = (int) ((long) size * (s + 1) / slices);
+            parts[s] = CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    task.accept(i);
+                }
+            }, workers);
+        }
+        return CompletableFuture.allOf(parts);
+    }
+
+    /**
+     * Runs {@code task} for each of 0 until {@code size} that {@code keys} does
+     * not return null for. Items that share a key, directly or through other
+     * items, form a group that one worker runs in input order; groups run in
+     * parallel, the largest first, each on the least loaded worker. Null keys
+     * are ignored.
+     */
+    public CompletableFuture<Void> inGroups(int size, IntFunction<Object[]> keys, IntConsumer task) {
+        Map<Object, Integer> ids = new HashMap<>();
+        int[] parent = new int[Math.max(16, size)];
+        int[] idOfItem = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            idOfItem[i] = -1;
+            Object[] itemKeys = keys.apply(i);
+            if (itemKeys == null) {
+                continue;
+            }
+            for (Object key : itemKeys) {
+                if (key == null) {
+                    continue;
+                }
+                Integer id = ids.get(key);
+                if (id == null) {
+                    if (count == parent.length) {
+                        parent = Arrays.copyOf(parent, count << 1);
+                    }
+                    id = count;
+                    parent[count++] = id;
+                    ids.put(key, id);
+                }
+                if (idOfItem[i] < 0) {
+                    idOfItem[i] = id;
+                } else {
+                    union(parent, idOfItem[i], id);
+                }
+            }
+            if (idOfItem[i] < 0) {
+                // No keys, so a group of its own.
+                if (count == parent.length) {
+                    parent = Arrays.copyOf(parent, count << 1);
+                }
+                parent[count] = count;
+                idOfItem[i] = count++;
+            }
+        }
+
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (idOfItem[i] >= 0) {
+                groups.computeIfAbsent(find(parent, idOfItem[i]), root -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<List<Integer>> sorted = new ArrayList<>(groups.values());
+        sorted.sort(Comparator.comparingInt((List<Integer> group) -> group.size()).reversed());
+        List<List<List<Integer>>> lanes = new ArrayList<>();
+        long[] load = new long[Math.min(parallelism, Math.max(1, sorted.size()))];
+        for (int l = 0; l < load.length; l++) {
+            lanes.add(new ArrayList<>());
+        }
+        for (List<Integer> group : sorted) {
+            int lightest = 0;
+            for (int l = 1; l < load.length; l++) {
+                if (load[l] < load[lightest]) {
+                    lightest = l;
+                }
+            }
+            lanes.get(lightest).add(group);
+            load[lightest] += group.size();
+        }
+
+        // One lane per worker.
+        return inSlices(lanes.size(), l -> {
+            for (List<Integer> group : lanes.get(l)) {
+                for (int i : group) {
+                    task.accept(i);
+                }
+            }
+        });
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+        try {
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <C> CompletableFuture<C> prepare(Stages<C> stages, C chunk) {
+        return inSlices(stages.size(chunk), i -> stages.prepare(chunk, i)).thenApply(done -> chunk);
+    }
+
+    private static int find(int[] parent, int id) {
+        while (parent[id] != id) {
+            parent[id] = parent[parent[id]];
+            id = parent[id];
+        }
+        return id;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.hdfc.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style 64-bit ids: 41 bits of milliseconds since 2024-01-01 UTC,
+ * 10 bits of node id and a 12-bit per-millisecond sequence. Ids are strictly
+ * increasing per generator; when a millisecond's sequence runs out, or the
+ * wall clock steps back, the generator keeps counting ahead of the clock
+ * instead of waiting or repeating.
+ */
+public class IdGenerator {
+
+    public static final String TRANSACTION_PREFIX = "HDFC_TXN";
+
+    private static final long EPOCH = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    // (milliseconds since EPOCH << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong last = new AtomicLong();
+
+    public IdGenerator() {
+        this(Integer.getInteger("hdfc.node.id", 0));
+    }
+
+    public IdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE);
+        }
+        this.node = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long next = last.accumulateAndGet(now, (prev, clock) -> clock > prev ? clock : prev + 1);
+        return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)) | node | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * The next {@code count} ids, reserved with a single atomic update: the
+     * same ids {@code count} calls to {@link #nextId()} would have returned.
+     */
+    public long[] nextIds(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long end = last.accumulateAndGet(now, (prev, clock) -> (clock > prev ? clock : prev + 1) + count - 1);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            long next = end - count + 1 + i;
+            ids[i] = ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)) | node | (next & SEQUENCE_MASK);
+        }
+        return ids;
+    }
+
+    /**
+     * Makes sure every later id is above {@code id}, one handed out before a
+     * restart, even if the clock has since stepped back. Negative ids are
+     * ignored.
+     */
+    public void advancePast(long id) {
+        if (id < 0) {
+            return;
+        }
+        long issued = ((id >>> (NODE_BITS + SEQUENCE_BITS)) << SEQUENCE_BITS) | (id & SEQUENCE_MASK);
+        last.accumulateAndGet(issued, Math::max);
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE);
+    }
+
+    public static String formatTransactionId(long id) {
+        return TRANSACTION_PREFIX + id;
+    }
+
+    public static String formatAccountNo(long id) {
+        return Long.toString(id);
+    }
+}
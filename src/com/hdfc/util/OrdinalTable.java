@@ -0,0 +1,84 @@
+package com.hdfc.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * A value per dense int ordinal, in chunks of {@value #CHUNK_SIZE} slots that
+ * are created the first time an ordinal in them is used. Reads and
+ * {@link #computeIfAbsent} never lock; only adding a chunk does.
+ */
+public final class OrdinalTable<T> {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile AtomicReferenceArray<T>[] chunks = newChunks(8);
+
+    /** The value for {@code ordinal}, or null. */
+    public T get(int ordinal) {
+        if (ordinal < 0) {
+            return null;
+        }
+        AtomicReferenceArray<T>[] current = chunks;
+        int chunk = ordinal >>> CHUNK_BITS;
+        if (chunk >= current.length || current[chunk] == null) {
+            return null;
+        }
+        return current[chunk].get(ordinal & CHUNK_MASK);
+    }
+
+    /** The value for {@code ordinal}; if there is none, the one {@code factory} makes, unless another thread got there first. */
+    public T computeIfAbsent(int ordinal, IntFunction<T> factory) {
+        AtomicReferenceArray<T> chunk = chunk(ordinal);
+        int slot = ordinal & CHUNK_MASK;
+        T value = chunk.get(slot);
+        if (value == null) {
+            T created = factory.apply(ordinal);
+            value = chunk.compareAndExchange(slot, null, created);
+            if (value == null) {
+                value = created;
+            }
+        }
+        return value;
+    }
+
+    /** False if {@code ordinal} already has a value. */
+    public boolean putIfAbsent(int ordinal, T value) {
+        return chunk(ordinal).compareAndSet(ordinal & CHUNK_MASK, null, value);
+    }
+
+    /** One past the highest ordinal that could have a value. */
+    public int capacity() {
+        return chunks.length << CHUNK_BITS;
+    }
+
+    private AtomicReferenceArray<T> chunk(int ordinal) {
+        if (ordinal < 0) {
+            throw new IndexOutOfBoundsException("Negative ordinal " + ordinal);
+        }
+        int index = ordinal >>> CHUNK_BITS;
+        AtomicReferenceArray<T>[] current = chunks;
+        if (index < current.length && current[index] != null) {
+            return current[index];
+        }
+        synchronized (this) {
+            current = chunks;
+            if (index >= current.length) {
+                current = Arrays.copyOf(current, Math.max(index + 1, current.length << 1));
+            }
+            if (current[index] == null) {
+                current[index] = new AtomicReferenceArray<>(CHUNK_SIZE);
+            }
+            chunks = current;
+            return current[index];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> AtomicReferenceArray<T>[] newChunks(int length) {
+        return (AtomicReferenceArray<T>[]) new AtomicReferenceArray<?>[length];
+    }
+}
@@ -0,0 +1,119 @@
+package com.hdfc.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Checks for the customer fields the bank takes as free text. Each check is
+ * written out by hand and accepts exactly what the matching pattern here
+ * does, without a {@code Matcher} or any backtracking: a bulk load runs them
+ * millions of times. The patterns stay as the reference definition.
+ */
+public final class Validators {
+
+    public static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Z0-9._%+-]+@[A-Z0-9.-]+\\.[A-Z]{2,6}$", Pattern.CASE_INSENSITIVE);
+    public static final Pattern PHONE_NUMBER_PATTERN = Pattern.compile("^[+]?[0-9]{10,13}$");
+    public static final Pattern PASSWORD_PATTERN = Pattern.compile("^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\\S+$).{8,20}$");
+
+    private Validators() {
+    }
+
+    /**
+     * {@link #EMAIL_PATTERN}: a local part of letters, digits and {@code ._%+-},
+     * an {@code @}, then letters, digits, dots and hyphens ending in a dot and
+     * a top-level domain of 2 to 6 letters, with something before that dot.
+     */
+    public static boolean isValidEmail(String email) {
+        int at = email.indexOf('@');
+        if (at < 1) {
+            return false;
+        }
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (!isAlphanumeric(c) && c != '.' && c != '_' && c != '%' && c != '+' && c != '-') {
+                return false;
+            }
+        }
+        int lastDot = -1;
+        for (int i = at + 1; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+            } else if (!isAlphanumeric(c) && c != '-') {
+                return false;
+            }
+        }
+        int tld = email.length() - lastDot - 1;
+        if (lastDot < at + 2 || tld < 2 || tld > 6) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < email.length(); i++) {
+            if (!isLetter(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** {@link #PHONE_NUMBER_PATTERN}: an optional {@code +} and 10 to 13 digits. */
+    public static boolean isValidPhoneNumber(String phoneNumber) {
+        int start = !phoneNumber.isEmpty() && phoneNumber.charAt(0) == '+' ? 1 : 0;
+        int digits = phoneNumber.length() - start;
+        if (digits < 10 || digits > 13) {
+            return false;
+        }
+        for (int i = start; i < phoneNumber.length(); i++) {
+            if (!isDigit(phoneNumber.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@link #PASSWORD_PATTERN}: 8 to 20 characters (code points), no
+     * whitespace or line terminators, and at least one digit, one lowercase
+     * and one uppercase letter and one of {@code @#$%^&+=}.
+     */
+    public static boolean isValidPassword(String password) {
+        int length = password.length();
+        if (length < 8 || length > 40) {
+            return false;
+        }
+        boolean digit = false;
+        boolean lower = false;
+        boolean upper = false;
+        boolean special = false;
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            if (isDigit(c)) {
+                digit = true;
+            } else if (c >= 'a' && c <= 'z') {
+                lower = true;
+            } else if (c >= 'A' && c <= 'Z') {
+                upper = true;
+            } else if (c == '@' || c == '#' || c == '$' || c == '%' || c == '^' || c == '&' || c == '+' || c == '=') {
+                special = true;
+            } else if (c <= ' ' && (c == ' ' || (c >= '\t' && c <= '\r'))
+                    || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+        if (!digit || !lower || !upper || !special) {
+            return false;
+        }
+        int codePoints = password.codePointCount(0, length);
+        return codePoints >= 8 && codePoints <= 20;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return isDigit(c) || isLetter(c);
+    }
+}